@@ -42,6 +42,7 @@ module ReferenceDataManager {
     
     /*
         Arguments for the list_loaded_genomes function
+        max_parallel - maximum number of pages of 1000 workspace object ids listed at the same time, {default => 4}
     */
     typedef structure {
         bool ensembl;
@@ -49,6 +50,7 @@ module ReferenceDataManager {
         bool phytozome;
 	string workspace_name;
 	bool create_report;
+        int max_parallel;
    } ListLoadedGenomesParams;
     
     /*
@@ -125,8 +127,12 @@ module ReferenceDataManager {
     } SolrGenomeFeatureData;
 
     /*
-        Arguments for the list_solr_genomes and list_solr_taxa functions
-        
+        Arguments for the list_solr_genomes, list_solr_taxa and list_solr_docs_page functions
+        cursor - for list_solr_docs_page, "*" for the first page and the next_cursor of the previous page for the
+        others; row_count is then the page size and row_start is not used
+        fields - the fields returned for each document, passed to SOLR's fl; all the fields if empty
+        join_genome_fields - for list_solr_genomes, fill in the genome fields of the feature documents indexed with
+        the linked doc_layout from their genome documents, {default => 0}
     */
 
     typedef structure {
@@ -134,6 +140,9 @@ module ReferenceDataManager {
         int row_start;
         int row_count;
 	bool create_report;
+        string cursor;
+        list<string> fields;
+        bool join_genome_fields;
     } ListSolrDocsParams;
 
     /* 
@@ -144,7 +153,8 @@ module ReferenceDataManager {
  
     /*
         Arguments for the load_genomes function
-        
+        max_parallel - maximum number of genomes imported by GenomeFileUtil at the same time, {default => 4}
+        batch_size - number of loaded genomes sent to SOLR per index_genomes_in_solr call, {default => 100}
     */
     typedef structure {
         string data;
@@ -152,6 +162,8 @@ module ReferenceDataManager {
         bool index_in_solr;
         string workspace_name;
         bool create_report;
+        int max_parallel;
+        int batch_size;
     } LoadGenomesParams;
     
     /*  
@@ -178,15 +190,52 @@ module ReferenceDataManager {
     /*
         Arguments for the index_genomes_in_solr function
         
+        commit_policy - how the feature documents are committed while they are indexed; one hard commit is always
+            issued at the end. One of:
+            soft - updates carry commitWithin so the documents become searchable through soft commits (default)
+            end - nothing is committed before the final hard commit
+            batch - a hard commit after every batch of 10000 documents
+        return_mode - what is returned once the genomes are indexed. One of:
+            full - every indexed SolrGenomeFeatureData, genome and feature documents (default)
+            summary - one IndexedGenomeSummary per genome
+            none - an empty list
+        doc_layout - where the genome fields (scientific_name, taxonomy, assembly_ref, gc_content...) are indexed.
+            One of:
+            flat - in the genome document and in every feature document (default)
+            linked - in the genome document only; the feature documents keep genome_id and ws_ref, which link them
+                to it, and list_solr_genomes fills the genome fields back in with join_genome_fields
+        evict_superseded - delete the documents that earlier indexings left for the genomes, other copies and, for
+            versioned NCBI accessions (GCF_/GCA_), other versions, once their new documents are in, {default => 0}
     */
     typedef structure {
         list<KBaseReferenceGenomeData> genomes;
         string solr_core;
         bool create_report;
+        string commit_policy;
+        string return_mode;
+        string doc_layout;
+        bool evict_superseded;
     } IndexGenomesInSolrParams;
+
+    /*
+        Outcome of indexing a single genome, returned by index_genomes_in_solr with the summary return_mode
+        num_features - the number of features of the genome
+        num_docs - the number of documents sent to SOLR, the genome document and one per feature
+        seconds - the time spent fetching the genome and building and queueing its documents
+        error - the first error hit while fetching or indexing the genome, or while committing; absent on success
+    */
+    typedef structure {
+        string ref;
+        string genome_id;
+        int num_features;
+        int num_docs;
+        float seconds;
+        string error;
+    } IndexedGenomeSummary;
     
     /*
         Index specified genomes in SOLR from KBase workspace
+        With the summary return_mode the output holds IndexedGenomeSummary structures instead, and with none it is empty
     */
     funcdef index_genomes_in_solr(IndexGenomesInSolrParams params) returns (list<SolrGenomeFeatureData> output) authentication required;
     
@@ -270,19 +319,96 @@ module ReferenceDataManager {
     */
     funcdef list_solr_taxa(ListSolrDocsParams params) returns (list<SolrTaxonData> output) authentication required;
 
+    /*
+        A page of the documents of a SOLR core, as returned by list_solr_docs_page
+        docs - the documents, SolrGenomeFeatureData or SolrTaxonData depending on the core
+        next_cursor - the cursor of the next page; it is the cursor of the request once the whole core has been read
+        num_found - the number of documents in the core
+    */
+    typedef structure {
+        list<UnspecifiedObject> docs;
+        string next_cursor;
+        int num_found;
+    } SolrDocsPage;
+
+    /*
+        Lists the documents of a SOLR core one page at a time with a SOLR cursor, so that a page deep into the core
+        costs as much as the first one
+    */
+    funcdef list_solr_docs_page(ListSolrDocsParams params) returns (SolrDocsPage output) authentication required;
+
+    /*
+        Arguments for the summarize_solr_genomes function
+        facet_fields - the genome fields whose values are counted,
+            {default => ["domain", "genome_source"]}
+        stats_fields - the numeric genome fields that are totalled, {default => ["genome_dna_size", "num_cds"]}
+    */
+    typedef structure {
+        string solr_core;
+        list<string> facet_fields;
+        list<string> stats_fields;
+    } SummarizeSolrGenomesParams;
+
+    /*
+        Statistics of a numeric field over the genome documents of a SOLR core, a genome indexed more than once counting
+        once per document
+        count - the number of genome documents with a value, missing - the number of genome documents without one
+    */
+    typedef structure {
+        float sum;
+        float min;
+        float max;
+        float mean;
+        int count;
+        int missing;
+    } SolrFieldStats;
+
+    /*
+        Summary of the genomes of a SOLR core, as returned by summarize_solr_genomes
+        num_genomes - the number of distinct genome_id values
+        num_docs - the number of genome documents; above num_genomes when a genome is indexed more than once
+        facet_counts - for each facet field, the number of genomes per value
+        stats - for each stats field, its statistics over the genome documents
+    */
+    typedef structure {
+        int num_genomes;
+        int num_docs;
+        mapping<string, mapping<string, int>> facet_counts;
+        mapping<string, SolrFieldStats> stats;
+    } SolrGenomesSummary;
+
+    /*
+        Counts the genomes indexed in SOLR per domain and source and totals their DNA sizes and
+        CDS counts with facet and stats queries, in one request and without listing the genomes
+    */
+    funcdef summarize_solr_genomes(SummarizeSolrGenomesParams params) returns (SolrGenomesSummary output) authentication required;
+
     /*
         Arguments for the load_taxons function
+        taxons - taxa to load instead of the NCBI taxonomy dump; only they are saved and indexed and no taxon is removed
+        taxa_file - file written by TaxonomyEngine, one JSON taxon per line, loaded instead of the NCBI taxonomy dump
+        save_batch_size - maximum number of taxa saved per workspace save_objects call, {default => 1000}
+        save_batch_bytes - maximum size in bytes of the taxa data saved per save_objects call, {default => 20000000}
+        save_retries - number of times a failed save_objects call is retried before its batch is split in halves
+            that are saved separately, {default => 2}
     */
     typedef structure {
         string data;
 	list<KBaseReferenceTaxonData> taxons;
+        string taxa_file;
         bool index_in_solr;
 	string workspace_name;
 	bool create_report;
+        int save_batch_size;
+        int save_batch_bytes;
+        int save_retries;
     } LoadTaxonsParams;
 
     /*
         Loads specified taxa into KBase workspace and indexes in SOLR on demand
+        Only the taxa added or changed in the NCBI taxonomy since the last load are saved and indexed, and the taxa
+        removed from it are removed from the index. A taxon is changed if any field saved in its
+        workspace object changed, e.g. its parent, rank, scientific name, lineage, aliases or genetic code.
     */
     funcdef load_taxons(LoadTaxonsParams params) returns (list<SolrTaxonData> output) authentication required;
     
@@ -304,7 +430,8 @@ module ReferenceDataManager {
     
    /*
         Arguments for the update_loaded_genomes function
-
+        resume_token - name of the checkpoint of the run; a run given the token of an interrupted run skips the genomes that run already processed.
+            If no token is given a new one is generated and printed in the log.
     */
     typedef structure {
         bool ensembl;
@@ -312,10 +439,36 @@ module ReferenceDataManager {
         bool phytozome;
         string workspace_name;
         bool create_report;
+        string resume_token;
     } UpdateLoadedGenomesParams;
     
     /*
         Updates the loaded genomes in KBase for the specified source databases
     */
     funcdef update_loaded_genomes(UpdateLoadedGenomesParams params) returns (list<KBaseReferenceGenomeData> output) authentication required;
+    
+    /*
+        Arguments for the check_genome_status function
+    */
+    typedef structure {
+        list<ReferenceGenomeData> genomes;
+        string solr_core;
+        int batch_size;
+    } CheckGenomeStatusParams;
+    
+    /*
+        Struct containing the KBase status of a single genome output by the check_genome_status function
+        status - "new" if no version of the genome is in SOLR, "updated" if another version is, "present" if this version is
+        genome_id - the SOLR genome_id matched by the genome accession, or the accession itself if the status is "new"
+    */
+    typedef structure {
+        ReferenceGenomeData genome;
+        string status;
+        string genome_id;
+    } GenomeStatusData;
+    
+    /*
+        Checks the KBase status of the specified genomes against SOLR, many genomes per query
+    */
+    funcdef check_genome_status(CheckGenomeStatusParams params) returns (list<GenomeStatusData> output) authentication required;
 };
@@ -233,27 +233,32 @@ Lists genomes present in selected reference databases (ensembl, phytozome, refse
 
 <pre>
 $params is a ReferenceDataManager.ListLoadedGenomesParams
-$output is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
+$output is a reference to a list where each element is a ReferenceDataManager.LoadedReferenceGenomeData
 ListLoadedGenomesParams is a reference to a hash where the following keys are defined:
 	ensembl has a value which is a ReferenceDataManager.bool
 	refseq has a value which is a ReferenceDataManager.bool
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
 bool is an int
-KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
+LoadedReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
+	type has a value which is a string
 	save_date has a value which is a string
+	contig_count has a value which is an int
+	feature_count has a value which is an int
+	size_bytes has a value which is an int
+	ftp_url has a value which is a string
+	gc has a value which is a float
 
 </pre>
 
@@ -262,27 +267,32 @@ KBaseReferenceGenomeData is a reference to a hash where the following keys are d
 =begin text
 
 $params is a ReferenceDataManager.ListLoadedGenomesParams
-$output is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
+$output is a reference to a list where each element is a ReferenceDataManager.LoadedReferenceGenomeData
 ListLoadedGenomesParams is a reference to a hash where the following keys are defined:
 	ensembl has a value which is a ReferenceDataManager.bool
 	refseq has a value which is a ReferenceDataManager.bool
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
 bool is an int
-KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
+LoadedReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
+	type has a value which is a string
 	save_date has a value which is a string
+	contig_count has a value which is an int
+	feature_count has a value which is an int
+	size_bytes has a value which is an int
+	ftp_url has a value which is a string
+	gc has a value which is a float
 
 
 =end text
@@ -361,6 +371,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -415,6 +428,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -534,6 +550,8 @@ LoadGenomesParams is a reference to a hash where the following keys are defined:
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
+	batch_size has a value which is an int
 ReferenceGenomeData is a reference to a hash where the following keys are defined:
 	accession has a value which is a string
 	version_status has a value which is a string
@@ -545,6 +563,7 @@ ReferenceGenomeData is a reference to a hash where the following keys are define
 	source has a value which is a string
 	domain has a value which is a string
 	refseq_category has a value which is a string
+	tax_id has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -552,13 +571,10 @@ KBaseReferenceGenomeData is a reference to a hash where the following keys are d
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 
 </pre>
 
@@ -574,6 +590,8 @@ LoadGenomesParams is a reference to a hash where the following keys are defined:
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
+	batch_size has a value which is an int
 ReferenceGenomeData is a reference to a hash where the following keys are defined:
 	accession has a value which is a string
 	version_status has a value which is a string
@@ -585,6 +603,7 @@ ReferenceGenomeData is a reference to a hash where the following keys are define
 	source has a value which is a string
 	domain has a value which is a string
 	refseq_category has a value which is a string
+	tax_id has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -592,13 +611,10 @@ KBaseReferenceGenomeData is a reference to a hash where the following keys are d
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 
 
 =end text
@@ -676,19 +692,20 @@ IndexGenomesInSolrParams is a reference to a hash where the following keys are d
 	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 	solr_core has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	commit_policy has a value which is a string
+	return_mode has a value which is a string
+	doc_layout has a value which is a string
+	evict_superseded has a value which is a ReferenceDataManager.bool
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -742,19 +759,20 @@ IndexGenomesInSolrParams is a reference to a hash where the following keys are d
 	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 	solr_core has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	commit_policy has a value which is a string
+	return_mode has a value which is a string
+	doc_layout has a value which is a string
+	evict_superseded has a value which is a ReferenceDataManager.bool
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -802,6 +820,7 @@ SolrGenomeFeatureData is a reference to a hash where the following keys are defi
 =item Description
 
 Index specified genomes in SOLR from KBase workspace
+With the summary return_mode the output holds IndexedGenomeSummary structures instead, and with none it is empty
 
 =back
 
@@ -1007,6 +1026,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrTaxonData is a reference to a hash where the following keys are defined:
 	taxonomy_id has a value which is an int
@@ -1042,6 +1064,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrTaxonData is a reference to a hash where the following keys are defined:
 	taxonomy_id has a value which is an int
@@ -1123,6 +1148,230 @@ Lists taxa indexed in SOLR
  
 
 
+=head2 list_solr_docs_page
+
+  $output = $obj->list_solr_docs_page($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a ReferenceDataManager.SolrDocsPage
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrDocsPage is a reference to a hash where the following keys are defined:
+	docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+	next_cursor has a value which is a string
+	num_found has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a ReferenceDataManager.SolrDocsPage
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrDocsPage is a reference to a hash where the following keys are defined:
+	docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+	next_cursor has a value which is a string
+	num_found has a value which is an int
+
+
+=end text
+
+=item Description
+
+Lists the documents of a SOLR core one page at a time with a SOLR cursor, so that a page deep into the core
+costs as much as the first one
+
+=back
+
+=cut
+
+ sub list_solr_docs_page
+{
+    my($self, @args) = @_;
+
+# Authentication: required
+
+    if ((my $n = @args) != 1)
+    {
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error =>
+							       "Invalid argument count for function list_solr_docs_page (received $n, expecting 1)");
+    }
+    {
+	my($params) = @args;
+
+	my @_bad_arguments;
+        (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument 1 \"params\" (value was \"$params\")");
+        if (@_bad_arguments) {
+	    my $msg = "Invalid arguments passed to list_solr_docs_page:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	    Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+								   method_name => 'list_solr_docs_page');
+	}
+    }
+
+    my $url = $self->{url};
+    my $result = $self->{client}->call($url, $self->{headers}, {
+	    method => "ReferenceDataManager.list_solr_docs_page",
+	    params => \@args,
+    });
+    if ($result) {
+	if ($result->is_error) {
+	    Bio::KBase::Exceptions::JSONRPC->throw(error => $result->error_message,
+					       code => $result->content->{error}->{code},
+					       method_name => 'list_solr_docs_page',
+					       data => $result->content->{error}->{error} # JSON::RPC::ReturnObject only supports JSONRPC 1.1 or 1.O
+					      );
+	} else {
+	    return wantarray ? @{$result->result} : $result->result->[0];
+	}
+    } else {
+        Bio::KBase::Exceptions::HTTP->throw(error => "Error invoking method list_solr_docs_page",
+					    status_line => $self->{client}->status_line,
+					    method_name => 'list_solr_docs_page',
+				       );
+    }
+}
+ 
+
+
+=head2 summarize_solr_genomes
+
+  $output = $obj->summarize_solr_genomes($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.SummarizeSolrGenomesParams
+$output is a ReferenceDataManager.SolrGenomesSummary
+SummarizeSolrGenomesParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	facet_fields has a value which is a reference to a list where each element is a string
+	stats_fields has a value which is a reference to a list where each element is a string
+SolrGenomesSummary is a reference to a hash where the following keys are defined:
+	num_genomes has a value which is an int
+	num_docs has a value which is an int
+	facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+	stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+SolrFieldStats is a reference to a hash where the following keys are defined:
+	sum has a value which is a float
+	min has a value which is a float
+	max has a value which is a float
+	mean has a value which is a float
+	count has a value which is an int
+	missing has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.SummarizeSolrGenomesParams
+$output is a ReferenceDataManager.SolrGenomesSummary
+SummarizeSolrGenomesParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	facet_fields has a value which is a reference to a list where each element is a string
+	stats_fields has a value which is a reference to a list where each element is a string
+SolrGenomesSummary is a reference to a hash where the following keys are defined:
+	num_genomes has a value which is an int
+	num_docs has a value which is an int
+	facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+	stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+SolrFieldStats is a reference to a hash where the following keys are defined:
+	sum has a value which is a float
+	min has a value which is a float
+	max has a value which is a float
+	mean has a value which is a float
+	count has a value which is an int
+	missing has a value which is an int
+
+
+=end text
+
+=item Description
+
+Counts the genomes indexed in SOLR per domain and source and totals their DNA sizes and
+CDS counts with facet and stats queries, in one request and without listing the genomes
+
+=back
+
+=cut
+
+ sub summarize_solr_genomes
+{
+    my($self, @args) = @_;
+
+# Authentication: required
+
+    if ((my $n = @args) != 1)
+    {
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error =>
+							       "Invalid argument count for function summarize_solr_genomes (received $n, expecting 1)");
+    }
+    {
+	my($params) = @args;
+
+	my @_bad_arguments;
+        (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument 1 \"params\" (value was \"$params\")");
+        if (@_bad_arguments) {
+	    my $msg = "Invalid arguments passed to summarize_solr_genomes:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	    Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+								   method_name => 'summarize_solr_genomes');
+	}
+    }
+
+    my $url = $self->{url};
+    my $result = $self->{client}->call($url, $self->{headers}, {
+	    method => "ReferenceDataManager.summarize_solr_genomes",
+	    params => \@args,
+    });
+    if ($result) {
+	if ($result->is_error) {
+	    Bio::KBase::Exceptions::JSONRPC->throw(error => $result->error_message,
+					       code => $result->content->{error}->{code},
+					       method_name => 'summarize_solr_genomes',
+					       data => $result->content->{error}->{error} # JSON::RPC::ReturnObject only supports JSONRPC 1.1 or 1.O
+					      );
+	} else {
+	    return wantarray ? @{$result->result} : $result->result->[0];
+	}
+    } else {
+        Bio::KBase::Exceptions::HTTP->throw(error => "Error invoking method summarize_solr_genomes",
+					    status_line => $self->{client}->status_line,
+					    method_name => 'summarize_solr_genomes',
+				       );
+    }
+}
+ 
+
+
 =head2 load_taxons
 
   $output = $obj->load_taxons($params)
@@ -1135,25 +1384,57 @@ Lists taxa indexed in SOLR
 
 <pre>
 $params is a ReferenceDataManager.LoadTaxonsParams
-$output is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
 LoadTaxonsParams is a reference to a hash where the following keys are defined:
 	data has a value which is a string
-	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+	taxa_file has a value which is a string
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
-ReferenceTaxonData is a reference to a hash where the following keys are defined:
-	ref has a value which is a string
-	id has a value which is a string
-	workspace_name has a value which is a string
-	source_id has a value which is a string
-	accession has a value which is a string
-	name has a value which is a string
-	ftp_dir has a value which is a string
-	version has a value which is a string
-	source has a value which is a string
+	save_batch_size has a value which is an int
+	save_batch_bytes has a value which is an int
+	save_retries has a value which is an int
+KBaseReferenceTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
 	domain has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
 bool is an int
+SolrTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
+	domain has a value which is a string
+	ws_ref has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
 
 </pre>
 
@@ -1162,25 +1443,57 @@ bool is an int
 =begin text
 
 $params is a ReferenceDataManager.LoadTaxonsParams
-$output is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
 LoadTaxonsParams is a reference to a hash where the following keys are defined:
 	data has a value which is a string
-	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+	taxa_file has a value which is a string
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
-ReferenceTaxonData is a reference to a hash where the following keys are defined:
-	ref has a value which is a string
-	id has a value which is a string
-	workspace_name has a value which is a string
-	source_id has a value which is a string
-	accession has a value which is a string
-	name has a value which is a string
-	ftp_dir has a value which is a string
-	version has a value which is a string
-	source has a value which is a string
+	save_batch_size has a value which is an int
+	save_batch_bytes has a value which is an int
+	save_retries has a value which is an int
+KBaseReferenceTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
 	domain has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
 bool is an int
+SolrTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
+	domain has a value which is a string
+	ws_ref has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
 
 
 =end text
@@ -1188,6 +1501,9 @@ bool is an int
 =item Description
 
 Loads specified taxa into KBase workspace and indexes in SOLR on demand
+Only the taxa added or changed in the NCBI taxonomy since the last load are saved and indexed, and the taxa
+removed from it are removed from the index. A taxon is changed if any field saved in its
+workspace object changed, e.g. its parent, rank, scientific name, lineage, aliases or genetic code.
 
 =back
 
@@ -1436,6 +1752,7 @@ UpdateLoadedGenomesParams is a reference to a hash where the following keys are
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	resume_token has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -1443,13 +1760,10 @@ KBaseReferenceGenomeData is a reference to a hash where the following keys are d
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 
 </pre>
 
@@ -1465,6 +1779,7 @@ UpdateLoadedGenomesParams is a reference to a hash where the following keys are
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	resume_token has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -1472,13 +1787,10 @@ KBaseReferenceGenomeData is a reference to a hash where the following keys are d
 	workspace_name has a value which is a string
 	source_id has a value which is a string
 	accession has a value which is a string
-	asm_name has a value which is a string
-	ftp_dir has a value which is a string
+	name has a value which is a string
 	version has a value which is a string
 	source has a value which is a string
 	domain has a value which is a string
-	refseq_category has a value which is a string
-	save_date has a value which is a string
 
 
 =end text
@@ -1537,6 +1849,128 @@ Updates the loaded genomes in KBase for the specified source databases
     }
 }
  
+
+
+=head2 check_genome_status
+
+  $output = $obj->check_genome_status($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.CheckGenomeStatusParams
+$output is a reference to a list where each element is a ReferenceDataManager.GenomeStatusData
+CheckGenomeStatusParams is a reference to a hash where the following keys are defined:
+	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+	solr_core has a value which is a string
+	batch_size has a value which is an int
+ReferenceGenomeData is a reference to a hash where the following keys are defined:
+	accession has a value which is a string
+	version_status has a value which is a string
+	asm_name has a value which is a string
+	ftp_dir has a value which is a string
+	file has a value which is a string
+	id has a value which is a string
+	version has a value which is a string
+	source has a value which is a string
+	domain has a value which is a string
+	refseq_category has a value which is a string
+	tax_id has a value which is a string
+GenomeStatusData is a reference to a hash where the following keys are defined:
+	genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+	status has a value which is a string
+	genome_id has a value which is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.CheckGenomeStatusParams
+$output is a reference to a list where each element is a ReferenceDataManager.GenomeStatusData
+CheckGenomeStatusParams is a reference to a hash where the following keys are defined:
+	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+	solr_core has a value which is a string
+	batch_size has a value which is an int
+ReferenceGenomeData is a reference to a hash where the following keys are defined:
+	accession has a value which is a string
+	version_status has a value which is a string
+	asm_name has a value which is a string
+	ftp_dir has a value which is a string
+	file has a value which is a string
+	id has a value which is a string
+	version has a value which is a string
+	source has a value which is a string
+	domain has a value which is a string
+	refseq_category has a value which is a string
+	tax_id has a value which is a string
+GenomeStatusData is a reference to a hash where the following keys are defined:
+	genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+	status has a value which is a string
+	genome_id has a value which is a string
+
+
+=end text
+
+=item Description
+
+Checks the KBase status of the specified genomes against SOLR, many genomes per query
+
+=back
+
+=cut
+
+ sub check_genome_status
+{
+    my($self, @args) = @_;
+
+# Authentication: required
+
+    if ((my $n = @args) != 1)
+    {
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error =>
+							       "Invalid argument count for function check_genome_status (received $n, expecting 1)");
+    }
+    {
+	my($params) = @args;
+
+	my @_bad_arguments;
+        (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument 1 \"params\" (value was \"$params\")");
+        if (@_bad_arguments) {
+	    my $msg = "Invalid arguments passed to check_genome_status:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	    Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+								   method_name => 'check_genome_status');
+	}
+    }
+
+    my $url = $self->{url};
+    my $result = $self->{client}->call($url, $self->{headers}, {
+	    method => "ReferenceDataManager.check_genome_status",
+	    params => \@args,
+    });
+    if ($result) {
+	if ($result->is_error) {
+	    Bio::KBase::Exceptions::JSONRPC->throw(error => $result->error_message,
+					       code => $result->content->{error}->{code},
+					       method_name => 'check_genome_status',
+					       data => $result->content->{error}->{error} # JSON::RPC::ReturnObject only supports JSONRPC 1.1 or 1.O
+					      );
+	} else {
+	    return wantarray ? @{$result->result} : $result->result->[0];
+	}
+    } else {
+        Bio::KBase::Exceptions::HTTP->throw(error => "Error invoking method check_genome_status",
+					    status_line => $self->{client}->status_line,
+					    method_name => 'check_genome_status',
+				       );
+    }
+}
+ 
   
 sub status
 {
@@ -2363,6 +2797,8 @@ domain has a value which is a string
 =item Description
 
 Arguments for the load_taxons function
+taxons - taxa to load instead of the NCBI taxonomy dump; only they are saved and indexed and no taxon is removed
+taxa_file - file written by TaxonomyEngine, one JSON taxon per line, loaded instead of the NCBI taxonomy dump
 
 
 =item Definition
@@ -2373,6 +2809,7 @@ Arguments for the load_taxons function
 a reference to a hash where the following keys are defined:
 data has a value which is a string
 taxons has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+taxa_file has a value which is a string
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
@@ -2386,6 +2823,7 @@ create_report has a value which is a ReferenceDataManager.bool
 a reference to a hash where the following keys are defined:
 data has a value which is a string
 taxons has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceTaxonData
+taxa_file has a value which is a string
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
@@ -60,20 +60,24 @@ class ReferenceDataManager(object):
         """
         Lists genomes loaded into KBase from selected reference sources (ensembl, phytozome, refseq)
         :param params: instance of type "ListLoadedGenomesParams" (Arguments
-           for the list_loaded_genomes function) -> structure: parameter
-           "ensembl" of type "bool" (A boolean.), parameter "refseq" of type
-           "bool" (A boolean.), parameter "phytozome" of type "bool" (A
-           boolean.), parameter "workspace_name" of String, parameter
-           "create_report" of type "bool" (A boolean.)
-        :returns: instance of list of type "KBaseReferenceGenomeData" (Struct
-           containing data for a single genome output by the
+           for the list_loaded_genomes function max_parallel - maximum number
+           of pages of 1000 workspace object ids listed at the same time,
+           {default => 4}) -> structure: parameter "ensembl" of type "bool"
+           (A boolean.), parameter "refseq" of type "bool" (A boolean.),
+           parameter "phytozome" of type "bool" (A boolean.), parameter
+           "workspace_name" of String, parameter "create_report" of type
+           "bool" (A boolean.), parameter "max_parallel" of Long
+        :returns: instance of list of type "LoadedReferenceGenomeData"
+           (Struct containing data for a single genome output by the
            list_loaded_genomes function) -> structure: parameter "ref" of
            String, parameter "id" of String, parameter "workspace_name" of
            String, parameter "source_id" of String, parameter "accession" of
-           String, parameter "asm_name" of String, parameter "ftp_dir" of
-           String, parameter "version" of String, parameter "source" of
-           String, parameter "domain" of String, parameter "refseq_category"
-           of String, parameter "save_date" of String
+           String, parameter "name" of String, parameter "version" of String,
+           parameter "source" of String, parameter "domain" of String,
+           parameter "type" of String, parameter "save_date" of String,
+           parameter "contig_count" of Long, parameter "feature_count" of
+           Long, parameter "size_bytes" of Long, parameter "ftp_url" of
+           String, parameter "gc" of Double
         """
         return self._client.call_method(
             'ReferenceDataManager.list_loaded_genomes',
@@ -83,10 +87,19 @@ class ReferenceDataManager(object):
         """
         Lists genomes indexed in SOLR
         :param params: instance of type "ListSolrDocsParams" (Arguments for
-           the list_solr_genomes and list_solr_taxa functions) -> structure:
-           parameter "solr_core" of String, parameter "row_start" of Long,
-           parameter "row_count" of Long, parameter "create_report" of type
-           "bool" (A boolean.)
+           the list_solr_genomes, list_solr_taxa and list_solr_docs_page
+           functions cursor - for list_solr_docs_page, "*" for the first page
+           and the next_cursor of the previous page for the others; row_count
+           is then the page size and row_start is not used fields - the fields
+           returned for each document, passed to SOLR's fl; all the fields if
+           empty join_genome_fields - for list_solr_genomes, fill in the
+           genome fields of the feature documents indexed with the linked
+           doc_layout from their genome documents, {default => 0}) ->
+           structure: parameter "solr_core" of String, parameter "row_start"
+           of Long, parameter "row_count" of Long, parameter "create_report"
+           of type "bool" (A boolean.), parameter "cursor" of String,
+           parameter "fields" of list of String, parameter
+           "join_genome_fields" of type "bool" (A boolean.)
         :returns: instance of list of type "SolrGenomeFeatureData" (Struct
            containing data for a single genome element output by the
            list_solr_genomes and index_genomes_in_solr functions) ->
@@ -123,27 +136,30 @@ class ReferenceDataManager(object):
         """
         Loads specified genomes into KBase workspace and indexes in SOLR on demand
         :param params: instance of type "LoadGenomesParams" (Arguments for
-           the load_genomes function) -> structure: parameter "data" of
-           String, parameter "genomes" of list of type "ReferenceGenomeData"
-           (Struct containing data for a single genome output by the
-           list_reference_genomes function) -> structure: parameter
-           "accession" of String, parameter "version_status" of String,
-           parameter "asm_name" of String, parameter "ftp_dir" of String,
-           parameter "file" of String, parameter "id" of String, parameter
-           "version" of String, parameter "source" of String, parameter
-           "domain" of String, parameter "refseq_category" of String,
-           parameter "index_in_solr" of type "bool" (A boolean.), parameter
-           "workspace_name" of String, parameter "create_report" of type
-           "bool" (A boolean.)
-        :returns: instance of list of type "KBaseReferenceGenomeData" (Struct
-           containing data for a single genome output by the
-           list_loaded_genomes function) -> structure: parameter "ref" of
-           String, parameter "id" of String, parameter "workspace_name" of
-           String, parameter "source_id" of String, parameter "accession" of
+           the load_genomes function max_parallel - maximum number of genomes
+           imported by GenomeFileUtil at the same time, {default => 4}
+           batch_size - number of loaded genomes sent to SOLR per
+           index_genomes_in_solr call, {default => 100}) -> structure:
+           parameter "data" of String, parameter "genomes" of list of type
+           "ReferenceGenomeData" (Struct containing data for a single genome
+           output by the list_reference_genomes function) -> structure:
+           parameter "accession" of String, parameter "version_status" of
            String, parameter "asm_name" of String, parameter "ftp_dir" of
-           String, parameter "version" of String, parameter "source" of
-           String, parameter "domain" of String, parameter "refseq_category"
-           of String, parameter "save_date" of String
+           String, parameter "file" of String, parameter "id" of String,
+           parameter "version" of String, parameter "source" of String,
+           parameter "domain" of String, parameter "refseq_category" of
+           String, parameter "tax_id" of String, parameter "index_in_solr" of
+           type "bool" (A boolean.), parameter "workspace_name" of String,
+           parameter "create_report" of type "bool" (A boolean.), parameter
+           "max_parallel" of Long, parameter "batch_size" of Long
+        :returns: instance of list of type "KBaseReferenceGenomeData"
+           (Structure of a single KBase genome in the list returned by the
+           load_genomes and update_loaded_genomes functions) -> structure:
+           parameter "ref" of String, parameter "id" of String, parameter
+           "workspace_name" of String, parameter "source_id" of String,
+           parameter "accession" of String, parameter "name" of String,
+           parameter "version" of String, parameter "source" of String,
+           parameter "domain" of String
         """
         return self._client.call_method(
             'ReferenceDataManager.load_genomes',
@@ -152,18 +168,39 @@ class ReferenceDataManager(object):
     def index_genomes_in_solr(self, params, context=None):
         """
         Index specified genomes in SOLR from KBase workspace
+        With the summary return_mode the output holds IndexedGenomeSummary structures instead, and with none it is empty
         :param params: instance of type "IndexGenomesInSolrParams" (Arguments
-           for the index_genomes_in_solr function) -> structure: parameter
-           "genomes" of list of type "KBaseReferenceGenomeData" (Struct
-           containing data for a single genome output by the
-           list_loaded_genomes function) -> structure: parameter "ref" of
-           String, parameter "id" of String, parameter "workspace_name" of
-           String, parameter "source_id" of String, parameter "accession" of
-           String, parameter "asm_name" of String, parameter "ftp_dir" of
-           String, parameter "version" of String, parameter "source" of
-           String, parameter "domain" of String, parameter "refseq_category"
-           of String, parameter "save_date" of String, parameter "solr_core"
-           of String, parameter "create_report" of type "bool" (A boolean.)
+           for the index_genomes_in_solr function commit_policy - how the
+           feature documents are committed while they are indexed; one hard
+           commit is always issued at the end. One of: soft - updates carry
+           commitWithin so the documents become searchable through soft
+           commits (default) end - nothing is committed before the final hard
+           commit batch - a hard commit after every batch of 10000 documents
+           return_mode - what is returned once the genomes are indexed. One
+           of: full - every indexed SolrGenomeFeatureData, genome and feature
+           documents (default) summary - one IndexedGenomeSummary per genome
+           none - an empty list doc_layout - where the genome fields
+           (scientific_name, taxonomy, assembly_ref, gc_content...) are
+           indexed. One of: flat - in the genome document and in every feature
+           document (default) linked - in the genome document only; the
+           feature documents keep genome_id and ws_ref, which link them to it,
+           and list_solr_genomes fills the genome fields back in with
+           join_genome_fields evict_superseded - delete the documents that
+           earlier indexings left for the genomes, other copies and, for
+           versioned NCBI accessions (GCF_/GCA_), other versions, once their
+           new documents are in, {default => 0}) -> structure: parameter
+           "genomes" of list of
+           type "KBaseReferenceGenomeData" (Structure of a single KBase genome
+           in the list returned by the load_genomes and update_loaded_genomes
+           functions) -> structure: parameter "ref" of String, parameter "id"
+           of String, parameter "workspace_name" of String, parameter
+           "source_id" of String, parameter "accession" of String, parameter
+           "name" of String, parameter "version" of String, parameter "source"
+           of String, parameter "domain" of String, parameter "solr_core" of
+           String, parameter "create_report" of type "bool" (A boolean.),
+           parameter "commit_policy" of String, parameter "return_mode" of
+           String, parameter "doc_layout" of String, parameter
+           "evict_superseded" of type "bool" (A boolean.)
         :returns: instance of list of type "SolrGenomeFeatureData" (Struct
            containing data for a single genome element output by the
            list_solr_genomes and index_genomes_in_solr functions) ->
@@ -230,10 +267,19 @@ class ReferenceDataManager(object):
         """
         Lists taxa indexed in SOLR
         :param params: instance of type "ListSolrDocsParams" (Arguments for
-           the list_solr_genomes and list_solr_taxa functions) -> structure:
-           parameter "solr_core" of String, parameter "row_start" of Long,
-           parameter "row_count" of Long, parameter "create_report" of type
-           "bool" (A boolean.)
+           the list_solr_genomes, list_solr_taxa and list_solr_docs_page
+           functions cursor - for list_solr_docs_page, "*" for the first page
+           and the next_cursor of the previous page for the others; row_count
+           is then the page size and row_start is not used fields - the fields
+           returned for each document, passed to SOLR's fl; all the fields if
+           empty join_genome_fields - for list_solr_genomes, fill in the
+           genome fields of the feature documents indexed with the linked
+           doc_layout from their genome documents, {default => 0}) ->
+           structure: parameter "solr_core" of String, parameter "row_start"
+           of Long, parameter "row_count" of Long, parameter "create_report"
+           of type "bool" (A boolean.), parameter "cursor" of String,
+           parameter "fields" of list of String, parameter
+           "join_genome_fields" of type "bool" (A boolean.)
         :returns: instance of list of type "SolrTaxonData" (Struct containing
            data for a single taxon element output by the list_solr_taxa
            function) -> structure: parameter "taxonomy_id" of Long, parameter
@@ -253,29 +299,124 @@ class ReferenceDataManager(object):
             'ReferenceDataManager.list_solr_taxa',
             [params], self._service_ver, context)
 
+    def list_solr_docs_page(self, params, context=None):
+        """
+        Lists the documents of a SOLR core one page at a time with a SOLR cursor, so that a page deep into the core
+        costs as much as the first one
+        :param params: instance of type "ListSolrDocsParams" (Arguments for
+           the list_solr_genomes, list_solr_taxa and list_solr_docs_page
+           functions cursor - for list_solr_docs_page, "*" for the first page
+           and the next_cursor of the previous page for the others; row_count
+           is then the page size and row_start is not used fields - the fields
+           returned for each document, passed to SOLR's fl; all the fields if
+           empty join_genome_fields - for list_solr_genomes, fill in the
+           genome fields of the feature documents indexed with the linked
+           doc_layout from their genome documents, {default => 0}) ->
+           structure: parameter "solr_core" of String, parameter "row_start"
+           of Long, parameter "row_count" of Long, parameter "create_report"
+           of type "bool" (A boolean.), parameter "cursor" of String,
+           parameter "fields" of list of String, parameter
+           "join_genome_fields" of type "bool" (A boolean.)
+        :returns: instance of type "SolrDocsPage" (A page of the documents of
+           a SOLR core, as returned by list_solr_docs_page docs - the
+           documents, SolrGenomeFeatureData or SolrTaxonData depending on the
+           core next_cursor - the cursor of the next page; it is the cursor
+           of the request once the whole core has been read num_found - the
+           number of documents in the core) -> structure: parameter "docs" of
+           list of unspecified object, parameter "next_cursor" of String,
+           parameter "num_found" of Long
+        """
+        return self._client.call_method(
+            'ReferenceDataManager.list_solr_docs_page',
+            [params], self._service_ver, context)
+
+    def summarize_solr_genomes(self, params, context=None):
+        """
+        Counts the genomes indexed in SOLR per domain and source and totals their DNA sizes and
+        CDS counts with facet and stats queries, in one request and without listing the genomes
+        :param params: instance of type "SummarizeSolrGenomesParams"
+           (Arguments for the summarize_solr_genomes function facet_fields -
+           the genome fields whose values are counted, {default => ["domain",
+           "genome_source"]} stats_fields - the numeric genome fields that
+           are totalled, {default => ["genome_dna_size", "num_cds"]}) ->
+           structure: parameter "solr_core" of String,
+           parameter "facet_fields" of list of String, parameter
+           "stats_fields" of list of String
+        :returns: instance of type "SolrGenomesSummary" (Summary of the
+           genomes of a SOLR core, as returned by summarize_solr_genomes
+           num_genomes - the number of distinct genome_id values num_docs -
+           the number of genome documents; above num_genomes when a genome is
+           indexed more than once facet_counts - for each facet field, the
+           number of genomes per value stats - for each stats field, its
+           statistics over the genome documents) -> structure: parameter
+           "num_genomes" of Long, parameter "num_docs" of Long, parameter
+           "facet_counts" of mapping from String to mapping from String to
+           Long, parameter "stats" of mapping from String to type
+           "SolrFieldStats" (Statistics of a numeric field over the genome
+           documents of a SOLR core, a genome indexed more than once counting
+           once per document count - the number of genome documents with a
+           value, missing - the number of genome documents without one) ->
+           structure: parameter "sum"
+           of Double, parameter "min" of Double, parameter "max" of Double,
+           parameter "mean" of Double, parameter "count" of Long, parameter
+           "missing" of Long
+        """
+        return self._client.call_method(
+            'ReferenceDataManager.summarize_solr_genomes',
+            [params], self._service_ver, context)
+
     def load_taxons(self, params, context=None):
         """
         Loads specified taxa into KBase workspace and indexes in SOLR on demand
+        Only the taxa added or changed in the NCBI taxonomy since the last load are saved and indexed, and the taxa
+        removed from it are removed from the index. A taxon is changed if any field saved in its
+        workspace object changed, e.g. its parent, rank, scientific name, lineage, aliases or genetic code.
         :param params: instance of type "LoadTaxonsParams" (Arguments for the
-           load_taxons function) -> structure: parameter "data" of String,
-           parameter "taxons" of list of type "ReferenceTaxonData" (Struct
-           containing data for a single taxon output by the list_loaded_taxa
-           function) -> structure: parameter "ref" of String, parameter "id"
-           of String, parameter "workspace_name" of String, parameter
-           "source_id" of String, parameter "accession" of String, parameter
-           "name" of String, parameter "ftp_dir" of String, parameter
-           "version" of String, parameter "source" of String, parameter
-           "domain" of String, parameter "index_in_solr" of type "bool" (A
+           load_taxons function taxons - taxa to load instead of the NCBI
+           taxonomy dump; only they are saved and indexed and no taxon is
+           removed taxa_file - file written by TaxonomyEngine, one JSON taxon
+           per line, loaded instead of the NCBI taxonomy dump save_batch_size
+           - maximum number of taxa saved per workspace save_objects call,
+           {default => 1000} save_batch_bytes - maximum size in bytes of the
+           taxa data saved per save_objects call, {default => 20000000}
+           save_retries - number of times a failed save_objects call is
+           retried before its batch is split in halves that are saved
+           separately, {default => 2}) -> structure: parameter "data" of
+           String, parameter "taxons" of list
+           of type "KBaseReferenceTaxonData" (Struct containing data for a
+           single taxon element output by the list_loaded_taxa function) ->
+           structure: parameter "taxonomy_id" of Long, parameter
+           "scientific_name" of String, parameter "scientific_lineage" of
+           String, parameter "rank" of String, parameter "kingdom" of String,
+           parameter "domain" of String, parameter "aliases" of list of
+           String, parameter "genetic_code" of Long, parameter
+           "parent_taxon_ref" of String, parameter "embl_code" of String,
+           parameter "inherited_div_flag" of Long, parameter
+           "inherited_GC_flag" of Long, parameter
+           "mitochondrial_genetic_code" of Long, parameter
+           "inherited_MGC_flag" of Long, parameter "GenBank_hidden_flag" of
+           Long, parameter "hidden_subtree_flag" of Long, parameter
+           "division_id" of Long, parameter "comments" of String, parameter
+           "taxa_file" of String, parameter "index_in_solr" of type "bool" (A
            boolean.), parameter "workspace_name" of String, parameter
-           "create_report" of type "bool" (A boolean.)
-        :returns: instance of list of type "ReferenceTaxonData" (Struct
-           containing data for a single taxon output by the list_loaded_taxa
-           function) -> structure: parameter "ref" of String, parameter "id"
-           of String, parameter "workspace_name" of String, parameter
-           "source_id" of String, parameter "accession" of String, parameter
-           "name" of String, parameter "ftp_dir" of String, parameter
-           "version" of String, parameter "source" of String, parameter
-           "domain" of String
+           "create_report" of type "bool" (A boolean.), parameter
+           "save_batch_size" of Long,
+           parameter "save_batch_bytes" of Long, parameter "save_retries" of
+           Long
+        :returns: instance of list of type "SolrTaxonData" (Struct containing
+           data for a single taxon element output by the list_solr_taxa
+           function) -> structure: parameter "taxonomy_id" of Long, parameter
+           "scientific_name" of String, parameter "scientific_lineage" of
+           String, parameter "rank" of String, parameter "kingdom" of String,
+           parameter "domain" of String, parameter "ws_ref" of String,
+           parameter "aliases" of list of String, parameter "genetic_code" of
+           Long, parameter "parent_taxon_ref" of String, parameter
+           "embl_code" of String, parameter "inherited_div_flag" of Long,
+           parameter "inherited_GC_flag" of Long, parameter
+           "mitochondrial_genetic_code" of Long, parameter
+           "inherited_MGC_flag" of Long, parameter "GenBank_hidden_flag" of
+           Long, parameter "hidden_subtree_flag" of Long, parameter
+           "division_id" of Long, parameter "comments" of String
         """
         return self._client.call_method(
             'ReferenceDataManager.load_taxons',
@@ -328,25 +469,63 @@ class ReferenceDataManager(object):
         """
         Updates the loaded genomes in KBase for the specified source databases
         :param params: instance of type "UpdateLoadedGenomesParams"
-           (Arguments for the update_loaded_genomes function) -> structure:
-           parameter "ensembl" of type "bool" (A boolean.), parameter
-           "refseq" of type "bool" (A boolean.), parameter "phytozome" of
-           type "bool" (A boolean.), parameter "workspace_name" of String,
-           parameter "create_report" of type "bool" (A boolean.)
-        :returns: instance of list of type "KBaseReferenceGenomeData" (Struct
-           containing data for a single genome output by the
-           list_loaded_genomes function) -> structure: parameter "ref" of
-           String, parameter "id" of String, parameter "workspace_name" of
-           String, parameter "source_id" of String, parameter "accession" of
-           String, parameter "asm_name" of String, parameter "ftp_dir" of
-           String, parameter "version" of String, parameter "source" of
-           String, parameter "domain" of String, parameter "refseq_category"
-           of String, parameter "save_date" of String
+           (Arguments for the update_loaded_genomes function resume_token -
+           name of the checkpoint of the run; a run given the token of an
+           interrupted run skips the genomes that run already processed. If
+           no token is given a new one is generated and printed in the log.)
+           -> structure: parameter "ensembl" of type "bool" (A boolean.),
+           parameter "refseq" of type "bool" (A boolean.), parameter
+           "phytozome" of type "bool" (A boolean.), parameter
+           "workspace_name" of String, parameter "create_report" of type
+           "bool" (A boolean.), parameter "resume_token" of String
+        :returns: instance of list of type "KBaseReferenceGenomeData"
+           (Structure of a single KBase genome in the list returned by the
+           load_genomes and update_loaded_genomes functions) -> structure:
+           parameter "ref" of String, parameter "id" of String, parameter
+           "workspace_name" of String, parameter "source_id" of String,
+           parameter "accession" of String, parameter "name" of String,
+           parameter "version" of String, parameter "source" of String,
+           parameter "domain" of String
         """
         return self._client.call_method(
             'ReferenceDataManager.update_loaded_genomes',
             [params], self._service_ver, context)
 
+    def check_genome_status(self, params, context=None):
+        """
+        Checks the KBase status of the specified genomes against SOLR, many genomes per query
+        :param params: instance of type "CheckGenomeStatusParams" (Arguments
+           for the check_genome_status function) -> structure: parameter
+           "genomes" of list of type "ReferenceGenomeData" (Struct containing
+           data for a single genome output by the list_reference_genomes
+           function) -> structure: parameter "accession" of String, parameter
+           "version_status" of String, parameter "asm_name" of String,
+           parameter "ftp_dir" of String, parameter "file" of String,
+           parameter "id" of String, parameter "version" of String, parameter
+           "source" of String, parameter "domain" of String, parameter
+           "refseq_category" of String, parameter "tax_id" of String,
+           parameter "solr_core" of String, parameter "batch_size" of Long
+        :returns: instance of list of type "GenomeStatusData" (Struct
+           containing the KBase status of a single genome output by the
+           check_genome_status function status - "new" if no version of the
+           genome is in SOLR, "updated" if another version is, "present" if
+           this version is genome_id - the SOLR genome_id matched by the
+           genome accession, or the accession itself if the status is "new")
+           -> structure: parameter "genome" of type "ReferenceGenomeData"
+           (Struct containing data for a single genome output by the
+           list_reference_genomes function) -> structure: parameter
+           "accession" of String, parameter "version_status" of String,
+           parameter "asm_name" of String, parameter "ftp_dir" of String,
+           parameter "file" of String, parameter "id" of String, parameter
+           "version" of String, parameter "source" of String, parameter
+           "domain" of String, parameter "refseq_category" of String,
+           parameter "tax_id" of String, parameter "status" of String,
+           parameter "genome_id" of String
+        """
+        return self._client.call_method(
+            'ReferenceDataManager.check_genome_status',
+            [params], self._service_ver, context)
+
     def status(self, context=None):
         return self._client.call_method('ReferenceDataManager.status',
                                         [], self._service_ver, context)
@@ -30,6 +30,9 @@ use Data::Dumper qw(Dumper);
 use LWP::UserAgent;
 use XML::Simple;
 use Try::Tiny;
+use Time::HiRes;
+use Storable;
+use Digest::MD5;
 
 
 #The first thing every function should do is call this function
@@ -45,6 +48,18 @@ sub util_initialize_call {
     $self->{data} = $cfg->val('ReferenceDataManager','data');
     $self->{scratch} = $cfg->val('ReferenceDataManager','scratch');
     $self->{workspace_url} = $cfg->val('ReferenceDataManager','workspace-url');#$config->{"workspace-url"}; 
+    $self->{feature_doc_workers} = $cfg->val('ReferenceDataManager','feature-doc-workers');
+    $self->{parent_taxon_cache_size} = $cfg->val('ReferenceDataManager','parent-taxon-cache-size');
+    $self->{solr_max_connections} = $cfg->val('ReferenceDataManager','solr-max-connections');
+    $self->{genome_fetch_bytes} = $cfg->val('ReferenceDataManager','genome-fetch-bytes');
+    $self->{genome_fetch_objects} = $cfg->val('ReferenceDataManager','genome-fetch-objects');
+    $self->{genome_prefetch} = $cfg->val('ReferenceDataManager','genome-prefetch');
+    #the retries of a call are counted from its start, see _withRetry; a method called by another one runs in the
+    #same context, so it keeps counting for that call
+    if (!defined($self->{_retry_ctx}) || $self->{_retry_ctx} != $ctx) {
+        $self->{_retry_ctx} = $ctx;
+        $self->{_retry_mark} = $self->_retryCounters();
+    }
     die "no workspace-url defined" unless $self->{workspace_url};   $self->util_timestamp(DateTime->now()->datetime());
     $self->{_wsclient} = new Workspace::WorkspaceClient($self->{workspace_url},token => $ctx->token());
     return $params;
@@ -274,6 +289,171 @@ sub util_create_report {
         }]
     });
 }
+#################### Start subs for retries ########################
+#
+#The workspace and SOLR calls go through _withRetry, which retries a failed call after an exponential backoff with
+#full jitter. Each endpoint ("workspace", "solr") has a circuit breaker: after failure_threshold failures in a row
+#it opens for cooldown seconds, during which its calls wait for it to close instead of being made. Retries and
+#waits are paid from a budget of budget_ratio of the calls of the endpoint plus budget_min, so a backend that is
+#down makes the calls fail right away rather than wait for hours. The budget and the counters reported by
+#_retryStats only cover the current call of the service, and forked workers hand their counters back with their
+#results (see _forkMap). See $self->{_RETRY} in the constructor.
+#
+
+#
+# Internal method: _retryState
+# Returns the counters and the circuit breaker of an endpoint.
+#
+sub _retryState
+{
+    my ($self, $endpoint) = @_;
+    $self->{_retry_state}->{$endpoint} = {
+        calls => 0,
+        retries => 0,
+        failures => 0,
+        open_until => 0,
+        waited => 0
+    } unless defined($self->{_retry_state}->{$endpoint});
+    return $self->{_retry_state}->{$endpoint};
+}
+
+#
+# Internal method: _errorMessage
+# Returns the message of an error thrown by a client, which is either an exception object or a string.
+#
+sub _errorMessage
+{
+    my ($self, $error) = @_;
+    my $msg = (ref($error) && UNIVERSAL::isa($error, 'HASH')) ? $error->{message} : undef;
+    return defined($msg) ? $msg : "$error";
+}
+
+#
+# Internal method: _withRetry
+# Runs $code, a call to $endpoint described by $label, and returns its result, retrying it on failure.
+# A call fails if $code dies, or if the retry_on option, given the result, returns the reason the result is bad.
+# Options: attempts (the number of tries), retry_on, permanent, a pattern matching the errors that no retry
+# fixes, and transient, a pattern matching the only errors that are retried. A write that is not idempotent
+# passes transient so it is only sent again when the failed try cannot have reached the server (see
+# $self->{_UNSENT_ERRORS}). Once the tries are over, a bad result is returned and the last error is thrown again.
+#
+sub _withRetry
+{
+    my ($self, $endpoint, $label, $code, $options) = @_;
+    $options = {} unless $options;
+    my $conf = $self->{_RETRY};
+    my $state = $self->_retryState($endpoint);
+    my $attempts = $options->{attempts} ? $options->{attempts} : $conf->{attempts};
+    $attempts = 1 unless ($attempts && $attempts > 0);
+    $state->{calls}++;
+
+    my ($result, $error, $died);
+    for (my $attempt = 0; $attempt < $attempts; $attempt++) {
+        my $wait = 0;
+        if ($attempt > 0) {
+            my $delay = $conf->{base_delay} * 2 ** ($attempt - 1);
+            $delay = $conf->{max_delay} if $delay > $conf->{max_delay};
+            $wait = rand($delay);
+        }
+        my $closed_in = $state->{open_until} - Time::HiRes::time();
+        $wait = $closed_in if $closed_in > $wait;
+        if ($wait > 0) {
+            my $used = $self->_retryDelta($self->{_retry_mark})->{$endpoint};
+            if ($used->{retries} >= $conf->{budget_min} + $conf->{budget_ratio} * $used->{calls}) {
+                if (!defined($error)) {
+                    ($error, $died) = ("$label not attempted: the circuit for $endpoint is open and its retry budget is spent\n", 1);
+                }
+                last;
+            }
+            $state->{retries}++;
+            Time::HiRes::sleep($wait);
+            $state->{waited} += $wait;
+        }
+
+        $error = undef;
+        $result = eval { $code->() };
+        if ($@) {
+            ($error, $died) = ($@, 1);
+        }
+        elsif ($options->{retry_on}) {
+            ($error, $died) = ($options->{retry_on}->($result), 0);
+        }
+        if (!defined($error)) {
+            $state->{failures} = 0;
+            return $result;
+        }
+
+        my $msg = $self->_errorMessage($error);
+        chomp($msg);
+        print "ERROR: $label failed (attempt ".($attempt + 1)." of $attempts): $msg\n";
+        #a permanent error is an answer of a working backend, so it does not count against the circuit
+        if (defined($options->{permanent}) && $msg =~ $options->{permanent}) {
+            $state->{failures} = 0;
+            last;
+        }
+        if (++$state->{failures} >= $conf->{failure_threshold}) {
+            $state->{open_until} = Time::HiRes::time() + $conf->{cooldown};
+            print "The circuit for $endpoint is open for ".$conf->{cooldown}."s after ".$state->{failures}." failures in a row\n";
+        }
+        last if (defined($options->{transient}) && $msg !~ $options->{transient});
+    }
+    die $error if $died;
+    return $result;
+}
+
+#
+# Internal method: _retryCounters
+# Returns a copy of the calls, retries and time spent waiting of each endpoint.
+#
+sub _retryCounters
+{
+    my ($self) = @_;
+    my $states = $self->{_retry_state} ? $self->{_retry_state} : {};
+    return {map { $_ => {calls => $states->{$_}->{calls}, retries => $states->{$_}->{retries},
+        waited => $states->{$_}->{waited}} } keys %$states};
+}
+
+#
+# Internal method: _retryDelta
+# Returns the counters of each endpoint minus those of $since, a copy from _retryCounters.
+#
+sub _retryDelta
+{
+    my ($self, $since) = @_;
+    my $delta = $self->_retryCounters();
+    foreach my $endpoint (keys %$delta) {
+        next unless ($since && $since->{$endpoint});
+        $delta->{$endpoint}->{$_} -= $since->{$endpoint}->{$_} foreach ("calls", "retries", "waited");
+    }
+    return $delta;
+}
+
+#
+# Internal method: _retryAdd
+# Adds the counters of a forked worker, from _retryDelta, to those of each endpoint.
+#
+sub _retryAdd
+{
+    my ($self, $delta) = @_;
+    foreach my $endpoint (keys %$delta) {
+        my $state = $self->_retryState($endpoint);
+        $state->{$_} += $delta->{$endpoint}->{$_} foreach ("calls", "retries", "waited");
+    }
+}
+
+#
+# Internal method: _retryStats
+# Returns a one-line summary of the calls, retries and time spent waiting for each endpoint in the current call.
+#
+sub _retryStats
+{
+    my ($self) = @_;
+    my $delta = $self->_retryDelta($self->{_retry_mark});
+    return join("; ", map { sprintf("%s: %d call(s), %d retry(ies), %.1fs waited", $_, $delta->{$_}->{calls},
+        $delta->{$_}->{retries}, $delta->{$_}->{waited}) } grep { $delta->{$_}->{calls} } sort keys %$delta);
+}
+
+#################### End subs for retries ########################
 #################### methods for accessing SOLR using its web interface#######################
 #
 #Internal Method: to list the genomes already in SOLR and return an array of those genomes
@@ -320,6 +500,165 @@ sub _listTaxaInSolr {
     return $self->_searchSolr($solrCore, $params, $query, "json", $grp);    
 }
 
+#
+# Internal Method: to get the uniqueKey field of a SOLR core from its schema, which a cursor needs as the
+# final sort field. The key is kept per core for the life of the service.
+#
+sub _solrUniqueKey {
+    my ($self, $solrCore) = @_;
+    $self->{_solr_unique_keys} = {} unless $self->{_solr_unique_keys};
+    return $self->{_solr_unique_keys}->{$solrCore} if $self->{_solr_unique_keys}->{$solrCore};
+
+    my $solr_response = $self->_sendRequest($self->{_SOLR_URL}."/$solrCore/schema/uniquekey?wt=json", "GET");
+    if (!$self->_parseResponse($solr_response, "json")) {
+        die "\nError--Cannot get the unique key of $solrCore:\n" . $self->_error->{response};
+    }
+    my $key = JSON::from_json($solr_response->{response})->{uniqueKey};
+    die "\nError--No unique key is defined for $solrCore\n" unless $key;
+    $self->{_solr_unique_keys}->{$solrCore} = $key;
+    return $key;
+}
+
+#
+# Internal Method: to list a page of the documents of a SOLR core with a cursor. Unlike start/rows, SOLR does
+# not have to collect and skip the documents before the page, so every page costs the same. The documents are
+# sorted by the uniqueKey of the core; the cursor is "*" for the first page and the nextCursorMark of the
+# previous response for the others.
+#
+sub _listDocsInSolrWithCursor {
+    my ($self, $solrCore, $fields, $cursor, $rowCount) = @_;
+    $fields = ($fields) ? $fields : "*";
+    $cursor = ($cursor) ? $cursor : "*";
+    my $count = ($rowCount) ? $rowCount : 100;
+
+    my $params = {
+        fl => $fields,
+        wt => "json",
+        rows => $count,
+        sort => $self->_solrUniqueKey($solrCore) . " asc",
+        hl => "false",
+        cursorMark => $cursor
+    };
+    my $query = { q => "*:*" };
+
+    return $self->_searchSolr($solrCore, $params, $query, "json");
+}
+
+#
+# Internal Method: to count the genome documents of a SOLR core per value of the facet fields and to get the
+# statistics of the stats fields, without fetching any document. The feature documents are filtered out and the
+# genome documents are grouped by genome_id, so with group.facet the facet counts are numbers of genomes even
+# when a genome has been indexed more than once; the stats run over the genome documents.
+#
+sub _summarizeGenomesInSolr {
+    my ($self, $solrCore, $facetFields, $statsFields) = @_;
+    my $grp = "genome_id";
+
+    my $params = {
+        wt => "json",
+        rows => 0,
+        fq => "-genome_feature_id:[* TO *]",
+        facet => "true",
+        'facet.limit' => -1,
+        'facet.mincount' => 1,
+        stats => "true",
+        'group.ngroups' => "true",
+        'group.facet' => "true"
+    };
+    my $query = { q => "*:*" };
+    my $queryString = $self->_buildQueryString($query, $params, $grp);
+    $queryString .= "&facet.field=" . URI::Escape::uri_escape($_) foreach @{$facetFields};
+    $queryString .= "&stats.field=" . URI::Escape::uri_escape($_) foreach @{$statsFields};
+
+    my $solr_response = $self->_sendRequest($self->{_SOLR_URL}."/$solrCore/select", "POST", undef,
+                            {"Content-Type" => "application/x-www-form-urlencoded"}, $queryString);
+    if (!$self->_parseResponse($solr_response, "json")) {
+        die "\nError--Genome summary query failed:\n" . $self->_error->{response};
+    }
+    my $out = JSON::from_json($solr_response->{response});
+
+    my $summary = {
+        num_genomes => $out->{grouped}->{$grp}->{ngroups} + 0,
+        num_docs => $out->{grouped}->{$grp}->{matches} + 0,
+        facet_counts => {},
+        stats => {}
+    };
+    foreach my $field (@{$facetFields}) {
+        #SOLR returns the facet values and counts as one flat list
+        my $counts = $out->{facet_counts}->{facet_fields}->{$field} || [];
+        my %value_counts = ();
+        for (my $i = 0; $i + 1 < @{$counts}; $i += 2) {
+            $value_counts{$counts->[$i]} = $counts->[$i + 1] + 0;
+        }
+        $summary->{facet_counts}->{$field} = \%value_counts;
+    }
+    foreach my $field (@{$statsFields}) {
+        my $st = $out->{stats}->{stats_fields}->{$field};
+        #the statistics of a field are null when no genome has a value for it
+        next unless $st;
+        $summary->{stats}->{$field} = {
+            count => $st->{count} + 0,
+            missing => $st->{missing} + 0
+        };
+        foreach my $key (qw(sum min max mean)) {
+            $summary->{stats}->{$field}->{$key} = $st->{$key} + 0 if defined $st->{$key};
+        }
+    }
+    return $summary;
+}
+
+#
+# Internal Method: to fill in the genome fields of the genome_feature documents indexed with the linked doc_layout,
+# which only hold the genome_id and ws_ref of their genome. The genome documents of the listed documents that miss
+# any of the genome fields asked for are fetched by ws_ref, 500 per query, and their values are copied into the
+# documents that miss them; a document that has a field keeps its own value.
+#
+sub _joinGenomeFields {
+    my ($self, $solrCore, $docs, $fields) = @_;
+    my $shared = $self->{_GENOME_DOC_FIELDS};
+    if ($fields && @{$fields}) {
+        my %asked = map { $_ => 1 } @{$fields};
+        $shared = [grep { $asked{$_} } @{$shared}];
+    }
+    return unless @{$shared};
+
+    my %refs = ();
+    foreach my $doc (@{$docs}) {
+        next unless defined($doc->{ws_ref});
+        $refs{$doc->{ws_ref}} = 1 if grep { !exists($doc->{$_}) } @{$shared};
+    }
+    my @refs = sort keys %refs;
+    my $genomes = {};#ws_ref => genome document
+    for (my $b = 0; $b < @refs; $b += 500) {
+        my $last = ($b + 500 < @refs) ? $b + 499 : $#refs;
+        my $params = {
+            fl => join(",", "ws_ref", @{$shared}),
+            wt => "json",
+            rows => 10 * ($last - $b + 1),
+            fq => "-genome_feature_id:[* TO *]"
+        };
+        my $query = { q => "ws_ref:(" . join(" OR ", map { "\"$_\"" } @refs[$b..$last]) . ")" };
+        my $queryString = $self->_buildQueryString($query, $params);
+        my $solr_response = $self->_sendRequest($self->{_SOLR_URL}."/$solrCore/select", "POST", undef,
+                                {"Content-Type" => "application/x-www-form-urlencoded"}, $queryString);
+        if (!$self->_parseResponse($solr_response, "json")) {
+            die "\nError--Genome fields query failed:\n" . $self->_error->{response};
+        }
+        my $out = JSON::from_json($solr_response->{response});
+        foreach my $genome (@{$out->{response}->{docs}}) {
+            $genomes->{$genome->{ws_ref}} = $genome unless defined($genomes->{$genome->{ws_ref}});
+        }
+    }
+
+    foreach my $doc (@{$docs}) {
+        my $genome = defined($doc->{ws_ref}) ? $genomes->{$doc->{ws_ref}} : undef;
+        next unless $genome;
+        foreach my $field (@{$shared}) {
+            $doc->{$field} = $genome->{$field} if (!exists($doc->{$field}) && exists($genome->{$field}));
+        }
+    }
+}
+
 
 #
 # method name: _buildQueryString
@@ -546,11 +885,14 @@ sub _searchSolr_wildcard {
 #   'object_id' => 'kb|ws.2869.obj.72243',
 #   'workspace_name' => 'KBasePublicRichGenomesV5'
 #}
+# $options is an optional hash; the deletion is only committed with commit => 1, otherwise it becomes visible with
+# the next commit of the core.
+# The <delete> request is POSTed, so the criteria are not limited by the length of a URL.
 #
 
 sub _deleteRecords
 {
-    my ($self, $searchCore, $criteria) = @_;
+    my ($self, $searchCore, $criteria, $options) = @_;
     my $solrCore = "/$searchCore";
 
     if (!$self->_ping()) {
@@ -565,19 +907,35 @@ sub _deleteRecords
         return undef;
     }
     foreach my $key (keys %$criteria) {
-        $queryCriteria .= "<query>$key:". URI::Escape::uri_escape($criteria->{$key}) . "</query>";
+        (my $value = $criteria->{$key}) =~ s/([&<>])/{'&' => '&amp;', '<' => '&lt;', '>' => '&gt;'}->{$1}/ge;
+        $queryCriteria .= "<query>$key:$value</query>";
     }
 
-    $queryCriteria .= "</delete>&commit=true";
+    $queryCriteria .= "</delete>";
     #print "The deletion query string is: \n" . "$queryCriteria \n";
 
-    my $solrQuery = $self->{_SOLR_URL}.$solrCore."/update?stream.body=".$queryCriteria;
-    #print "The final deletion query string is: \n" . "$solrQuery \n";
-
-    my $solr_response = $self->_sendRequest("$solrQuery", "GET");
+    my $commit = ($options && $options->{commit}) ? 'true' : 'false';
+    my $solrQuery = $self->{_SOLR_URL}.$solrCore."/update?wt=json&commit=".$commit;
+    my $solr_response = $self->_sendRequest("$solrQuery", "POST", undef, $self->{_CT_XML}, $queryCriteria);
     return $solr_response;
 }
 
+#
+# Internal Method: returns the LWP::UserAgent shared by the SOLR requests. It keeps up to solr-max-connections
+# (deploy.cfg, 4 by default) connections open between requests, so that the many small status queries
+# (_exists, _checkGenomeStatus, _checkTaxonStatus) do not each set up a new connection.
+#
+sub _solrAgent
+{
+    my ($self) = @_;
+    unless (defined($self->{_solr_ua})) {
+        my $max = $self->{solr_max_connections};
+        $max = 4 unless (defined($max) && $max > 0);
+        $self->{_solr_ua} = LWP::UserAgent->new(keep_alive => $max);
+    }
+    return $self->{_solr_ua};
+}
+
 #
 # method name: _sendRequest
 # Internal Method used for sending HTTP
@@ -600,8 +958,8 @@ sub _sendRequest
 
     my $out = {};
 
-    # create a HTTP request
-    my $ua = LWP::UserAgent->new;
+    # create a HTTP request, sent over one of the kept-alive connections
+    my $ua = $self->_solrAgent();
     my $request = HTTP::Request->new;
     $request->method($method);
     $request->uri($url);
@@ -616,8 +974,28 @@ sub _sendRequest
     $request->content($data);
     #print "The HTTP request: \n" . Dumper($request) . "\n";
     
-    # Send request and receive the response
-    my $response = $ua->request($request);
+    # Send request and receive the response; a streamed body cannot be sent twice, so it is not retried. A POST
+    # (an update) is only sent again when SOLR did not handle it: 503, 429, or no connection, which LWP reports as
+    # an internal 500 response
+    my $write = ($method eq 'POST');
+    my $response = eval {
+        $self->_withRetry("solr", "$method $url", sub { $ua->request($request) }, {
+            attempts => (ref($data) eq 'CODE') ? 1 : undef,
+            retry_on => sub {
+                my $code = $_[0]->code();
+                return "HTTP ".$_[0]->status_line() if ($code == 503 || $code == 429);
+                return undef if ($code < 500);
+                return "HTTP ".$_[0]->status_line() unless $write;
+                return ($_[0]->status_line() =~ $self->{_UNSENT_ERRORS}) ? "HTTP ".$_[0]->status_line() : undef;
+            }
+        });
+    };
+    if (!defined($response)) {
+        $out->{responsecode} = 503;
+        $out->{response} = $self->_errorMessage($@);
+        $out->{url} = $url;
+        return $out;
+    }
     $out->{responsecode} = $response->code();
     $out->{response} = $response->content;
     $out->{url} = $url;
@@ -676,6 +1054,7 @@ sub _parseResponse
 # Depending on the flag AUTOCOMMIT the documents will be indexed immediatly or on commit is issued.
 # parameters:   
 #     $params: This parameter specifies set of list of document fields and values.
+#     $options: optional, overrides AUTOCOMMIT for this request: {commit => 1|0, commitWithin => milliseconds}
 # return
 #    1 for successful posting of the xml document
 #    0 for any failure
@@ -683,7 +1062,7 @@ sub _parseResponse
 #
 sub _addXML2Solr
 {
-    my ($self, $solrCore, $params) = @_;
+    my ($self, $solrCore, $params, $options) = @_;
     
     if (!$self->_ping()) {
         die "\nError--Solr server not responding:\n" . $self->_error->{response};
@@ -693,7 +1072,9 @@ sub _addXML2Solr
     my $doc = $self->_toXML($ds, 'add');
     #print Dumper($doc);
     my $commit = $self->{_AUTOCOMMIT} ? 'true' : 'false';
+    $commit = $options->{commit} ? 'true' : 'false' if ($options && defined($options->{commit}));
     my $url = "$self->{_SOLR_URL}/$solrCore/update?commit=" . $commit;
+    $url .= "&commitWithin=" . $options->{commitWithin} if ($options && $options->{commitWithin});
     my $response = $self->_sendRequest($url, 'POST', undef, $self->{_CT_XML}, $doc);
     return 1 if ($self->_parseResponse($response));
     $self->{error} = $response;
@@ -702,6 +1083,90 @@ sub _addXML2Solr
     return 0;
 }
 
+#
+# method name: _addJSON2Solr
+# Internal method: to add documents to solr for indexing with a JSON update request.
+# Unlike _addXML2Solr, the request body is never built as a whole: it is a callback that LWP calls for the next
+# chunk of the body, sent with chunked transfer encoding, and every chunk holds the JSON of only a few
+# documents (see _jsonDocStream), so the memory used does not grow with the size of the batch.
+# Depending on the flag AUTOCOMMIT the documents will be indexed immediatly or on commit is issued.
+# parameters:
+#     $params: This parameter specifies set of list of document fields and values.
+#     $options: optional, overrides AUTOCOMMIT for this request: {commit => 1|0, commitWithin => milliseconds}
+# return
+#    1 for successful posting of the documents
+#    0 for any failure
+#
+sub _addJSON2Solr
+{
+    my ($self, $solrCore, $params, $options) = @_;
+
+    if (!$self->_ping()) {
+        die "\nError--Solr server not responding:\n" . $self->_error->{response};
+    }
+
+    my $docs = (ref($params) eq 'ARRAY') ? $params : [$params];
+    my $commit = $self->{_AUTOCOMMIT} ? 'true' : 'false';
+    $commit = $options->{commit} ? 'true' : 'false' if ($options && defined($options->{commit}));
+    my $url = "$self->{_SOLR_URL}/$solrCore/update?wt=json&commit=" . $commit;
+    $url .= "&commitWithin=" . $options->{commitWithin} if ($options && $options->{commitWithin});
+    my $response = $self->_sendRequest($url, 'POST', undef, $self->{_CT_JSON_UPDATE}, $self->_jsonDocStream($docs));
+    return 1 if ($self->_parseResponse($response, "json"));
+    $self->{error} = $response;
+    $self->{error}->{errmsg} = $@;
+    return 0;
+}
+
+#
+# method name: _jsonDocStream
+# Internal method: returns a callback producing the body of a JSON update request for $docs piece by piece,
+# i.e. '[', then the documents $chunkSize at a time, then ']', and '' once the body is complete.
+# Every document is converted with _toSolrJsonDoc when its chunk is produced.
+#
+sub _jsonDocStream
+{
+    my ($self, $docs, $chunkSize) = @_;
+    $chunkSize = 100 unless $chunkSize;
+    my $json = JSON->new->utf8;
+    my $pos = -1;
+    return sub {
+        if ($pos < 0) {
+            $pos = 0;
+            return "[";
+        }
+        return "" if ($pos > @{$docs});
+        if ($pos == @{$docs}) {
+            $pos++;
+            return "]";
+        }
+        my $end = ($pos + $chunkSize < @{$docs}) ? $pos + $chunkSize : scalar(@{$docs});
+        my $chunk = join(",\n", map { $json->encode($self->_toSolrJsonDoc($docs->[$_])) } ($pos .. $end - 1));
+        $chunk = ",\n" . $chunk if ($pos > 0);
+        $pos = $end;
+        return $chunk;
+    };
+}
+
+#
+# method name: _toSolrJsonDoc
+# Internal method: converts a raw document to a document of a SOLR JSON update, with the same field values as
+# _rawDsToSolrDs produces for the XML update: values are split on ';;', a field with several values becomes a
+# list, fields without a value and '_version_' are left out.
+#
+sub _toSolrJsonDoc
+{
+    my ($self, $doc) = @_;
+    my $d = {};
+    for my $field (keys %$doc) {
+        next if $field eq '_version_';
+        my $values = $doc->{$field};
+        my @fvals = (ref($values) eq 'ARRAY' && scalar (@$values)) ? map { split(/;;/, $_) } @$values : split(/;;/, $values);
+        next unless @fvals;
+        $d->{$field} = (@fvals == 1) ? "$fvals[0]" : [map { "$_" } @fvals];
+    }
+    return $d;
+}
+
 #
 # method name: _toXML
 # Internal Method
@@ -1059,40 +1524,96 @@ sub _checkGenomeStatus
     my ($self, $current_genome, $solr_core) = @_;
     #print "\nChecking status for genome:\n " . Dumper($current_genome) . "\n";
 
-    my $status = "";
-    my $groupOption = "genome_id";
-    my $params = {
-        fl => $groupOption,
-        wt => "json"
-    };
-    my $query = { genome_id => $current_genome->{id} . "*" };
-    my $solr_response = $self->_searchSolr_wildcard($solr_core, $params, $query, "json", $groupOption);
-    if( $solr_response->{response}->{grouped}->{$groupOption}->{matches} == 0 ) {
-        $status = "New genome";
+    my $gn_status = $self->_checkGenomeStatusBatch([$current_genome], $solr_core)->[0];
+    my $status = "New genome";
+    if( $gn_status->{status} eq "present" ) {
+        $status = "Existing genome: current";
+        $current_genome->{genome_id} = $gn_status->{genome_id};
     }
-    else {
-        my $solr_records = $solr_response->{response}->{grouped}->{$groupOption}->{groups};
-        for (my $i = 0; $i < @{$solr_records}; $i++ ) {
-            my $record = $solr_records->[$i];
-            my $genome_id = uc $record->{genome_id};
+    elsif( $gn_status->{status} eq "updated" ) {
+        $status = "Existing genome: updated ";
+        $current_genome->{genome_id} = $gn_status->{genome_id};
+    }
+    #print "\nStatus:$status\n";
+    return $status;
+}
 
-            if ($genome_id eq uc $current_genome->{accession}){
-                $status = "Existing genome: current";
-                $current_genome->{genome_id} = $genome_id;
-                last;
-            }elsif ($genome_id =~/$current_genome->{id}/){
-                $status = "Existing genome: updated ";
-                $current_genome->{genome_id} = $genome_id;
-                last;
+#
+# Internal Method: to check the status of a list of genomes against genomes in SOLR, many genomes per SOLR query.
+# Each batch is sent as a single grouped query of the form genome_id:(id1* OR id2* ...), POSTed so that the
+# query length is not limited by the URL, and the returned genome_id groups are matched back to the genomes.
+#
+# params :
+# $genomes is a reference to a list of genome objects (ReferenceGenomeData) whose KBase status is to be checked.
+# $solr_core is the name of the SOLR core
+# $batch_size is the number of genomes checked per SOLR query, {default => 1000}
+#
+# returns : a reference to a list, in the order of $genomes, of hashes of the form
+#   {status => "new" | "updated" | "present", genome_id => the matched SOLR genome_id or the genome accession}
+#
+sub _checkGenomeStatusBatch
+{
+    my ($self, $genomes, $solr_core, $batch_size) = @_;
+    $batch_size = 1000 unless $batch_size && $batch_size > 0;
+
+    if (!$self->_ping()) {
+        die "\nError--Solr server not responding:\n" . $self->_error->{response};
+    }
+
+    my $groupOption = "genome_id";
+    my $output = [];
+    for (my $b = 0; $b < @{$genomes}; $b += $batch_size) {
+        my $last = $b + $batch_size - 1;
+        $last = @{$genomes} - 1 if $last >= @{$genomes};
+        my @batch = @{$genomes}[$b..$last];
+
+        # Distinct base ids (accession without the version) of this batch
+        my %ids = ();
+        foreach my $gnm (@batch) {
+            my $id = $gnm->{id} ? $gnm->{id} : $gnm->{accession};
+            $ids{uc $id} = $id if $id;
+        }
+        my %solr_gids = ();  # uc base id => { uc genome_id => genome_id }
+        if (keys %ids) {
+            my @terms = map { my $t = $_; $t =~ s/([+\-&|!(){}\[\]^"~*?:\\\/ ])/\\$1/g; $t . "*" } sort values %ids;
+            my $params = {
+                fl => $groupOption,
+                wt => "json",
+                rows => 10 * scalar(@terms),
+                'group.limit' => 1
+            };
+            my $query = { q => "$groupOption:(" . join(" OR ", @terms) . ")" };
+            my $queryString = $self->_buildQueryString_wildcard($query, $params, $groupOption);
+            my $solr_response = $self->_sendRequest($self->{_SOLR_URL}."/$solr_core/select", "POST", undef,
+                                    {"Content-Type" => "application/x-www-form-urlencoded"}, $queryString);
+            if (!$self->_parseResponse($solr_response, "json")) {
+                die "\nError--Genome status query failed:\n" . $self->_error->{response};
+            }
+            my $out = JSON::from_json($solr_response->{response});
+            foreach my $group (@{$out->{grouped}->{$groupOption}->{groups}}) {
+                my $gid = $group->{groupValue};
+                next unless defined $gid;
+                (my $base = uc $gid) =~ s/\.\d+$//;
+                $solr_gids{$base}->{uc $gid} = $gid;
             }
         }
-        if( $status eq "" )
-        {
-            $status = "New genome";#or "Existing genome: status unknown";
+
+        foreach my $gnm (@batch) {
+            my $id = uc($gnm->{id} ? $gnm->{id} : $gnm->{accession});
+            my $acc = uc $gnm->{accession};
+            my $gn_status = {status => "new", genome_id => $gnm->{accession}};
+            if (defined $solr_gids{$id}) {
+                if (defined $solr_gids{$id}->{$acc}) {
+                    $gn_status = {status => "present", genome_id => $solr_gids{$id}->{$acc}};
+                } else {
+                    my @gids = sort keys %{$solr_gids{$id}};
+                    $gn_status = {status => "updated", genome_id => $solr_gids{$id}->{$gids[-1]}};
+                }
+            }
+            push(@{$output}, $gn_status);
         }
     }
-    #print "\nStatus:$status\n";
-    return $status;
+    return $output;
 }
 
 #
@@ -1126,17 +1647,147 @@ sub _getGenomeInfo
     return $gn_info;
 }
 
+#
+# Internal Method: opens a fetcher of the genomes indexed by _indexGenomeFeatureData, given as a list of {ref => ...}.
+# Only the genome and feature fields that go into the SOLR documents are fetched, leaving out the DNA sequences and
+# protein translations that make up most of a genome, and consecutive genomes are fetched together, as many per
+# get_objects2 call as fit in genome-fetch-bytes (deploy.cfg; 100000000 by default) of stored object size and at
+# most genome-fetch-objects (20 by default). The stored sizes come from get_object_info3, one call per 1000 genomes;
+# a genome of unknown size is fetched on its own.
+#
+sub _openGenomeFetcher
+{
+    my ($self, $refs) = @_;
+    my $fetcher = {
+        refs => $refs,
+        sizes => [],
+        max_bytes => $self->{genome_fetch_bytes} ? $self->{genome_fetch_bytes} : 100000000,
+        max_objects => $self->{genome_fetch_objects} ? $self->{genome_fetch_objects} : 20,
+        paths => ["/id", "/source", "/genetic_code", "/domain", "/scientific_name", "/assembly_ref", "/complete",
+                  "/taxonomy", "/taxon_ref",
+                  map { "/features/[*]/$_" } qw(id type aliases function roles location md5
+                                                 protein_translation_length dna_sequence_length ontology_terms)],
+        prefetch => (defined($self->{genome_prefetch}) && $self->{genome_prefetch} ne "") ? $self->{genome_prefetch} : 2,
+        calls => 0
+    };
+    for (my $i = 0; $i < @{$refs}; $i += 1000) {
+        my $last = ($i + 1000 < @{$refs}) ? $i + 999 : $#{$refs};
+        my $infos;
+        eval {
+            $infos = $self->_withRetry("workspace", "get_object_info3 of ".($last - $i + 1)." genomes", sub {
+                return $self->util_ws_client()->get_object_info3({
+                    objects => [map { {"ref" => $_->{ref}} } @{$refs}[$i..$last]],
+                    ignoreErrors => 1
+                })->{infos};
+            });
+        };
+        if ($@) {
+            print "ERROR: cannot get the genome sizes, fetching them one at a time: ".$self->_errorMessage($@)."\n";
+            next;
+        }
+        for (my $j = $i; $j <= $last; $j++) {
+            my $info = $infos->[$j - $i];
+            $fetcher->{sizes}->[$j] = $info->[9] if defined($info);
+        }
+    }
+    return $fetcher;
+}
+
+#
+# Internal Method: fetches the genomes of the fetcher and hands them to $sink in order, each as its index in the refs
+# and either {object => Workspace.ObjectData} or {error => message}. The get_objects2 calls run ahead of the sink in
+# forked workers (see _forkMap), so the next genomes are downloaded and decoded while the sink indexes the current
+# one. At most genome-prefetch (deploy.cfg; 2 by default) calls are fetched ahead of the sink and their genomes wait
+# in the scratch directory, so memory holds the genomes of one call; with 0 every call is made here, in turn.
+#
+sub _genomeFetcherRun
+{
+    my ($self, $fetcher, $sink) = @_;
+    my $refs = $fetcher->{refs};
+    my $sizes = $fetcher->{sizes};
+    my $groups = [];
+    for (my $start = 0; $start < @{$refs}; ) {
+        my $last = $start;
+        my $bytes = defined($sizes->[$start]) ? $sizes->[$start] : $fetcher->{max_bytes};
+        while ($last < $#{$refs} && $last - $start + 1 < $fetcher->{max_objects}) {
+            my $size = $sizes->[$last + 1];
+            last unless (defined($size) && $bytes + $size <= $fetcher->{max_bytes});
+            $bytes += $size;
+            $last++;
+        }
+        push @{$groups}, {start => $start, last => $last};
+        $start = $last + 1;
+    }
+
+    my $window = ($fetcher->{prefetch} > 0) ? $fetcher->{prefetch} + 1 : 1;
+    $self->_forkMap($groups, $window, sub {
+        my ($group) = @_;
+        my $fetched = {calls => 0, genomes => {}};
+        $self->_genomeFetcherFetch($fetcher, $group->{start}, $group->{last}, $fetched);
+        return $fetched;
+    }, sub {
+        my ($fetched, $group) = @_;
+        $fetcher->{calls} += $fetched->{calls};
+        for (my $j = $group->{start}; $j <= $group->{last}; $j++) {
+            $sink->($j, delete $fetched->{genomes}->{$j});
+        }
+    }, "genomefetch", $window);
+}
+
+#
+# Internal Method: fetches the genomes from $start to $last of the refs of the fetcher in one get_objects2 call and
+# puts them in $fetched by index. The errors are kept as messages, as a worker hands its genomes over with Storable.
+#
+sub _genomeFetcherFetch
+{
+    my ($self, $fetcher, $start, $last, $fetched) = @_;
+    my $refs = $fetcher->{refs};
+    my $objs;
+    eval {
+        $objs = $self->_withRetry("workspace", "get_objects2 of ".($last - $start + 1)." genomes from ".$refs->[$start]->{ref}, sub {
+            $fetched->{calls}++;
+            return $self->util_ws_client()->get_objects2({
+                objects => [map { {"ref" => $_->{ref}, "included" => $fetcher->{paths}} } @{$refs}[$start..$last]],
+                ignoreErrors => ($last > $start) ? 1 : 0
+            })->{data};
+        });
+    };
+    my $error = $@ ? $self->_errorMessage($@) : undef;
+    for (my $j = $start; $j <= $last; $j++) {
+        if (defined($error)) {
+            $fetched->{genomes}->{$j} = {error => $error};
+        }
+        elsif (defined($objs->[$j - $start])) {
+            $fetched->{genomes}->{$j} = {object => $objs->[$j - $start]};
+        }
+        else {
+            #an inaccessible genome comes back as null from a multi-genome call; fetching it on its own gives the error
+            $self->_genomeFetcherFetch($fetcher, $j, $j, $fetched);
+        }
+    }
+}
+
 #
 #Internal method, to fetch genome records for a given set of ws_ref's and index the genome_feature combo in SOLR.
-#First call get_objects2() to get the genome object one at a time.
+#First get the indexed fields of the genome objects, several genomes per get_objects2() call (see _openGenomeFetcher),
+#in workers that fetch the next genomes while the current one is indexed (see _genomeFetcherRun).
 #Then plow through the genome object data to assemble the data items for a Solr genome_feature object.
 #Finally send the data document to Solr for indexing.
-#Input: a list of KBaseReferenceGenomeData
-#Output: a list of SolrGenomeFeatureData
+#The documents go through one indexing session (see _openIndexSession), committed once at the end.
+#Input: a list of KBaseReferenceGenomeData, the commit policy of the session, the return mode, the doc layout and
+#whether the documents of earlier copies and versions of the genomes are deleted (see _indexSessionEvict)
+#Output: by return mode, a list of SolrGenomeFeatureData (full), of IndexedGenomeSummary (summary), or an empty list
+#(none). Only the full mode keeps the documents after they are sent, so the other modes use memory in proportion
+#to the number of genomes rather than of features.
+#With the linked doc layout the feature documents only get the genome_id and ws_ref of their genome, and not the
+#rest of the genome fields (see _GENOME_DOC_FIELDS in the constructor), which are only in the genome document.
 #
 sub _indexGenomeFeatureData 
 {
-    my ($self, $solrCore, $ws_gnData) = @_;
+    my ($self, $solrCore, $ws_gnData, $commitPolicy, $returnMode, $docLayout, $evictSuperseded) = @_;
+    $returnMode = "full" unless $returnMode;
+    my $gn_shared = ($docLayout && $docLayout eq "linked") ? [] : $self->{_GENOME_DOC_FIELDS};
+    my $keepDocs = ($returnMode eq "full");
     my $ws_gnrefs = [];
 
     foreach my $ws_gn (@{$ws_gnData}) {
@@ -1147,39 +1798,31 @@ sub _indexGenomeFeatureData
 
     my $ws_gnout;
     my $solr_gnftData = [];
+    my $gn_summaries = [];
     my $gnft_batch = [];
     my $batchCount = 10000;
-    #foreach my $ws_ref (@{$ws_gnrefs}) { 
-    for( my $gf_i = 0; $gf_i < @{$ws_gnrefs}; $gf_i++ ) {
+    my $session = $self->_openIndexSession($solrCore, $commitPolicy, $batchCount);
+    my $fetcher = $self->_openGenomeFetcher($ws_gnrefs);
+    #the genomes are fetched ahead of their indexing, see _genomeFetcherRun
+    $self->_genomeFetcherRun($fetcher, sub {
+        my ($gf_i, $fetched) = @_;
         my $ws_ref = $ws_gnrefs->[$gf_i];
-        print "\nStart to fetch the object(s) for "  . $gf_i . ". " . $ws_ref->{ref} .  " on " . scalar localtime . "\n";
-        eval {#return a reference to a list where each element is a Workspace.ObjectData with a key named 'data'
-                $ws_gnout = $self->util_ws_client()->get_objects2({
-                        objects => [$ws_ref]
-                }); 
-        };
-        if($@) {
+        my $gn_start = Time::HiRes::time();
+        my $gn_summary = {ref => $ws_ref->{ref}, num_features => 0, num_docs => 0};
+        print "\nStart to index the object(s) for "  . $gf_i . ". " . $ws_ref->{ref} .  " on " . scalar localtime . "\n";
+        if(defined($fetched->{error})) {
                 print "Cannot get object information!\n";
-                print "ERROR:".$@;
-                if(defined($@->{status_line})) {
-                    print $@->{status_line}."\n";
-                }
+                print "ERROR:".$fetched->{error};
+                $gn_summary->{error} = $fetched->{error};
         }
         else {
-            $ws_gnout = $ws_gnout -> {data};#a reference to a list where each element is a Workspace.ObjectData
+            $ws_gnout = [$fetched->{object}];#a reference to a list where each element is a Workspace.ObjectData
             print "Done getting genome object info for " . $ws_ref->{ref} . " on " . scalar localtime . "\n";
             my $ws_gn_data;#to hold a value which is a Workspace.objectData
             my $ws_gn_info;#to hold a value which is a Workspace.object_info
-            my $ws_gn_onterms ={};
             my $ws_gn_features = {};
             my $ws_gn_tax;
-            my $ws_gn_aliases;
             my $ws_gn_nm;
-            my $loc_contig;
-            my $loc_begin;
-            my $loc_end;
-            my $loc_strand;
-            my $ws_gn_loc;
             my $ws_gn_save_date;
             my $numCDs = 0;
             # my $ws_gn_refseqcat;
@@ -1195,7 +1838,7 @@ sub _indexGenomeFeatureData
                 
                 $numCDs  = 0;
                 foreach my $feature (@{$ws_gn_features}) {
-                    $numCDs++ if $feature->{type} = 'CDS';
+                    $numCDs++ if $feature->{type} eq 'CDS';
                 }
 
                 ###1)---Build the genome solr object for the sake of the search UI/search service
@@ -1222,140 +1865,321 @@ sub _indexGenomeFeatureData
                           #gnmd5checksum => $ws_gn_info->[8],
                           save_date => $ws_gn_save_date,            
                 };   
-                push @{$solr_gnftData}, $ws_gnobj;
+                push @{$solr_gnftData}, $ws_gnobj if $keepDocs;
                 push @{$gnft_batch}, $ws_gnobj;
+                $gn_summary->{genome_id} = $ws_gnobj->{genome_id};
+                $gn_summary->{num_features} += @{$ws_gn_features} if $ws_gn_features;
+                $gn_summary->{num_docs}++;
                 ###---end Build the genome solr object---
                 
-                ###2)---Build the genome_feature solr object
-                for (my $ii=0; $ii < @{$ws_gn_features}; $ii++) {
-                    if( defined($ws_gn_features->[$ii]->{aliases})) {
-                        $ws_gn_nm = $ws_gn_features->[$ii]->{aliases}[0] unless $ws_gn_features->[$ii]->{aliases}[0]=~/^(NP_|WP_|YP_|GI|GeneID)/i;
-                        $ws_gn_aliases = join(";", @{$ws_gn_features->[$ii]->{aliases}});
-                        $ws_gn_aliases =~s/ *; */;;/g;
+                ###2)---Build the genome_feature solr objects, in parallel for large genomes (see _buildFeatureDocs)
+                #A feature whose first alias is a protein or GI id keeps the gene name of the feature before it,
+                #so the gene names are resolved here in feature order before the features are split into chunks
+                my $ws_gn_names = [];
+                foreach my $feature (@{$ws_gn_features}) {
+                    if( defined($feature->{aliases})) {
+                        $ws_gn_nm = $feature->{aliases}[0] unless $feature->{aliases}[0]=~/^(NP_|WP_|YP_|GI|GeneID)/i;
                     }
                     else {
                         $ws_gn_nm = undef;
-                        $ws_gn_aliases = undef;
-                    }
-
-                    my $ws_gn_funcs = $ws_gn_features->[$ii]->{function};
-                    $ws_gn_funcs = join(";;", split(/\s*;\s+|\s+[\@\/]\s+/, $ws_gn_funcs));
-
-                    my $ws_gn_roles;
-                    if( defined($ws_gn_features->[$ii]->{roles}) ) {
-                        $ws_gn_roles = join(";;", $ws_gn_features->[$ii]->{roles});
                     }
-                    else {
-                        $ws_gn_roles = undef;
-                    }
-                    $loc_contig = "";
-                    $loc_begin = 0;
-                    $loc_end = "";
-                    $loc_strand = "";
-                    $ws_gn_loc = $ws_gn_features->[$ii]->{location};
-
-                    my $end = 0;
-                    foreach my $contig_loc (@{$ws_gn_loc}) {
-                        $loc_contig = $loc_contig . ";;" unless $loc_contig eq "";
-                        $loc_contig = $loc_contig . $contig_loc->[0];
-
-                        $loc_begin = $loc_begin . ";;" unless $loc_begin eq "";
-                        $loc_begin = $loc_begin . $contig_loc->[1];
-
-                        if( $contig_loc->[2] eq "+") {
-                            $end = $contig_loc->[1] + $contig_loc->[3];
+                    push @{$ws_gn_names}, $ws_gn_nm;
+                }
+                my $ws_gn_common = {};
+                foreach my $field ("genome_id", "ws_ref", @{$gn_shared}) {
+                    $ws_gn_common->{$field} = $ws_gnobj->{$field};
+                }
+                $self->_buildFeatureDocs($ws_gn_common, $ws_gn_info, $ws_gn_features, $ws_gn_names, sub {
+                    my ($ws_gnft) = @_;
+                    push @{$solr_gnftData}, $ws_gnft if $keepDocs;
+                    push @{$gnft_batch}, $ws_gnft;
+                    $gn_summary->{num_docs}++;
+                    if(@{$gnft_batch} >= $batchCount) {
+                        eval {
+                              $self->_indexSessionAdd($session, $gnft_batch);
+                        };
+                        if($@) {
+                              print "Failed to index the genome_feature(s)!\n";
+                              $gn_summary->{error} = $self->_errorMessage($@) unless $gn_summary->{error};
+                              $gnft_batch = [];
+                              print "ERROR:". Dumper( $@ );
+                              if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
+                                  print $@->{status_line}."\n";
+                              }
                         }
                         else {
-                            $end = $contig_loc->[1] - $contig_loc->[3];
+                              print "\nQueued " . @{$gnft_batch} . " genome_feature(s) for indexing on " . scalar localtime . "\n";
+                              $gnft_batch = [];
                         }
-                        $loc_end = $loc_end . ";;" unless $loc_end eq "";
-                        $loc_end = $loc_end . $end;
-
-                        $loc_strand = $loc_strand . ";;" unless $loc_strand eq "";
-                        $loc_strand = $loc_strand . $contig_loc->[2];
                     }
-
-                    $ws_gn_onterms = $ws_gn_features->[$ii]->{ontology_terms};
-
-                    my $ws_gnft = {
-                          #genome data (redundant)
-                          genome_source_id => $ws_gn_info->[10]->{"Source ID"},
-                          genome_id => $ws_gn_data->{id},
-                          ws_ref => $ws_ref->{ref},
-                          genome_source => $ws_gn_data->{source},
-                          genetic_code => $ws_gn_data->{genetic_code},
-                          domain => $ws_gn_data->{domain},
-                          scientific_name => $ws_gn_data->{scientific_name},
-                          genome_dna_size => $ws_gn_info->[10]->{Size},
-                          num_contigs => $ws_gn_info->[10]->{"Number contigs"},#$ws_gn_data->{num_contigs},
-                          assembly_ref => $ws_gn_data->{assembly_ref},
-                          gc_content => $ws_gn_info->[10]->{"GC content"},
-                          complete => $ws_gn_data->{complete},
-                          taxonomy => $ws_gn_tax,
-                          taxonomy_ref => $ws_gn_data->{taxon_ref},
-                          workspace_name => $ws_gn_info->[7],
-                          num_cds => $numCDs,
-                          save_date => $ws_gn_save_date,
-                          #feature data
-                          genome_feature_id => $ws_gn_data->{id} . "|feature:" . $ws_gn_features->[$ii]->{id},
-                          object_id => "kb|ws_ref:". $ws_ref->{ref}. "|feature:" . $ws_gn_features->[$ii]->{id},
-                          object_name => $ws_gn_info->[1] . "|feature:" . $ws_gn_features->[$ii]->{id},
-                          object_type => $ws_gn_info->[2] . ".Feature",
-                          feature_type => $ws_gn_features->[$ii]->{type},
-                          feature_id => $ws_gn_features->[$ii]->{id},
-                          functions => $ws_gn_funcs,
-                          roles => $ws_gn_roles,
-                          md5 => $ws_gn_features->[$ii]->{md5},
-                          gene_name => $ws_gn_nm,
-                          protein_translation_length => ($ws_gn_features->[$ii]->{protein_translation_length}) != "" ? $ws_gn_features->[$ii]->{protein_translation_length} : 0,
-                          dna_sequence_length => ($ws_gn_features->[$ii]->{dna_sequence_length}) != "" ? $ws_gn_features->[$ii]->{dna_sequence_length} : 0,
-                          aliases => $ws_gn_aliases,
-                          location_contig => $loc_contig,
-                          location_strand => $loc_strand,
-                          location_begin => $loc_begin,
-                          location_end => $loc_end,
-                          ontology_namespaces => $ws_gn_features->[$ii]->{ontology_terms}
-                    };
-                    push @{$solr_gnftData}, $ws_gnft;
-                    push @{$gnft_batch}, $ws_gnft;
-                    if(@{$gnft_batch} >= $batchCount) {
-                        eval {
-                              $self->_indexInSolr($solrCore, $gnft_batch);
-                        };
-                        if($@) {
-                              print "Failed to index the genome_feature(s)!\n";
-                              print "ERROR:". Dumper( $@ );
-                              if(defined($@->{status_line})) {
-                                  print $@->{status_line}."\n";
-                              }
-                        }
-                        else {
-                              print "\nIndexed " . @{$gnft_batch} . " genome_feature(s) on " . scalar localtime . "\n";
-                              $gnft_batch = [];
-                        }
-                    }
-                }
+                });
                 if(@{$gnft_batch} > 0) {
                     eval {
-                        $self->_indexInSolr($solrCore, $gnft_batch);
+                        $self->_indexSessionAdd($session, $gnft_batch);
                     };
                     if($@) {
                         print "Failed to index the genome_feature(s)!\n";
+                        $gn_summary->{error} = $self->_errorMessage($@) unless $gn_summary->{error};
+                        $gnft_batch = [];
                         print "ERROR:". Dumper( $@ );
-                        if(defined($@->{status_line})) {
+                        if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
                             print $@->{status_line}."\n";
                         }
                     }
                     else {
-                        print "\nIndexed " . @{$gnft_batch} . " genome_feature(s) on " . scalar localtime . "\n";
+                        print "\nQueued " . @{$gnft_batch} . " genome_feature(s) for indexing on " . scalar localtime . "\n";
                         $gnft_batch = [];
                     }
                 }
+                #the documents an earlier indexing left for this genome or its other versions are deleted once its
+                #own documents are sent, when asked for, as other loaders may share the core
+                $self->_indexSessionEvict($session, $ws_gnobj->{genome_id}, $ws_ref->{ref}) if $evictSuperseded;
+            }
+        }
+        $gn_summary->{seconds} = sprintf("%.3f", Time::HiRes::time() - $gn_start) + 0;
+        push @{$gn_summaries}, $gn_summary if $returnMode eq "summary";
+    });
+    print "\nFetched " . @{$ws_gnrefs} . " genome(s) in " . $fetcher->{calls} . " get_objects2 call(s)\n";
+    eval {
+        $self->_closeIndexSession($session);
+    };
+    if($@) {
+        print "Failed to commit the genome_feature(s)!\n";
+        print "ERROR:". Dumper( $@ );
+        my $commit_error = "Failed to commit: " . $self->_errorMessage($@);
+        foreach my $gn_summary (@{$gn_summaries}) {
+            $gn_summary->{error} = $commit_error unless $gn_summary->{error};
+        }
+    }
+    #the errors of the batches are reported on the genomes whose documents they carried
+    foreach my $gn_summary (@{$gn_summaries}) {
+        my $error = $self->_indexSessionError($session, $gn_summary->{ref});
+        $gn_summary->{error} = $error if (defined($error) && !$gn_summary->{error});
+    }
+    return $gn_summaries if $returnMode eq "summary";
+    return $keepDocs ? $solr_gnftData : [];
+}
+#
+#Internal method, returns the number of CPUs of the host, 1 if it cannot be determined
+#
+sub _cpuCount
+{
+    my ($self) = @_;
+    my $count = 0;
+    if (open(my $fh, "<", "/proc/cpuinfo")) {
+        while (my $line = <$fh>) {
+            $count++ if ($line =~ /^processor\s*:/);
+        }
+        close($fh);
+    }
+    return ($count > 0) ? $count : 1;
+}
+
+#
+#Internal method, to run $work on each of $items in forked worker processes, at most $workers at a time, and hand
+#the results to $sink in the order of the items, each as soon as it and all the items before it are done. A worker
+#stores its result in a file in the scratch directory. An item whose worker could not be started or failed is run
+#in this process, and with one worker or one item everything runs here. With a window, an item is only started once
+#it is less than window items after the one the sink is waiting for, which bounds the results waiting on disk.
+#A worker also stores the retry counters of its calls, which are added to those of this process (see _retryAdd).
+#Input: the items, the maximum number of workers, a callback taking an item and returning its result, a callback
+#taking a result and its item, a label naming the workers in messages and file names, and the optional window
+#
+sub _forkMap
+{
+    my ($self, $items, $workers, $work, $sink, $label, $window) = @_;
+    if (!$workers || $workers <= 1 || @{$items} <= 1) {
+        $sink->($work->($_), $_) foreach (@{$items});
+        return;
+    }
+
+    my $tmpdir = $self->{scratch} ? $self->{scratch} : "/tmp";
+    my $jobs = [map { {item => $items->[$_], file => "$tmpdir/$label" . "_$$" . "_$_.sto", state => "queued"} } 0 .. $#$items];
+    my $running = {};#pid => job
+    my $next_start = 0;
+    my $next_emit = 0;
+    while ($next_emit < @{$jobs}) {
+        while ($next_start < @{$jobs} && keys(%{$running}) < $workers && (!$window || $next_start - $next_emit < $window)) {
+            my $job = $jobs->[$next_start++];
+            my $pid = fork();
+            if (!defined($pid)) {
+                print "Cannot fork a $label worker: $!\n";
+                $job->{state} = "failed";
+                next;
             }
+            if ($pid == 0) {
+                #the worker leaves with _exit, which does not flush what it printed
+                $| = 1;
+                #the kept-alive SOLR connections belong to the parent
+                delete $self->{_solr_ua};
+                my $since = $self->_retryCounters();
+                my $ok = eval {
+                    my $result = $work->($job->{item});
+                    Storable::nstore([$result, $self->_retryDelta($since)], $job->{file});
+                    1;
+                };
+                POSIX::_exit($ok ? 0 : 1);
+            }
+            $job->{state} = "running";
+            $running->{$pid} = $job;
+        }
+
+        my $job = $jobs->[$next_emit];
+        if ($job->{state} eq "running") {
+            #only the workers of this map are waited for, as a sink may run a map of its own
+            foreach my $pid (keys %{$running}) {
+                my $done = $running->{$pid};
+                my $res = waitpid($pid, ($done == $job) ? 0 : POSIX::WNOHANG());
+                next if $res == 0;
+                delete $running->{$pid};
+                $done->{state} = ($res == $pid && $? == 0 && -e $done->{file}) ? "done" : "failed";
+            }
+            next;
+        }
+
+        my $stored;
+        if ($job->{state} eq "done") {
+            $stored = eval { Storable::retrieve($job->{file}) };
         }
+        unlink($job->{file}) if -e $job->{file};
+        $self->_retryAdd($stored->[1]) if $stored;
+        $sink->($stored ? $stored->[0] : $work->($job->{item}), $job->{item});
+        $next_emit++;
+    }
+}
+
+#
+#Internal method, to build the genome_feature solr object of one feature.
+#Input: the genome fields shared by all the feature objects of the genome, the Workspace.object_info of the
+#genome, the feature and its gene name
+#Output: a SolrGenomeFeatureData
+#
+sub _buildFeatureDoc
+{
+    my ($self, $gn_common, $ws_gn_info, $feature, $gene_name) = @_;
+
+    my $ws_gn_aliases;
+    if( defined($feature->{aliases})) {
+        $ws_gn_aliases = join(";", @{$feature->{aliases}});
+        $ws_gn_aliases =~s/ *; */;;/g;
+    }
+    else {
+        $ws_gn_aliases = undef;
+    }
+
+    my $ws_gn_funcs = $feature->{function};
+    $ws_gn_funcs = join(";;", split(/\s*;\s+|\s+[\@\/]\s+/, $ws_gn_funcs));
+
+    my $ws_gn_roles;
+    if( defined($feature->{roles}) ) {
+        $ws_gn_roles = join(";;", $feature->{roles});
+    }
+    else {
+        $ws_gn_roles = undef;
+    }
+    my $loc_contig = "";
+    my $loc_begin = 0;
+    my $loc_end = "";
+    my $loc_strand = "";
+
+    my $end = 0;
+    foreach my $contig_loc (@{$feature->{location}}) {
+        $loc_contig = $loc_contig . ";;" unless $loc_contig eq "";
+        $loc_contig = $loc_contig . $contig_loc->[0];
+
+        $loc_begin = $loc_begin . ";;" unless $loc_begin eq "";
+        $loc_begin = $loc_begin . $contig_loc->[1];
+
+        if( $contig_loc->[2] eq "+") {
+            $end = $contig_loc->[1] + $contig_loc->[3];
+        }
+        else {
+            $end = $contig_loc->[1] - $contig_loc->[3];
+        }
+        $loc_end = $loc_end . ";;" unless $loc_end eq "";
+        $loc_end = $loc_end . $end;
+
+        $loc_strand = $loc_strand . ";;" unless $loc_strand eq "";
+        $loc_strand = $loc_strand . $contig_loc->[2];
+    }
+
+    my $ws_gnft = {
+          #genome data (redundant)
+          %{$gn_common},
+          #feature data
+          genome_feature_id => $gn_common->{genome_id} . "|feature:" . $feature->{id},
+          object_id => "kb|ws_ref:". $gn_common->{ws_ref}. "|feature:" . $feature->{id},
+          object_name => $ws_gn_info->[1] . "|feature:" . $feature->{id},
+          object_type => $ws_gn_info->[2] . ".Feature",
+          feature_type => $feature->{type},
+          feature_id => $feature->{id},
+          functions => $ws_gn_funcs,
+          roles => $ws_gn_roles,
+          md5 => $feature->{md5},
+          gene_name => $gene_name,
+          protein_translation_length => ($feature->{protein_translation_length}) != "" ? $feature->{protein_translation_length} : 0,
+          dna_sequence_length => ($feature->{dna_sequence_length}) != "" ? $feature->{dna_sequence_length} : 0,
+          aliases => $ws_gn_aliases,
+          location_contig => $loc_contig,
+          location_strand => $loc_strand,
+          location_begin => $loc_begin,
+          location_end => $loc_end,
+          ontology_namespaces => $feature->{ontology_terms}
+    };
+    return $ws_gnft;
+}
+
+#
+#Internal method, to build the genome_feature solr objects of a genome and hand them to $sink in feature order.
+#Genomes with more than $chunkSize features are split into chunks of $chunkSize features whose objects are
+#built by forked worker processes (see _forkMap), at most feature_doc_workers (deploy.cfg; by default the number
+#of CPUs, at most 4, so a single CPU host builds them serially) at a time. The chunks are handed to $sink in order,
+#so the objects arrive exactly as the serial loop built them.
+#Input: the genome fields shared by the feature objects, the Workspace.object_info of the genome, the features,
+#their gene names (see _indexGenomeFeatureData) and a callback taking one SolrGenomeFeatureData
+#
+sub _buildFeatureDocs
+{
+    my ($self, $gn_common, $ws_gn_info, $features, $gene_names, $sink, $chunkSize) = @_;
+    $chunkSize = 5000 unless $chunkSize;
+    my $workers = $self->{feature_doc_workers};
+    if (!defined($workers) || $workers eq "") {
+        $workers = $self->_cpuCount();
+        $workers = 4 if ($workers > 4);
+    }
+    my $total = @{$features};
+
+    if ($workers <= 1 || $total <= $chunkSize) {
+        for (my $ii = 0; $ii < $total; $ii++) {
+            $sink->($self->_buildFeatureDoc($gn_common, $ws_gn_info, $features->[$ii], $gene_names->[$ii]));
+        }
+        return;
+    }
+
+    my $chunks = [];
+    for (my $from = 0; $from < $total; $from += $chunkSize) {
+        push @{$chunks}, {from => $from, to => (($from + $chunkSize < $total) ? $from + $chunkSize : $total)};
     }
-    return $solr_gnftData;
+    $self->_forkMap($chunks, $workers, sub {
+        my ($chunk) = @_;
+        my $docs = [];
+        for (my $ii = $chunk->{from}; $ii < $chunk->{to}; $ii++) {
+            my $doc = $self->_buildFeatureDoc($gn_common, $ws_gn_info, $features->[$ii], $gene_names->[$ii]);
+            #the ontology terms are the feature's own, they are put back when the chunk is handed over
+            delete $doc->{ontology_namespaces};
+            push @{$docs}, $doc;
+        }
+        return $docs;
+    }, sub {
+        my ($docs, $chunk) = @_;
+        for (my $ii = $chunk->{from}; $ii < $chunk->{to}; $ii++) {
+            my $doc = $docs->[$ii - $chunk->{from}];
+            $doc->{ontology_namespaces} = $features->[$ii]->{ontology_terms};
+            $sink->($doc);
+        }
+    }, "featuredocs");
 }
+
 #
 #internal method, for fetching one taxon record to be indexed in solr
 #
@@ -1396,7 +2220,7 @@ sub _indexInSolr
 {
     my ($self, $solrCore, $docData) = @_;
     if( @{$docData} >= 1) {
-       if( $self -> _addXML2Solr($solrCore, $docData) == 1 ) {
+       if( $self -> _addJSON2Solr($solrCore, $docData) == 1 ) {
            #commit the additions
            if (!$self->_commit($solrCore)) {
                die $self->_error->{response};
@@ -1408,8 +2232,656 @@ sub _indexInSolr
     }
 }
 
+#
+# Internal method: _openIndexSession
+# Starts an indexing session on a SOLR core. Documents added to the session are buffered and sent in batches of
+# $batch_size without the per-batch hard commit of _indexInSolr; how they become visible while the session is
+# open depends on the commit policy:
+#     soft  - every add carries commitWithin, so SOLR makes them searchable with a soft commit within
+#             $commit_within milliseconds (the default)
+#     end   - nothing is committed until the session is closed
+#     batch - a hard commit after every batch, as _indexInSolr does
+# _closeIndexSession sends what is left and issues the single hard commit that makes the session durable.
+# params:
+#   input:
+#       $solrCore: the SOLR core to index in
+#       $policy: one of soft, end and batch
+#       $batch_size: the number of documents per update request, 10000 by default
+#       $commit_within: milliseconds for the soft policy, 10000 by default
+#   output:
+#       a reference to a hash holding the session state
+#
+sub _openIndexSession
+{
+    my ($self, $solrCore, $policy, $batch_size, $commit_within) = @_;
+    $policy = "soft" unless $policy;
+    if ($policy !~ /^(soft|end|batch)$/) {
+        die "Invalid commit_policy '$policy', must be one of soft, end and batch\n";
+    }
+    return {
+        core => $solrCore,
+        policy => $policy,
+        batch_size => $batch_size ? $batch_size : 10000,
+        commit_within => $commit_within ? $commit_within : 10000,
+        pending => [],
+        evictions => [],
+        indexed_refs => {},
+        evicted => 0,
+        sent => 0,
+        requests => 0,
+        dropped => 0,
+        deletes => 0,
+        index_errors => {},
+        commit_errors => {}
+    };
+}
+
+#
+# Internal method: _indexSessionEvict
+# Queues the deletion of the documents of every version of a genome, by genome_id, except the documents of the
+# genomes with the same genome_id indexed in the session, by ws_ref; a versioned NCBI accession (GCF_/GCA_<n>.<n>)
+# matches its other versions the same way _checkGenomeStatusBatch does, and any other genome_id, e.g. kb|g.1234 or
+# 83333.1, only matches itself. It is only called with evict_superseded (see index_genomes_in_solr), once all the
+# documents of the genome were added to the session, and the deletion is only sent after they were sent, and not at
+# all if some of them could not be indexed, so it never removes the documents of a genome before its new ones are
+# in. The deletion is committed with the session, which swaps the versions of the genome with the commit.
+#
+sub _indexSessionEvict
+{
+    my ($self, $session, $genome_id, $ws_ref) = @_;
+    return unless (defined($genome_id) && $genome_id ne "" && defined($ws_ref));
+    my $base = $genome_id;
+    $base =~ s/\.\d+$// if ($genome_id =~ /^GC[AF]_\d+\.\d+$/);
+    push @{$session->{indexed_refs}->{$base}}, $ws_ref;
+    (my $term = $base) =~ s/([+\-&|!(){}\[\]^"~*?:\\\/ ])/\\$1/g;
+    push @{$session->{evictions}}, {base => $base, term => ($base ne $genome_id) ? "$term.*" : $term, ws_ref => $ws_ref};
+}
+
+#
+# Internal method: _indexSessionAdd
+# Adds documents to an indexing session, sending a batch once batch_size documents are pending.
+# The documents that cannot be indexed are dropped (see _sendIndexBatch) and their errors are kept by the ws_ref of
+# their genome, see _indexSessionError.
+#
+sub _indexSessionAdd
+{
+    my ($self, $session, $docData) = @_;
+    push @{$session->{pending}}, @{$docData};
+    $self->_flushIndexSession($session) if (@{$session->{pending}} >= $session->{batch_size});
+}
+
+#
+# Internal method: _flushIndexSession
+# Sends the pending documents of an indexing session with the update options of its commit policy, then the
+# evictions of the genomes whose documents were all among them.
+#
+sub _flushIndexSession
+{
+    my ($self, $session) = @_;
+    #the evictions queued so far are of genomes whose documents are all sent by this flush
+    my $evictions = $session->{evictions};
+    $session->{evictions} = [];
+    $self->_flushIndexSessionDocs($session);
+    $self->_sendIndexEvictions($session, [grep { !defined($session->{index_errors}->{$_->{ws_ref}}) } @{$evictions}]);
+}
+
+#
+# Internal method: _sendIndexEvictions
+# Sends the evictions of an indexing session (see _indexSessionEvict), 500 genomes per delete request, without
+# committing them. A failed deletion is reported as an error of its genomes, whose earlier documents are then kept.
+#
+sub _sendIndexEvictions
+{
+    my ($self, $session, $evictions) = @_;
+    for (my $i = 0; $i < @{$evictions}; $i += 500) {
+        my $last = ($i + 500 < @{$evictions}) ? $i + 499 : $#$evictions;
+        my @batch = @{$evictions}[$i .. $last];
+        my %refs = map { my $base = $_->{base}; map { $_ => 1 } @{$session->{indexed_refs}->{$base}} } @batch;
+        my $query = "(" . join(" OR ", map { $_->{term} } @batch) . ") AND -ws_ref:(" . join(" OR ", map { "\"$_\"" } sort keys %refs) . ")";
+        my $response = $self->_deleteRecords($session->{core}, {genome_id => $query});
+        if ($response && $self->_parseResponse($response, "json")) {
+            $session->{deletes}++;
+            $session->{evicted} += @batch;
+            next;
+        }
+        my $error = "Failed to delete the earlier documents from $session->{core}: " . ($response ? $response->{response} : $self->{errmsg});
+        print "ERROR: $error\n";
+        foreach my $eviction (@batch) {
+            $session->{index_errors}->{$eviction->{ws_ref}} = $error unless defined($session->{index_errors}->{$eviction->{ws_ref}});
+        }
+    }
+}
+
+#
+# Internal method: _flushIndexSessionDocs
+# Sends the pending documents of an indexing session, see _flushIndexSession.
+#
+sub _flushIndexSessionDocs
+{
+    my ($self, $session) = @_;
+    return if (@{$session->{pending}} == 0);
+    my $batch = $session->{pending};
+    $session->{pending} = [];
+    $self->_sendIndexBatch($session, $batch);
+    if ($session->{policy} eq "batch") {
+        if ($self->_commit($session->{core})) {
+            #a hard commit also makes the documents of the earlier batches whose commit failed durable
+            $session->{commit_errors} = {};
+        }
+        else {
+            my $error = "Failed to commit: " . $self->_error->{response};
+            print "ERROR: $error\n";
+            foreach my $doc (@{$batch}) {
+                $session->{commit_errors}->{$doc->{ws_ref}} = $error if defined($doc->{ws_ref});
+            }
+        }
+    }
+}
+
+#
+# Internal method: _indexSessionError
+# Returns the first error hit while indexing the documents of the genome with the given ws_ref in the session, or
+# undef if they were all sent and committed so far.
+#
+sub _indexSessionError
+{
+    my ($self, $session, $ws_ref) = @_;
+    return $session->{index_errors}->{$ws_ref} if defined($session->{index_errors}->{$ws_ref});
+    return $session->{commit_errors}->{$ws_ref};
+}
+
+#
+# Internal method: _sendIndexBatch
+# Sends a batch of documents of an indexing session with the update options of its commit policy. A failed update
+# is retried (see _withRetry) when SOLR is unavailable (503 or 429); once the tries are over, the batch is dropped. A batch SOLR
+# rejects (a 4xx answer) is split in two halves sent the same way, down to single documents, so one bad document
+# does not fail the others; a rejected document is dropped. A drop is reported as an error of the genomes, by ws_ref,
+# the dropped documents belong to.
+#
+sub _sendIndexBatch
+{
+    my ($self, $session, $batch) = @_;
+    my $options = {commit => 0};
+    $options->{commitWithin} = $session->{commit_within} if ($session->{policy} eq "soft");
+    my $code;
+    my $ok = eval {
+        $self->_withRetry("solr", "indexing ".@{$batch}." document(s) in ".$session->{core}, sub {
+            return $self->_addJSON2Solr($session->{core}, $batch, $options);
+        }, {
+            retry_on => sub {
+                return undef if ($_[0] == 1);
+                $code = $self->{error}->{responsecode};
+                #the documents are only sent again when SOLR did not take them, see _sendRequest
+                return ($code == 503 || $code == 429) ? "HTTP $code" : undef;
+            }
+        });
+    };
+    $session->{requests}++;
+    if ($ok && $ok == 1) {
+        $session->{sent} += @{$batch};
+        return;
+    }
+    if (defined($code) && $code >= 400 && $code < 500 && @{$batch} > 1) {
+        my $half = int(@{$batch} / 2);
+        print "Splitting the rejected batch of ".@{$batch}." documents\n";
+        $self->_sendIndexBatch($session, [@{$batch}[0 .. $half - 1]]);
+        $self->_sendIndexBatch($session, [@{$batch}[$half .. $#$batch]]);
+        return;
+    }
+    my $reason = $@ ? $self->_errorMessage($@) : ($self->{error} ? "HTTP ".$self->{error}->{responsecode}.": ".$self->{error}->{response} : "unknown error");
+    chomp($reason);
+    my $what = (@{$batch} == 1) ? "document ".$batch->[0]->{object_id} : @{$batch}." document(s)";
+    print "ERROR: dropped $what not indexed in ".$session->{core}.": $reason\n";
+    $session->{dropped} += @{$batch};
+    foreach my $doc (@{$batch}) {
+        next unless defined($doc->{ws_ref});
+        $session->{index_errors}->{$doc->{ws_ref}} = "Dropped $what: $reason" unless defined($session->{index_errors}->{$doc->{ws_ref}});
+    }
+}
+
+#
+# Internal method: _closeIndexSession
+# Sends the documents still pending and issues the final hard commit of the session.
+#
+sub _closeIndexSession
+{
+    my ($self, $session) = @_;
+    $self->_flushIndexSession($session);
+    if (($session->{requests} > 0 || $session->{deletes} > 0) && !$self->_commit($session->{core})) {
+        die $self->_error->{response};
+    }
+    $session->{commit_errors} = {};
+    print "\nIndexed " . $session->{sent} . " document(s) in " . $session->{requests} . " request(s) in " . $session->{core} . " with commit_policy " . $session->{policy} . ", " . $session->{dropped} . " dropped\n";
+    print "Deleted the earlier documents of " . $session->{evicted} . " genome(s) in " . $session->{deletes} . " request(s)\n" if $session->{deletes} > 0;
+}
+
 #################### End subs for accessing SOLR #######################
 
+#################### Start subs for batched workspace saves ########################
+
+#
+# Internal method: _openSaveBatcher
+# Starts a batcher that saves workspace objects with multi-object save_objects calls instead of one call per object.
+# Objects are added with _saveBatcherAdd and saved once the batch reaches max_count objects or max_bytes bytes of
+# data. A failed call is retried up to retries times (see _withRetry); if it still fails, or if the workspace
+# rejected one of its objects ("Object #n ..."), which no retry fixes, the batch is split in two halves saved in order
+# the same way, down to single objects, so one bad object does not fail the others. An object whose dependency
+# failed is failed without a call.
+# params:
+#   input:
+#       $workspace: the name of the workspace the objects are saved in
+#       $opts: a hash with max_count, max_bytes, retries and the callbacks
+#              on_saved($object_info, $context) and on_failed($error, $context) called for every object
+#   output:
+#       a reference to a hash holding the batcher state
+#
+sub _openSaveBatcher
+{
+    my ($self, $workspace, $opts) = @_;
+    return {
+        workspace => $workspace,
+        max_count => $opts->{max_count} ? $opts->{max_count} : 1000,
+        max_bytes => $opts->{max_bytes} ? $opts->{max_bytes} : 20000000,
+        retries => defined($opts->{retries}) ? $opts->{retries} : 2,
+        on_saved => $opts->{on_saved},
+        on_failed => $opts->{on_failed},
+        json => JSON->new,
+        pending => [],
+        pending_bytes => 0,
+        pending_keys => {},
+        failed_keys => {},
+        calls => 0,
+        saved => 0,
+        failed => 0
+    };
+}
+
+#
+# Internal method: _saveBatcherAdd
+# Adds an object (an ObjectSaveData) to the batch, with the $context passed to the callbacks. $key names the object
+# in the batch and $depends_on the key of an object it refers to: the workspace resolves references when the call is
+# made, so the batch is saved first if the object it refers to is still pending.
+#
+sub _saveBatcherAdd
+{
+    my ($self, $batcher, $object, $context, $key, $depends_on) = @_;
+    if (defined($depends_on) && exists($batcher->{pending_keys}->{$depends_on})) {
+        $self->_flushSaveBatcher($batcher);
+    }
+    if (defined($depends_on) && exists($batcher->{failed_keys}->{$depends_on})) {
+        $batcher->{failed}++;
+        $batcher->{failed_keys}->{$key} = 1 if defined($key);
+        $batcher->{on_failed}->("$depends_on was not saved", $context) if $batcher->{on_failed};
+        return;
+    }
+    my $bytes = length($batcher->{json}->encode($object->{data}));
+    if (@{$batcher->{pending}} > 0 && $batcher->{pending_bytes} + $bytes > $batcher->{max_bytes}) {
+        $self->_flushSaveBatcher($batcher);
+    }
+    push(@{$batcher->{pending}}, [$object, $context, $key]);
+    $batcher->{pending_bytes} += $bytes;
+    $batcher->{pending_keys}->{$key} = 1 if defined($key);
+    $self->_flushSaveBatcher($batcher) if (@{$batcher->{pending}} >= $batcher->{max_count});
+}
+
+#
+# Internal method: _flushSaveBatcher
+# Saves the pending objects.
+#
+sub _flushSaveBatcher
+{
+    my ($self, $batcher) = @_;
+    my $batch = $batcher->{pending};
+    $batcher->{pending} = [];
+    $batcher->{pending_bytes} = 0;
+    $batcher->{pending_keys} = {};
+    $self->_saveBatch($batcher, $batch) if @$batch;
+}
+
+#
+# Internal method: _saveBatch
+# Saves a batch of [object, context, key] items with one save_objects call, retrying and splitting it on failure.
+# save_objects saves all the objects of a call or none, and saving an object again makes a new version of it, so the
+# batch is only sent again, whole or split, after a failure that leaves nothing saved: an object the workspace
+# rejects (Object #n), or a call that never reached it. After any other failure, e.g. a timeout, the objects may be
+# saved already, so they are all reported as failed and saved again by the next load.
+#
+sub _saveBatch
+{
+    my ($self, $batcher, $batch) = @_;
+    my $infos;
+    eval {
+        $infos = $self->_withRetry("workspace", "saving ".@$batch." object(s) in ".$batcher->{workspace}, sub {
+            $batcher->{calls}++;
+            return $self->util_ws_client()->save_objects({workspace => $batcher->{workspace},
+                                                          objects => [map { $_->[0] } @$batch]});
+        }, {attempts => $batcher->{retries} + 1, permanent => qr/Object #\d+/, transient => $self->{_UNSENT_ERRORS}});
+    };
+    my $error = $@;
+    if (!$error) {
+        for (my $i = 0; $i < @$batch; $i++) {
+            $batcher->{saved}++;
+            $batcher->{on_saved}->($infos->[$i], $batch->[$i]->[1]) if $batcher->{on_saved};
+        }
+    }
+    elsif (@$batch > 1 && $self->_errorMessage($error) =~ /Object #\d+|$self->{_UNSENT_ERRORS}/) {
+        my $half = int(@$batch / 2);
+        print "Splitting the batch of ".@$batch." objects\n";
+        $self->_saveBatch($batcher, [@{$batch}[0 .. $half - 1]]);
+        $self->_saveBatch($batcher, [@{$batch}[$half .. $#$batch]]);
+    }
+    else {
+        foreach my $item (@$batch) {
+            $batcher->{failed}++;
+            $batcher->{failed_keys}->{$item->[2]} = 1 if defined($item->[2]);
+            $batcher->{on_failed}->($error, $item->[1]) if $batcher->{on_failed};
+        }
+    }
+}
+
+#
+# Internal method: _closeSaveBatcher
+# Saves the objects still pending and reports the totals.
+#
+sub _closeSaveBatcher
+{
+    my ($self, $batcher) = @_;
+    $self->_flushSaveBatcher($batcher);
+    print "Saved ".$batcher->{saved}." object(s) in ".$batcher->{workspace}." with ".$batcher->{calls}." save_objects call(s), ".$batcher->{failed}." failed\n";
+}
+
+#################### End subs for batched workspace saves ########################
+
+#################### Start subs for the parent taxon cache ########################
+#
+#_check_taxon only needs the taxonomy_id of the current parent of a taxon, and millions of taxa share a few hundred
+#thousand parents, so these ids are kept in a bounded LRU cache keyed by workspace ref, for the life of the service.
+#Refs missing from the cache are fetched in multi-ref get_objects2 calls that transfer only the taxonomy_id.
+#
+
+#
+# Internal method: _parentTaxonCache
+# Returns the cache, created on first use with room for parent-taxon-cache-size (deploy.cfg) ids, 100000 by default.
+#
+sub _parentTaxonCache
+{
+    my ($self) = @_;
+    unless (defined($self->{_parent_taxon_cache})) {
+        my $max = $self->{parent_taxon_cache_size};
+        $max = 100000 unless (defined($max) && $max > 0);
+        $self->{_parent_taxon_cache} = {
+            max => $max,
+            entries => {},
+            tick => 0,
+            hits => 0,
+            misses => 0,
+            calls => 0
+        };
+    }
+    return $self->{_parent_taxon_cache};
+}
+
+#
+# Internal method: _parentTaxonIds
+# Returns a hash of ref => taxonomy_id for the given taxon refs, taking the ids from the cache and fetching the
+# missing ones $batch_size (1000 by default) at a time. Refs that cannot be read are left out of the hash.
+#
+sub _parentTaxonIds
+{
+    my ($self, $refs, $batch_size) = @_;
+    $batch_size = 1000 unless $batch_size;
+    my $cache = $self->_parentTaxonCache();
+    my $entries = $cache->{entries};
+    my $ids = {};
+    my @missing = ();
+    foreach my $ref (@$refs) {
+        next if exists($ids->{$ref});
+        my $entry = $entries->{$ref};
+        if (defined($entry)) {
+            $entry->[1] = ++$cache->{tick};
+            $ids->{$ref} = $entry->[0];
+            $cache->{hits}++;
+        }
+        else {
+            $ids->{$ref} = undef;
+            push(@missing, $ref);
+            $cache->{misses}++;
+        }
+    }
+    for (my $i = 0; $i < @missing; $i += $batch_size) {
+        my $last = ($i + $batch_size < @missing) ? $i + $batch_size - 1 : $#missing;
+        my $objs = [];
+        eval {
+            $objs = $self->_withRetry("workspace", "get_objects2 of ".($last - $i + 1)." parent taxa", sub {
+                $cache->{calls}++;
+                return $self->util_ws_client()->get_objects2({
+                    objects => [map { {"ref" => $_, "included" => ["/taxonomy_id"]} } @missing[$i..$last]],
+                    ignoreErrors => 1
+                })->{data};
+            });
+        };
+        print "ERROR: cannot get the parent taxa: ".$self->_errorMessage($@)."\n" if $@;
+        for (my $j = $i; $j <= $last; $j++) {
+            my $obj = $objs->[$j - $i];
+            next unless (defined($obj) && defined($obj->{data}{'taxonomy_id'}));
+            $ids->{$missing[$j]} = $obj->{data}{'taxonomy_id'};
+            $entries->{$missing[$j]} = [$obj->{data}{'taxonomy_id'}, ++$cache->{tick}];
+        }
+    }
+    delete $ids->{$_} foreach (grep { !defined($ids->{$_}) } keys %$ids);
+    $self->_trimParentTaxonCache($cache);
+    return $ids;
+}
+
+#
+# Internal method: _trimParentTaxonCache
+# Once the cache is over its size, drops the least recently used ids down to 90% of it, so that the sort is paid
+# once per tenth of the cache rather than on every insert.
+#
+sub _trimParentTaxonCache
+{
+    my ($self, $cache) = @_;
+    my $entries = $cache->{entries};
+    return if (keys(%$entries) <= $cache->{max});
+    my @refs = sort { $entries->{$a}->[1] <=> $entries->{$b}->[1] } keys %$entries;
+    my $keep = int($cache->{max} * 0.9);
+    delete @{$entries}{@refs[0 .. $#refs - $keep]};
+}
+
+#
+# Internal method: _parentTaxonCacheStats
+# Returns a one-line summary of the cache counters.
+#
+sub _parentTaxonCacheStats
+{
+    my ($self) = @_;
+    my $cache = $self->_parentTaxonCache();
+    return "parent taxon cache: ".$cache->{hits}." hit(s), ".$cache->{misses}." miss(es), ".$cache->{calls}.
+        " get_objects2 call(s), ".scalar(keys %{$cache->{entries}})." of ".$cache->{max}." id(s) cached";
+}
+
+#################### End subs for the parent taxon cache ########################
+
+#################### Start subs for checkpoints ########################
+
+#
+# Internal method: _openCheckpoint
+# Opens the checkpoint of a resumable run. A checkpoint is an append-only file in the scratch directory with
+# one "key<TAB>outcome" line per unit of work, written as soon as that unit is done, so a run that is
+# interrupted can be restarted with the same token and skip everything already recorded.
+# params:
+#   input:
+#       $name: the name of the run, used as prefix of generated tokens, e.g. "update_loaded_genomes"
+#       $token: the resume token; a new one is generated if not given
+#   output:
+#       a reference to a hash with {token}, {file}, {done} (key => outcome of the recorded units) and
+#       {last} (the key recorded last)
+#
+sub _openCheckpoint
+{
+    my ($self, $name, $token) = @_;
+    if ($token) {
+        die "Invalid resume token '$token', only letters, digits, '_', '-' and '.' are allowed\n" unless $token =~ /^[\w.-]+$/;
+    }
+    else {
+        $token = $name . "_" . POSIX::strftime("%Y%m%d%H%M%S", localtime) . "_" . $$;
+    }
+    my $dir = $self->{scratch} . "/checkpoints";
+    mkdir($dir) unless -d $dir;
+    my $file = "$dir/$token.ckpt";
+    my $checkpoint = {token => $token, file => $file, done => {}, last => undef};
+    if (-e $file) {
+        open(my $in, "<", $file) or die "Cannot read checkpoint $file: $!\n";
+        while (my $line = <$in>) {
+            chomp $line;
+            next if $line eq "";
+            my ($key, $outcome) = split(/\t/, $line);
+            $checkpoint->{done}->{$key} = $outcome;
+            $checkpoint->{last} = $key;
+        }
+        close($in);
+    }
+    open(my $out, ">>", $file) or die "Cannot write checkpoint $file: $!\n";
+    my $prev = select($out);
+    $| = 1;
+    select($prev);
+    $checkpoint->{fh} = $out;
+    return $checkpoint;
+}
+
+#
+# Internal method: _checkpointDone
+# Returns true if the unit of work $key is recorded in the checkpoint with an outcome other than "failed".
+#
+sub _checkpointDone
+{
+    my ($self, $checkpoint, $key) = @_;
+    my $outcome = $checkpoint->{done}->{$key};
+    return (defined($outcome) && $outcome ne "failed") ? 1 : 0;
+}
+
+#
+# Internal method: _checkpointCommit
+# Records the outcome of the unit of work $key in the checkpoint; the line is flushed immediately.
+#
+sub _checkpointCommit
+{
+    my ($self, $checkpoint, $key, $outcome) = @_;
+    print {$checkpoint->{fh}} "$key\t$outcome\n";
+    $checkpoint->{done}->{$key} = $outcome;
+    $checkpoint->{last} = $key;
+}
+
+#
+# Internal method: _closeCheckpoint
+#
+sub _closeCheckpoint
+{
+    my ($self, $checkpoint) = @_;
+    close($checkpoint->{fh}) if $checkpoint->{fh};
+    delete $checkpoint->{fh};
+}
+
+#################### End subs for checkpoints ########################
+
+#################### Start subs for running GenomeFileUtil jobs ########################
+
+#
+# Internal method: _runGenomeFileUtilJobs
+# Runs a list of GenomeFileUtil jobs through its asynchronous interface (_<method>_submit and _check_job),
+# keeping at most $max_parallel jobs running at the same time. Every running job is polled on its own
+# schedule with the same back-off as the synchronous client methods, so a slow job does not hold up the
+# polling of the others. $callback is called in the main process as soon as each job is done, which lets
+# the caller work on finished jobs (e.g. index them) while the remaining jobs are still running.
+# params:
+#   input:
+#       $loader: a GenomeFileUtil::GenomeFileUtilClient
+#       $method: the GenomeFileUtil method name, e.g. "genbank_to_genome"
+#       $jobs: a reference to a list of hashes, each with the method parameters in {params} and a {label}
+#              for logging; all other keys are left for the caller
+#       $max_parallel: the maximum number of jobs running at the same time {default => 1}
+#       $callback: sub($job, $result, $error), called once per job with either the first element of the
+#                  method result or the error
+#   output:
+#       none
+#
+sub _runGenomeFileUtilJobs
+{
+    my ($self, $loader, $method, $jobs, $max_parallel, $callback) = @_;
+    $max_parallel = 1 unless $max_parallel && $max_parallel > 0;
+    my $submit = "_" . $method . "_submit";
+
+    my $running = [];
+    my $next = 0;
+    my $start_jobs = sub {
+        while (@{$running} < $max_parallel && $next < @{$jobs}) {
+            my $job = $jobs->[$next++];
+            print "\nNow loading " . $job->{label} . " with loader url=" . $loader->{url} . " on " . scalar localtime . "\n";
+            eval {
+                $job->{job_id} = $loader->$submit($job->{params});
+            };
+            if ($@) {
+                $callback->($job, undef, $@);
+                next;
+            }
+            $job->{check_time} = $loader->{async_job_check_time};
+            $job->{check_at} = Time::HiRes::time() + $job->{check_time};
+            push(@{$running}, $job);
+        }
+    };
+
+    $start_jobs->();
+    while (@{$running} > 0) {
+        my $check_at = undef;
+        foreach my $job (@{$running}) {
+            $check_at = $job->{check_at} if !defined($check_at) || $job->{check_at} < $check_at;
+        }
+        my $wait = $check_at - Time::HiRes::time();
+        Time::HiRes::sleep($wait) if $wait > 0;
+
+        my $done = [];
+        my $still_running = [];
+        foreach my $job (@{$running}) {
+            if ($job->{check_at} > Time::HiRes::time()) {
+                push(@{$still_running}, $job);
+                next;
+            }
+            my $job_state;
+            eval {
+                $job_state = $loader->_check_job($job->{job_id});
+            };
+            if ($@) {
+                push(@{$done}, [$job, undef, $@]);
+            }
+            elsif ($job_state->{finished} != 0) {
+                if (defined($job_state->{error})) {
+                    push(@{$done}, [$job, undef, $job_state->{error}]);
+                }
+                else {
+                    my $result = exists($job_state->{result}) ? $job_state->{result}->[0] : undef;
+                    push(@{$done}, [$job, $result, undef]);
+                }
+            }
+            else {
+                $job->{check_time} *= $loader->{async_job_check_time_scale_percent} / 100.0;
+                if ($job->{check_time} > $loader->{async_job_check_max_time}) {
+                    $job->{check_time} = $loader->{async_job_check_max_time};
+                }
+                $job->{check_at} = Time::HiRes::time() + $job->{check_time};
+                push(@{$still_running}, $job);
+            }
+        }
+        $running = $still_running;
+        #refill the free slots before handling the finished jobs so that the imports keep running meanwhile
+        $start_jobs->();
+        foreach my $d (@{$done}) {
+            $callback->(@{$d});
+        }
+    }
+}
+
+#################### End subs for running GenomeFileUtil jobs ########################
+
 #################### Start subs for accessing NCBI ########################
 
 #
@@ -1439,6 +2911,7 @@ sub _list_ncbi_refseq
         $count = 0;
         my $assembly_summary_url = "ftp://ftp.ncbi.nlm.nih.gov/genomes/".$source."/".$dvsn."/assembly_summary.txt";
         my $assemblies = [`wget -q -O - $assembly_summary_url`];
+        my $dvsn_genomes = [];
     
         foreach my $entry (@{$assemblies}) {
             $count++;
@@ -1461,20 +2934,25 @@ sub _list_ncbi_refseq
             $current_genome->{refseq_category} = $attribs[4];
             $current_genome->{tax_id} = $attribs[5];
         
-            if( $update_only == 1 ) {
-                my $gn_solr_core = "GenomeFeatures_prod";
-                if( ($self->_checkGenomeStatus( $current_genome, $gn_solr_core ))=~/(new|updated)/i ) {
-                    push(@{$output},$current_genome);
-                }
-            }
-            else {
-                push(@{$output},$current_genome);
-            }
+            push(@{$dvsn_genomes},$current_genome);
 
             if ($count <= 10) {
                 $msg .= $current_genome->{accession}.";".$current_genome->{status}.";".$current_genome->{name}.";".$current_genome->{ftp_dir}.";".$current_genome->{file}.";".$current_genome->{id}.";".$current_genome->{version}.";".$current_genome->{source}.";".$current_genome->{domain}."\n";
             }
         }
+
+        if( $update_only == 1 ) {
+            my $gn_solr_core = "GenomeFeatures_prod";
+            my $gn_statuses = $self->_checkGenomeStatusBatch( $dvsn_genomes, $gn_solr_core );
+            for (my $i = 0; $i < @{$dvsn_genomes}; $i++) {
+                if( $gn_statuses->[$i]->{status} ne "present" ) {
+                    push(@{$output},$dvsn_genomes->[$i]);
+                }
+            }
+        }
+        else {
+            push(@{$output},@{$dvsn_genomes});
+        }
         #print Dumper($output->[@{$output} - 1]);
     }
     return({msg => $msg, ref_genomes => $output});
@@ -1482,6 +2960,23 @@ sub _list_ncbi_refseq
 
 #################### End subs for accessing NCBI ########################
 
+#
+# Internal method: _readTaxaFile
+# Reads the taxa written by TaxonomyEngine, one JSON object per line ordered by level, which have the fields of the
+# taxa returned by _extract_ncbi_taxa.
+#
+sub _readTaxaFile {
+    my ($self, $file) = @_;
+    open(my $fh, "<:encoding(UTF-8)", $file) or die "Cannot read taxa file $file: $!\n";
+    my $taxa = [];
+    while (my $line = <$fh>) {
+        next if $line =~ /^\s*$/;
+        push(@$taxa, JSON::from_json($line));
+    }
+    close($fh);
+    return $taxa;
+}
+
 sub _extract_ncbi_taxa {
     my $self=shift;
     my $args = shift;
@@ -1615,7 +3110,7 @@ sub _make_lineage {
 
 sub _check_taxon {
     my $self=shift;
-    my ($new_taxon,$current_taxon)=@_;
+    my ($new_taxon,$current_taxon,$parent_ids)=@_;
 
     my @Mismatches=();
     my @Fields_to_Check = ('parent_taxon_ref','rank','domain','scientific_name','scientific_lineage');
@@ -1627,13 +3122,11 @@ sub _check_taxon {
 		if(!defined($new_taxon->{'parent_taxon_id'})){
 		    push(@Mismatches,"Taxon ".$new_taxon->{'taxonomy_id'}." does not contain parent taxon, but current taxon does");
 		}else{
-		    $parent_taxon = $self->{_wsclient}->get_objects2({objects=>[{"ref" => $parent_taxon}],ignoreErrors=>1})->{data};
-		    if(scalar(@$parent_taxon)){
-			$parent_taxon=$parent_taxon->[0]{data};
-		    }else{
+		    #the ids of the parents may come from a batch lookup done by the caller, see _parentTaxonIds
+		    $parent_ids = $self->_parentTaxonIds([$parent_taxon]) unless (defined($parent_ids) && exists($parent_ids->{$parent_taxon}));
+		    if(!exists($parent_ids->{$parent_taxon})){
 			push(@Mismatches,"Taxon ".$new_taxon->{'taxonomy_id'}." and current taxon contain parent taxon, but cannot retrieve current parent taxon");
-		    }
-		    if($parent_taxon->{'taxonomy_id'} != $new_taxon->{'parent_taxon_id'}){
+		    }elsif($parent_ids->{$parent_taxon} != $new_taxon->{'parent_taxon_id'}){
 			push(@Mismatches,"Taxon ".$new_taxon->{'taxonomy_id'}." parent taxon id does not match current parent taxon id");
 		    }
 		}
@@ -1649,6 +3142,96 @@ sub _check_taxon {
     return \@Mismatches;
 }
 
+#
+# Internal method: _taxonFingerprint
+# Returns the fingerprint of a taxon extracted by _extract_ncbi_taxa: a hash over all the fields of the taxon but its
+# id, i.e. every field load_taxons saves in the workspace object, the parent taxon (its id, from which
+# parent_taxon_ref is made) and the aliases included. A taxon whose fingerprint did not change since the last load
+# is not saved again.
+#
+sub _taxonFingerprint {
+    my ($self, $taxon) = @_;
+    my @fields;
+    foreach my $field (sort keys %$taxon) {
+        next if $field eq 'taxonomy_id';
+        my $value = $taxon->{$field};
+        $value = join("\x1f", map { defined($_) ? $_ : "" } @$value) if ref($value) eq 'ARRAY';
+        push(@fields, $field."=".(defined($value) ? $value : ""));
+    }
+    my $data = join("\t", @fields);
+    utf8::encode($data) if utf8::is_utf8($data);
+    return substr(Digest::MD5::md5_hex($data), 0, 16);
+}
+
+#
+# Internal method: _readTaxonFingerprints
+# Reads a fingerprint file, one "taxonomy_id<TAB>fingerprint" line per taxon, into a hash; empty if there is no file.
+#
+sub _readTaxonFingerprints {
+    my ($self, $file) = @_;
+    my $fingerprints = {};
+    return $fingerprints unless -e $file;
+    open(my $fh, "<", $file) or die "Cannot read taxon fingerprints $file: $!\n";
+    while (my $line = <$fh>) {
+        chomp $line;
+        my ($id, $fp) = split(/\t/, $line);
+        $fingerprints->{$id} = $fp if defined($fp);
+    }
+    close($fh);
+    return $fingerprints;
+}
+
+#
+# Internal method: _writeTaxonFingerprints
+# Writes the fingerprints of the taxa of a load, through a temporary file so an interrupted write keeps the old file.
+#
+sub _writeTaxonFingerprints {
+    my ($self, $file, $fingerprints) = @_;
+    open(my $fh, ">", "$file.tmp") or die "Cannot write taxon fingerprints $file.tmp: $!\n";
+    foreach my $id (sort { $a <=> $b } keys %$fingerprints) {
+        print $fh $id, "\t", $fingerprints->{$id}, "\n";
+    }
+    close($fh) or die "Cannot write taxon fingerprints $file.tmp: $!\n";
+    rename("$file.tmp", $file) or die "Cannot rename $file.tmp to $file: $!\n";
+}
+
+#
+# Internal method: _diffTaxa
+# Compares the taxa of a dump with the fingerprints of the previous load.
+# Input: the taxa from _extract_ncbi_taxa and the previous fingerprints (consumed); with $partial the taxa are only
+#        a part of the taxonomy and those not listed keep their previous fingerprints instead of being deleted
+# Output: a hash with {changed}, the added and changed taxa in the order of the dump as [taxon, previous fingerprint],
+#         {deleted}, the ids of the taxa no longer in the dump, {fingerprints}, those of all the taxa of the dump,
+#         and the counts {added} and {updated}
+#
+sub _diffTaxa {
+    my ($self, $taxa, $previous, $partial) = @_;
+    my $diff = {changed => [], deleted => [], fingerprints => {}, added => 0, updated => 0};
+    foreach my $taxon (@$taxa) {
+        my $id = $taxon->{'taxonomy_id'};
+        my $fp = $self->_taxonFingerprint($taxon);
+        $diff->{fingerprints}->{$id} = $fp;
+        my $old = delete $previous->{$id};
+        if (!defined($old)) {
+            $diff->{added}++;
+        }
+        elsif ($old eq $fp) {
+            next;
+        }
+        else {
+            $diff->{updated}++;
+        }
+        push(@{$diff->{changed}}, [$taxon, $old]);
+    }
+    if ($partial) {
+        $diff->{fingerprints}->{$_} = $previous->{$_} foreach (keys %$previous);
+    }
+    else {
+        $diff->{deleted} = [sort { $a <=> $b } keys %$previous];
+    }
+    return $diff;
+}
+
 #END_HEADER
 
 sub new
@@ -1674,6 +3257,27 @@ sub new
     $self->{_AUTOCOMMIT} = 0;
     $self->{_CT_XML} = { Content_Type => 'text/xml; charset=utf-8' };
     $self->{_CT_JSON} = { Content_Type => 'text/json'};
+    $self->{_CT_JSON_UPDATE} = { Content_Type => 'application/json; charset=utf-8' };
+
+    #retry parameters for the workspace and SOLR calls, see _withRetry
+    $self->{_RETRY} = {
+        attempts => 4,
+        base_delay => 0.5,
+        max_delay => 30,
+        failure_threshold => 5,
+        cooldown => 15,
+        budget_ratio => 0.2,
+        budget_min => 10
+    };
+    #the errors of a call that did not reach the server (no connection) or that the server or its proxy refused
+    #before handling it (503), which are the only ones a write that is not idempotent is retried on
+    $self->{_UNSENT_ERRORS} = qr/Can't connect|Connection refused|\b503\b/;
+
+    #the genome fields the genome_feature documents repeat from their genome document, which they are linked to by
+    #genome_id and ws_ref; with the linked doc_layout they are only in the genome document, see _joinGenomeFields
+    $self->{_GENOME_DOC_FIELDS} = [qw(genome_source_id genome_source genetic_code domain scientific_name genome_dna_size
+                                      num_contigs assembly_ref gc_content complete taxonomy taxonomy_ref workspace_name
+                                      num_cds save_date)];
 
     #END_CONSTRUCTOR
 
@@ -1832,6 +3436,7 @@ ListLoadedGenomesParams is a reference to a hash where the following keys are de
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
 bool is an int
 LoadedReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -1865,6 +3470,7 @@ ListLoadedGenomesParams is a reference to a hash where the following keys are de
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
 bool is an int
 LoadedReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -1919,7 +3525,8 @@ sub list_loaded_genomes
         phytozome => 0,
         refseq => 1,
         create_report => 0,
-        workspace_name => undef
+        workspace_name => undef,
+        max_parallel => 4
     });
     my $msg = "";
     my $output = [];
@@ -1941,24 +3548,35 @@ sub list_loaded_genomes
             my $pages = ceil($maxid/$batch_count);
             print "\nMax genome object id=$maxid\n";
 
-            for (my $m = 0; $m < $pages; $m++) {
+            #all the genomes are listed and told apart below by their Source metadata: a meta filter of
+            #list_objects only matches a whole value, and the genomes of a source have Sources that contain its name
+            #pages are listed by up to max_parallel forked workers and handed over in order, see _forkMap
+            $self->_forkMap([0 .. $pages - 1], $params->{max_parallel}, sub {
+                my ($m) = @_;
+                my $page;
                 eval {
-                    $wsoutput = $self->util_ws_client()->list_objects({
-                          workspaces => [$wsname],
-                          minObjectID => $batch_count * $m + 1,
-                          type => $obj_type,
-                          maxObjectID => $batch_count * ( $m + 1),
-                          includeMetadata => 1
-                      });
+                    $page = $self->_withRetry("workspace", "list_objects of page $m", sub {
+                        return $self->util_ws_client()->list_objects({
+                              workspaces => [$wsname],
+                              minObjectID => $batch_count * $m + 1,
+                              type => $obj_type,
+                              maxObjectID => $batch_count * ( $m + 1),
+                              includeMetadata => 1
+                          });
+                    });
                  };
                  if($@) {
                         print "Cannot list objects!\n";
                         print "ERROR:" . $@;#->{message}."\n";
-                        if(defined($@->{status_line})) {
+                        if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
                             print "ERROR:" . $@->{status_line}."\n";
                         }
+                        return undef;
                  }
-                 else {
+                 return $page;
+            }, sub {
+                 ($wsoutput) = @_;
+                 if(defined($wsoutput)) {
                     print "\nTotal genome object count=" . @{$wsoutput}. "\n";
                     my $ws_objinfo;
                     my $obj_src;
@@ -2003,7 +3621,7 @@ sub list_loaded_genomes
                         }
                     }
                 }
-            }
+            }, "listgenomes");
         }
     }
     if ($params->{create_report}) {
@@ -2047,6 +3665,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -2101,6 +3722,9 @@ ListSolrDocsParams is a reference to a hash where the following keys are defined
 	row_start has a value which is an int
 	row_count has a value which is an int
 	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
 bool is an int
 SolrGenomeFeatureData is a reference to a hash where the following keys are defined:
 	genome_feature_id has a value which is a string
@@ -2180,14 +3804,19 @@ sub list_solr_genomes
         row_start => 0,
         row_count => 100,
         group_option => "",
-        create_report => 0
+        create_report => 0,
+        fields => [],
+        join_genome_fields => 0
     });
 
     $output = [];
     my $msg = "";
     my $solrout;
     my $solrCore = $params -> {solr_core};
-    my $fields = "*";
+    my $fields = @{$params -> {fields}} ? join(",", @{$params -> {fields}}) : "*";
+    #the genome fields are joined in by ws_ref, see _joinGenomeFields
+    my $joinRef = ($params -> {join_genome_fields} && @{$params -> {fields}} && !grep { $_ eq "ws_ref" } @{$params -> {fields}});
+    $fields .= ",ws_ref" if $joinRef;
     my $startRow = $params -> {row_start};
     my $topRows = $params -> {row_count};
     my $grpOpt = $params -> {group_option}; #"genome_id";
@@ -2198,13 +3827,20 @@ sub list_solr_genomes
     if($@) {
         print "Cannot list genomes in SOLR information!\n";
         print "ERROR:".$@;
-        if(defined($@->{status_line})) {
+        if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
             print $@->{status_line}."\n";
         }
     }
     else {
         #print "\nList of genomes: \n" . Dumper($solrout) . "\n";  
         $output = ($grpOpt eq "") ? $solrout->{response}->{response}->{docs} : $solrout->{response}->{grouped}->{$grpOpt}->{groups};
+        if ($params -> {join_genome_fields}) {
+            my $docs = ($grpOpt eq "") ? $output : [map { @{$_->{doclist}->{docs}} } @{$output}];
+            $self->_joinGenomeFields($solrCore, $docs, $params -> {fields});
+            if ($joinRef) {
+                delete $_->{ws_ref} foreach (@{$docs});
+            }
+        }
 
         if (@{$output} < 10) {
             my $curr = @{$output}-1;
@@ -2245,6 +3881,8 @@ LoadGenomesParams is a reference to a hash where the following keys are defined:
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
+	batch_size has a value which is an int
 ReferenceGenomeData is a reference to a hash where the following keys are defined:
 	accession has a value which is a string
 	version_status has a value which is a string
@@ -2283,6 +3921,8 @@ LoadGenomesParams is a reference to a hash where the following keys are defined:
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	max_parallel has a value which is an int
+	batch_size has a value which is an int
 ReferenceGenomeData is a reference to a hash where the following keys are defined:
 	accession has a value which is a string
 	version_status has a value which is a string
@@ -2342,8 +3982,12 @@ sub load_genomes
         genomes => [],
         index_in_solr => 0,
         create_report => 0,
-        workspace_name => undef
+        workspace_name => undef,
+        max_parallel => 4,
+        batch_size => 100
     });
+    $params->{max_parallel} = 1 if $params->{max_parallel} < 1;
+    $params->{batch_size} = 1 if $params->{batch_size} < 1;
     my $loader = new GenomeFileUtil::GenomeFileUtilClient($ENV{ SDK_CALLBACK_URL }, ('service_version'=>'dev', 'async_version' => 'dev'));#should remove this service=ver parameter when master is done.
     #my $loader = new GenomeFileUtil::GenomeFileUtilClient($ENV{ SDK_CALLBACK_URL });
     my $ncbigenomes;
@@ -2365,9 +4009,10 @@ sub load_genomes
         $ncbigenomes = $params->{genomes};
     }
 
+    my $results = [];#loaded genomes by position in $ncbigenomes, so that the output keeps the input order
+    my $gfu_jobs = [];
     for (my $i=0; $i < @{$ncbigenomes}; $i++) {
         my $ncbigenome = $ncbigenomes->[$i];
-        print "\n******************Genome#: $i ********************";
         my $wsname = "";
         if(defined( $ncbigenome->{workspace_name}))
         {
@@ -2384,13 +4029,14 @@ sub load_genomes
         elsif($ncbigenome->{refseq_category} eq "representative genome") {
            $gn_type = "Representative";
         }
-        print "\nNow loading ".$ncbigenome->{id}." with loader url=".$ENV{ SDK_CALLBACK_URL }. " on " . scalar localtime . "\n";
         if ($ncbigenome->{source} eq "refseq" || $ncbigenome->{source} eq "") {
-            my $genomeout;
-            my $genutilout;
             my $gn_url = $ncbigenome->{ftp_dir}."/".$ncbigenome->{file}."_genomic.gbff.gz";
-            eval {
-                $genutilout = $loader->genbank_to_genome({
+            push(@{$gfu_jobs}, {
+                label => $ncbigenome->{id},
+                index => $i,
+                wsname => $wsname,
+                genome => $ncbigenome,
+                params => {
 		file => {
                     ftp_url => $gn_url
                 },
@@ -2408,46 +4054,11 @@ sub load_genomes
                     url => $gn_url,
                     version => $ncbigenome->{version}
                 }
-              });
-            };
-            if ($@) {
-                print "**********Received an exception from calling genbank_to_genome to load $ncbigenome->{id}:\n";
-                print "Exception message: " . $@->{"message"} . "\n";
-                print "JSONRPC code: " . $@->{"code"} . "\n";
-                print "Method: " . $@->{"method_name"} . "\n";
-                print "Client-side exception:\n";
-                print $@;
-                print "\nServer-side exception:\n";
-                print $@->{"data"};
-            }
-            else
-            {
-              $genomeout = {
-                "ref" => $genutilout->{genome_ref},
-                id => $ncbigenome->{id},
-                workspace_name => $wsname,
-                source_id => $ncbigenome->{id},
-                accession => $ncbigenome->{accession},
-                name => $ncbigenome->{asm_name},
-                version => $ncbigenome->{version},
-                source => $ncbigenome->{source},
-                domain => $ncbigenome->{domain}
-             };
-
-             my $gn_solrCore = "GenomeFeatures_prod";
-             if ($params->{index_in_solr} == 1) {
-                    $self->index_genomes_in_solr({
-                        solr_core => $gn_solrCore,             
-                        genomes => [$genomeout]
-                    });
-             }
-             push(@{$output},$genomeout);
-             print "!!!!!!!!!!!!!--Loading of $ncbigenome->{id} succeeded--!!\n";
-           }
-           print "**********************Genome loading process ends on " . scalar localtime . "************************\n";
+              }
+            });
         } elsif ($ncbigenome->{source} eq "phytozome") {
             #NEED SAM TO PUT CODE FOR HIS LOADER HERE
-	        my $genomeout = {
+	        $results->[$i] = {
                 "ref" => $wsname."/".$ncbigenome->{id},
                 id => $ncbigenome->{id},
                 workspace_name => $wsname,
@@ -2459,9 +4070,67 @@ sub load_genomes
                 source => $ncbigenome->{source},
                 domain => $ncbigenome->{domain}
             };
-            push(@{$output},$genomeout);
         }
     }
+
+    #Imports run on the GenomeFileUtil side, at most max_parallel at a time, while the genomes that
+    #are already loaded are indexed here in batches of batch_size
+    my $gn_solrCore = "GenomeFeatures_prod";
+    my $index_queue = [];
+    my $flush_index_queue = sub {
+        my ($force) = @_;
+        if (@{$index_queue} > 0 && ($force || @{$index_queue} >= $params->{batch_size})) {
+            $self->index_genomes_in_solr({
+                solr_core => $gn_solrCore,
+                genomes => $index_queue,
+                return_mode => "none"
+            });
+            $index_queue = [];
+        }
+    };
+    $self->_runGenomeFileUtilJobs($loader, "genbank_to_genome", $gfu_jobs, $params->{max_parallel}, sub {
+        my ($job, $genutilout, $error) = @_;
+        my $ncbigenome = $job->{genome};
+        print "\n******************Genome#: $job->{index} ********************";
+        if ($error) {
+            print "**********Received an exception from calling genbank_to_genome to load $ncbigenome->{id}:\n";
+            if (ref($error)) {
+                print "Exception message: " . $error->{"message"} . "\n";
+                print "JSONRPC code: " . $error->{"code"} . "\n";
+                print "Method: " . $error->{"method_name"} . "\n";
+            }
+            print "Client-side exception:\n";
+            print $error;
+            if (ref($error)) {
+                print "\nServer-side exception:\n";
+                print $error->{"data"};
+            }
+        }
+        else
+        {
+            my $genomeout = {
+                "ref" => $genutilout->{genome_ref},
+                id => $ncbigenome->{id},
+                workspace_name => $job->{wsname},
+                source_id => $ncbigenome->{id},
+                accession => $ncbigenome->{accession},
+                name => $ncbigenome->{asm_name},
+                version => $ncbigenome->{version},
+                source => $ncbigenome->{source},
+                domain => $ncbigenome->{domain}
+            };
+            $results->[$job->{index}] = $genomeout;
+            print "!!!!!!!!!!!!!--Loading of $ncbigenome->{id} succeeded--!!\n";
+            if ($params->{index_in_solr} == 1) {
+                push(@{$index_queue}, $genomeout);
+                $flush_index_queue->(0);
+            }
+        }
+        print "**********************Genome loading process ends on " . scalar localtime . "************************\n";
+    });
+    $flush_index_queue->(1);
+    $output = [grep { defined($_) } @{$results}];
+
     if ($params->{create_report}) {
         print "Loaded ". scalar @{$output}. " genomes!\n";
         $self->util_create_report({
@@ -2502,6 +4171,10 @@ IndexGenomesInSolrParams is a reference to a hash where the following keys are d
 	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 	solr_core has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	commit_policy has a value which is a string
+	return_mode has a value which is a string
+	doc_layout has a value which is a string
+	evict_superseded has a value which is a ReferenceDataManager.bool
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
@@ -2565,6 +4238,10 @@ IndexGenomesInSolrParams is a reference to a hash where the following keys are d
 	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 	solr_core has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	commit_policy has a value which is a string
+	return_mode has a value which is a string
+	doc_layout has a value which is a string
+	evict_superseded has a value which is a ReferenceDataManager.bool
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
 	id has a value which is a string
@@ -2624,6 +4301,7 @@ SolrGenomeFeatureData is a reference to a hash where the following keys are defi
 =item Description
 
 Index specified genomes in SOLR from KBase workspace
+With the summary return_mode the output holds IndexedGenomeSummary structures instead, and with none it is empty
 
 =back
 
@@ -2652,8 +4330,18 @@ sub index_genomes_in_solr
     $params = $self->util_args($params,[],{
         genomes => {},
         create_report => 0,
-        solr_core => "GenomeFeatures_prod"
+        solr_core => "GenomeFeatures_prod",
+        commit_policy => "soft",
+        return_mode => "full",
+        doc_layout => "flat",
+        evict_superseded => 0
     });
+    if ($params->{return_mode} !~ /^(full|summary|none)$/) {
+        die "\nError--Unknown return_mode: " . $params->{return_mode} . "\n";
+    }
+    if ($params->{doc_layout} !~ /^(flat|linked)$/) {
+        die "\nError--Unknown doc_layout: " . $params->{doc_layout} . "\n";
+    }
 
     my $msg = "";
     #$output = [];
@@ -2661,7 +4349,8 @@ sub index_genomes_in_solr
     my $solrCore = $params->{solr_core};
     print "\nTotal genomes to be indexed: ". @{$genomes} . "\n";
 
-    $output = $self->_indexGenomeFeatureData($solrCore, $genomes);
+    $output = $self->_indexGenomeFeatureData($solrCore, $genomes, $params->{commit_policy}, $params->{return_mode},
+                                           $params->{doc_layout}, $params->{evict_superseded});
     if (@{$output} < 10) {
             my $curr = @{$output}-1;
             $msg .= Data::Dumper->Dump([$output->[$curr]])."\n";
@@ -2827,27 +4516,19 @@ sub list_loaded_taxa
         print ("I: minObjectID: $minObjID\n");
         print ("I: maxObjectID: $maxObjID\n");
 
+	#an empty page only means that there is no taxon in this id range; failed calls are retried by _withRetry
 	$wsoutput = [];
-        my $try_count=5;
-        while(scalar(@$wsoutput)==0 && $try_count != 0){
-            $try_count--;
-            eval {
-                $wsoutput = $self->util_ws_client()->list_objects({workspaces => [$wsname],
-                                                                   type => "KBaseGenomeAnnotations.Taxon-1.0",
-                                                                   minObjectID => $minObjID,
-                                                                   maxObjectID => $maxObjID});
-            };
-	    if ($@) {
-		print "ERROR on iteration $try_count for Batch $batch_count: Cannot list objects: $_ at ".scalar(localtime)."\n";
-		print "Exception message: " . $@->{"message"} . "\n";
-		print "JSONRPC code: " . $@->{"code"} . "\n";
-		print "Method: " . $@->{"method_name"} . "\n";
-		print "Client-side exception:\n";
-		print $@;
-		print "Server-side exception:\n";
-		print $@->{"data"};
-	    }
-            sleep(3) if scalar(@$wsoutput)==0;
+        eval {
+            $wsoutput = $self->_withRetry("workspace", "list_objects $minObjID-$maxObjID", sub {
+                return $self->util_ws_client()->list_objects({workspaces => [$wsname],
+                                                              type => "KBaseGenomeAnnotations.Taxon-1.0",
+                                                              minObjectID => $minObjID,
+                                                              maxObjectID => $maxObjID});
+            });
+        };
+        if ($@) {
+            print "ERROR for Batch $m: Cannot list objects at ".scalar(localtime).": ".$self->_errorMessage($@)."\n";
+            $wsoutput = [];
         }
         if(exists($params->{ignore})){
             $wsoutput = [ grep { !exists($params->{ignore}{$_->[0]}) } @$wsoutput ];
@@ -2860,26 +4541,17 @@ sub list_loaded_taxa
         }
 
         $taxonout = [];
-        my $try_count=5;
-        while(scalar(@$taxonout)==0 && $try_count != 0){
-            $try_count--;
-            eval {
-                print "\nStart to fetch the objects at the batch size of: " . @{$wstaxonrefs} . " on " . scalar localtime;
-                $taxonout = $self->util_ws_client()->get_objects2({objects => $wstaxonrefs})->{data};
-                print "\nDone getting the objects at the batch size of: " . @{$taxonout} . " on " . scalar localtime . "\n\n";
-	    };
-	    if($@) {
-		print "ERROR on iteration $try_count for Batch $batch_count: Cannot get objects: $_ at ".scalar(localtime)."\n";
-		print "Exception message: " . $@->{"message"} . "\n";
-		print "JSONRPC code: " . $@->{"code"} . "\n";
-		print "Method: " . $@->{"method_name"} . "\n";
-		print "Client-side exception:\n";
-		print $@;
-		print "Server-side exception:\n";
-		print $@->{"data"};
-	    }
-	    sleep(3) if scalar(@$taxonout)==0;
-	}
+        eval {
+            print "\nStart to fetch the objects at the batch size of: " . @{$wstaxonrefs} . " on " . scalar localtime;
+            $taxonout = $self->_withRetry("workspace", "get_objects2 of ".@{$wstaxonrefs}." taxa", sub {
+                return $self->util_ws_client()->get_objects2({objects => $wstaxonrefs})->{data};
+            });
+            print "\nDone getting the objects at the batch size of: " . @{$taxonout} . " on " . scalar localtime . "\n\n";
+        };
+        if ($@) {
+            print "ERROR for Batch $m: Cannot get objects at ".scalar(localtime).": ".$self->_errorMessage($@)."\n";
+            $taxonout = [];
+        }
 
         my $solr_taxa = [];
         for (my $i=0; $i < @{$taxonout}; $i++) {
@@ -2895,29 +4567,312 @@ sub list_loaded_taxa
             }
 	}
 
-	#indexing in SOLR for every $batchCount of taxa
-	#$self->index_taxa_in_solr({taxa=>$solr_taxa, solr_core => "taxonomy_ci"});
+	#indexing in SOLR for every $batchCount of taxa
+	#$self->index_taxa_in_solr({taxa=>$solr_taxa, solr_core => "taxonomy_ci"});
+
+        if(exists($params->{batch}) && scalar(@$output) >= $params->{batch}){
+            last;
+        }
+    }
+    print "Retries: ".$self->_retryStats()."\n";
+    #END list_loaded_taxa
+    my @_bad_returns;
+    (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
+    if (@_bad_returns) {
+	my $msg = "Invalid returns passed to list_loaded_taxa:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'list_loaded_taxa');
+    }
+    return($output);
+}
+
+
+
+=head2 list_solr_taxa
+
+  $output = $obj->list_solr_taxa($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
+	domain has a value which is a string
+	ws_ref has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrTaxonData is a reference to a hash where the following keys are defined:
+	taxonomy_id has a value which is an int
+	scientific_name has a value which is a string
+	scientific_lineage has a value which is a string
+	rank has a value which is a string
+	kingdom has a value which is a string
+	domain has a value which is a string
+	ws_ref has a value which is a string
+	aliases has a value which is a reference to a list where each element is a string
+	genetic_code has a value which is an int
+	parent_taxon_ref has a value which is a string
+	embl_code has a value which is a string
+	inherited_div_flag has a value which is an int
+	inherited_GC_flag has a value which is an int
+	mitochondrial_genetic_code has a value which is an int
+	inherited_MGC_flag has a value which is an int
+	GenBank_hidden_flag has a value which is an int
+	hidden_subtree_flag has a value which is an int
+	division_id has a value which is an int
+	comments has a value which is a string
+
+
+=end text
+
+
+
+=item Description
+
+Lists taxa indexed in SOLR
+
+=back
+
+=cut
+
+sub list_solr_taxa
+{
+    my $self = shift;
+    my($params) = @_;
+
+    my @_bad_arguments;
+    (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument \"params\" (value was \"$params\")");
+    if (@_bad_arguments) {
+	my $msg = "Invalid arguments passed to list_solr_taxa:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'list_solr_taxa');
+    }
+
+    my $ctx = $ReferenceDataManager::ReferenceDataManagerServer::CallContext;
+    my($output);
+    #BEGIN list_solr_taxa
+    if (! $self->_ping()) {
+        die "\nError--Solr server not responding:\n" . $self->_error->{response};
+    }
+    $params = $self->util_initialize_call($params,$ctx);
+    $params = $self->util_args($params,[],{
+        solr_core => "taxonomy_prod",
+        row_start => 0,
+        row_count => 100,
+        group_option => "",
+        create_report => 0,
+        fields => []
+    });
+
+    my $msg = "";
+    $output = [];
+    my $solrout;
+    my $solrCore = $params -> {solr_core};
+    my $fields = @{$params -> {fields}} ? join(",", @{$params -> {fields}}) : "*";
+    my $startRow = $params -> {row_start};
+    my $topRows = $params -> {row_count};
+    my $grpOpt = $params -> {group_option}; #"taxonomy_id";    
+    eval {
+        $solrout = $self->_listTaxaInSolr($solrCore, $fields, $startRow, $topRows, $grpOpt);
+    };
+    if($@) {
+        print "Cannot list taxa in SOLR information!\n";
+        print "ERROR:".$@;
+        if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
+            print $@->{status_line}."\n";
+        }
+    }
+    else {
+        #print "\nList of taxa: \n" . Dumper($solrout) . "\n";  
+        $output = ($grpOpt eq "") ? $solrout->{response}->{response}->{docs} : $solrout->{response}->{grouped}->{$grpOpt}->{groups}; 
+
+        if (@{$output} < 10) {
+            my $curr = @{$output}-1;
+            $msg .= Data::Dumper->Dump([$output->[$curr]])."\n";
+        } 
+    }
+    #END list_solr_taxa
+    my @_bad_returns;
+    (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
+    if (@_bad_returns) {
+	my $msg = "Invalid returns passed to list_solr_taxa:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'list_solr_taxa');
+    }
+    return($output);
+}
+
+
+
+
+=head2 list_solr_docs_page
+
+  $output = $obj->list_solr_docs_page($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a ReferenceDataManager.SolrDocsPage
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrDocsPage is a reference to a hash where the following keys are defined:
+	docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+	next_cursor has a value which is a string
+	num_found has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.ListSolrDocsParams
+$output is a ReferenceDataManager.SolrDocsPage
+ListSolrDocsParams is a reference to a hash where the following keys are defined:
+	solr_core has a value which is a string
+	row_start has a value which is an int
+	row_count has a value which is an int
+	create_report has a value which is a ReferenceDataManager.bool
+	cursor has a value which is a string
+	fields has a value which is a reference to a list where each element is a string
+	join_genome_fields has a value which is a ReferenceDataManager.bool
+bool is an int
+SolrDocsPage is a reference to a hash where the following keys are defined:
+	docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+	next_cursor has a value which is a string
+	num_found has a value which is an int
+
+
+=end text
+
+
+
+=item Description
+
+Lists the documents of a SOLR core one page at a time with a SOLR cursor, so that a page deep into the core
+costs as much as the first one
+
+=back
+
+=cut
+
+sub list_solr_docs_page
+{
+    my $self = shift;
+    my($params) = @_;
+
+    my @_bad_arguments;
+    (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument \"params\" (value was \"$params\")");
+    if (@_bad_arguments) {
+	my $msg = "Invalid arguments passed to list_solr_docs_page:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'list_solr_docs_page');
+    }
 
-        if(exists($params->{batch}) && scalar(@$output) >= $params->{batch}){
-            last;
-        }
+    my $ctx = $ReferenceDataManager::ReferenceDataManagerServer::CallContext;
+    my($output);
+    #BEGIN list_solr_docs_page
+    if (! $self->_ping()) {
+        die "\nError--Solr server not responding:\n" . $self->_error->{response};
     }
-    #END list_loaded_taxa
+    $params = $self->util_initialize_call($params,$ctx);
+    $params = $self->util_args($params,[],{
+        solr_core => "genomes",
+        row_count => 100,
+        cursor => "*",
+        create_report => 0,
+        fields => []
+    });
+
+    my $solrCore = $params -> {solr_core};
+    my $cursor = $params -> {cursor};
+    my $fields = @{$params -> {fields}} ? join(",", @{$params -> {fields}}) : "*";
+    my $solrout = $self->_listDocsInSolrWithCursor($solrCore, $fields, $cursor, $params -> {row_count});
+    if (ref($solrout->{response}) ne "HASH") {
+        die "\nError--Cannot list the documents of $solrCore:\n" . $self->_error->{response};
+    }
+    $output = {
+        docs => $solrout->{response}->{response}->{docs},
+        next_cursor => $solrout->{response}->{nextCursorMark},
+        num_found => $solrout->{response}->{response}->{numFound}
+    };
+    print "Listed " . @{$output->{docs}} . " of " . $output->{num_found} . " documents in $solrCore\n";
+    #END list_solr_docs_page
     my @_bad_returns;
-    (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
+    (ref($output) eq 'HASH') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
     if (@_bad_returns) {
-	my $msg = "Invalid returns passed to list_loaded_taxa:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	my $msg = "Invalid returns passed to list_solr_docs_page:\n" . join("", map { "\t$_\n" } @_bad_returns);
 	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
-							       method_name => 'list_loaded_taxa');
+							       method_name => 'list_solr_docs_page');
     }
     return($output);
 }
 
 
 
-=head2 list_solr_taxa
 
-  $output = $obj->list_solr_taxa($params)
+=head2 summarize_solr_genomes
+
+  $output = $obj->summarize_solr_genomes($params)
 
 =over 4
 
@@ -2926,34 +4881,24 @@ sub list_loaded_taxa
 =begin html
 
 <pre>
-$params is a ReferenceDataManager.ListSolrDocsParams
-$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
-ListSolrDocsParams is a reference to a hash where the following keys are defined:
+$params is a ReferenceDataManager.SummarizeSolrGenomesParams
+$output is a ReferenceDataManager.SolrGenomesSummary
+SummarizeSolrGenomesParams is a reference to a hash where the following keys are defined:
 	solr_core has a value which is a string
-	row_start has a value which is an int
-	row_count has a value which is an int
-	create_report has a value which is a ReferenceDataManager.bool
-bool is an int
-SolrTaxonData is a reference to a hash where the following keys are defined:
-	taxonomy_id has a value which is an int
-	scientific_name has a value which is a string
-	scientific_lineage has a value which is a string
-	rank has a value which is a string
-	kingdom has a value which is a string
-	domain has a value which is a string
-	ws_ref has a value which is a string
-	aliases has a value which is a reference to a list where each element is a string
-	genetic_code has a value which is an int
-	parent_taxon_ref has a value which is a string
-	embl_code has a value which is a string
-	inherited_div_flag has a value which is an int
-	inherited_GC_flag has a value which is an int
-	mitochondrial_genetic_code has a value which is an int
-	inherited_MGC_flag has a value which is an int
-	GenBank_hidden_flag has a value which is an int
-	hidden_subtree_flag has a value which is an int
-	division_id has a value which is an int
-	comments has a value which is a string
+	facet_fields has a value which is a reference to a list where each element is a string
+	stats_fields has a value which is a reference to a list where each element is a string
+SolrGenomesSummary is a reference to a hash where the following keys are defined:
+	num_genomes has a value which is an int
+	num_docs has a value which is an int
+	facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+	stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+SolrFieldStats is a reference to a hash where the following keys are defined:
+	sum has a value which is a float
+	min has a value which is a float
+	max has a value which is a float
+	mean has a value which is a float
+	count has a value which is an int
+	missing has a value which is an int
 
 </pre>
 
@@ -2961,34 +4906,24 @@ SolrTaxonData is a reference to a hash where the following keys are defined:
 
 =begin text
 
-$params is a ReferenceDataManager.ListSolrDocsParams
-$output is a reference to a list where each element is a ReferenceDataManager.SolrTaxonData
-ListSolrDocsParams is a reference to a hash where the following keys are defined:
+$params is a ReferenceDataManager.SummarizeSolrGenomesParams
+$output is a ReferenceDataManager.SolrGenomesSummary
+SummarizeSolrGenomesParams is a reference to a hash where the following keys are defined:
 	solr_core has a value which is a string
-	row_start has a value which is an int
-	row_count has a value which is an int
-	create_report has a value which is a ReferenceDataManager.bool
-bool is an int
-SolrTaxonData is a reference to a hash where the following keys are defined:
-	taxonomy_id has a value which is an int
-	scientific_name has a value which is a string
-	scientific_lineage has a value which is a string
-	rank has a value which is a string
-	kingdom has a value which is a string
-	domain has a value which is a string
-	ws_ref has a value which is a string
-	aliases has a value which is a reference to a list where each element is a string
-	genetic_code has a value which is an int
-	parent_taxon_ref has a value which is a string
-	embl_code has a value which is a string
-	inherited_div_flag has a value which is an int
-	inherited_GC_flag has a value which is an int
-	mitochondrial_genetic_code has a value which is an int
-	inherited_MGC_flag has a value which is an int
-	GenBank_hidden_flag has a value which is an int
-	hidden_subtree_flag has a value which is an int
-	division_id has a value which is an int
-	comments has a value which is a string
+	facet_fields has a value which is a reference to a list where each element is a string
+	stats_fields has a value which is a reference to a list where each element is a string
+SolrGenomesSummary is a reference to a hash where the following keys are defined:
+	num_genomes has a value which is an int
+	num_docs has a value which is an int
+	facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+	stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+SolrFieldStats is a reference to a hash where the following keys are defined:
+	sum has a value which is a float
+	min has a value which is a float
+	max has a value which is a float
+	mean has a value which is a float
+	count has a value which is an int
+	missing has a value which is an int
 
 
 =end text
@@ -2997,13 +4932,14 @@ SolrTaxonData is a reference to a hash where the following keys are defined:
 
 =item Description
 
-Lists taxa indexed in SOLR
+Counts the genomes indexed in SOLR per domain and source and totals their DNA sizes and
+CDS counts with facet and stats queries, in one request and without listing the genomes
 
 =back
 
 =cut
 
-sub list_solr_taxa
+sub summarize_solr_genomes
 {
     my $self = shift;
     my($params) = @_;
@@ -3011,60 +4947,34 @@ sub list_solr_taxa
     my @_bad_arguments;
     (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument \"params\" (value was \"$params\")");
     if (@_bad_arguments) {
-	my $msg = "Invalid arguments passed to list_solr_taxa:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	my $msg = "Invalid arguments passed to summarize_solr_genomes:\n" . join("", map { "\t$_\n" } @_bad_arguments);
 	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
-							       method_name => 'list_solr_taxa');
+							       method_name => 'summarize_solr_genomes');
     }
 
     my $ctx = $ReferenceDataManager::ReferenceDataManagerServer::CallContext;
     my($output);
-    #BEGIN list_solr_taxa
+    #BEGIN summarize_solr_genomes
     if (! $self->_ping()) {
         die "\nError--Solr server not responding:\n" . $self->_error->{response};
     }
     $params = $self->util_initialize_call($params,$ctx);
     $params = $self->util_args($params,[],{
-        solr_core => "taxonomy_prod",
-        row_start => 0,
-        row_count => 100,
-        group_option => "",
-        create_report => 0
+        solr_core => "genomes",
+        facet_fields => ["domain", "genome_source"],
+        stats_fields => ["genome_dna_size", "num_cds"]
     });
 
-    my $msg = "";
-    $output = [];
-    my $solrout;
     my $solrCore = $params -> {solr_core};
-    my $fields = "*";
-    my $startRow = $params -> {row_start};
-    my $topRows = $params -> {row_count};
-    my $grpOpt = $params -> {group_option}; #"taxonomy_id";    
-    eval {
-        $solrout = $self->_listTaxaInSolr($solrCore, $fields, $startRow, $topRows, $grpOpt);
-    };
-    if($@) {
-        print "Cannot list taxa in SOLR information!\n";
-        print "ERROR:".$@;
-        if(defined($@->{status_line})) {
-            print $@->{status_line}."\n";
-        }
-    }
-    else {
-        #print "\nList of taxa: \n" . Dumper($solrout) . "\n";  
-        $output = ($grpOpt eq "") ? $solrout->{response}->{response}->{docs} : $solrout->{response}->{grouped}->{$grpOpt}->{groups}; 
-
-        if (@{$output} < 10) {
-            my $curr = @{$output}-1;
-            $msg .= Data::Dumper->Dump([$output->[$curr]])."\n";
-        } 
-    }
-    #END list_solr_taxa
+    $output = $self->_summarizeGenomesInSolr($solrCore, $params -> {facet_fields}, $params -> {stats_fields});
+    print "Summarized " . $output->{num_genomes} . " genomes (" . $output->{num_docs} . " genome documents) in $solrCore\n";
+    #END summarize_solr_genomes
     my @_bad_returns;
-    (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
+    (ref($output) eq 'HASH') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
     if (@_bad_returns) {
-	my $msg = "Invalid returns passed to list_solr_taxa:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	my $msg = "Invalid returns passed to summarize_solr_genomes:\n" . join("", map { "\t$_\n" } @_bad_returns);
 	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
-							       method_name => 'list_solr_taxa');
+							       method_name => 'summarize_solr_genomes');
     }
     return($output);
 }
@@ -3088,9 +4998,13 @@ $output is a reference to a list where each element is a ReferenceDataManager.So
 LoadTaxonsParams is a reference to a hash where the following keys are defined:
 	data has a value which is a string
 	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+	taxa_file has a value which is a string
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	save_batch_size has a value which is an int
+	save_batch_bytes has a value which is an int
+	save_retries has a value which is an int
 KBaseReferenceTaxonData is a reference to a hash where the following keys are defined:
 	taxonomy_id has a value which is an int
 	scientific_name has a value which is a string
@@ -3143,9 +5057,13 @@ $output is a reference to a list where each element is a ReferenceDataManager.So
 LoadTaxonsParams is a reference to a hash where the following keys are defined:
 	data has a value which is a string
 	taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+	taxa_file has a value which is a string
 	index_in_solr has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	save_batch_size has a value which is an int
+	save_batch_bytes has a value which is an int
+	save_retries has a value which is an int
 KBaseReferenceTaxonData is a reference to a hash where the following keys are defined:
 	taxonomy_id has a value which is an int
 	scientific_name has a value which is a string
@@ -3195,6 +5113,9 @@ SolrTaxonData is a reference to a hash where the following keys are defined:
 =item Description
 
 Loads specified taxa into KBase workspace and indexes in SOLR on demand
+Only the taxa added or changed in the NCBI taxonomy since the last load are saved and indexed, and the taxa
+removed from it are removed from the index. A taxon is changed if any field saved in its
+workspace object changed, e.g. its parent, rank, scientific name, lineage, aliases or genetic code.
 
 =back
 
@@ -3220,20 +5141,111 @@ sub load_taxons
     $params = $self->util_args($params,[],{
         data => undef,
         taxons => [],
+        taxa_file => undef,
         index_in_solr => 0,
         create_report => 0,
-        workspace_name => undef
+        workspace_name => undef,
+        save_batch_size => 1000,
+        save_batch_bytes => 20000000,
+        save_retries => 2
     });
 
-    my $ncbi_taxon_objs = $self->_extract_ncbi_taxons();
-
+    $output = [];
     my $Taxon_WS = "ReferenceTaxons";
-    my $loaded_taxon_objs = $self->list_loaded_taxa({workspace_name=>$Taxon_WS});
+    my $tx_solr_core = "taxonomy_prod";
 
-    my $taxon_provenance = [{"script"=>$0, "script_ver"=>"0.1", "description"=>"Taxon generated from NCBI taxonomy names and nodes files downloaded on 10/20/2016."}];
-    foreach my $obj (@$ncbi_taxon_objs){
-        $self->_check_taxon($obj,$loaded_taxon_objs);
+    #the given taxa are only a part of the taxonomy, so no taxon is deleted; a taxa file written by TaxonomyEngine
+    #holds the whole taxonomy, like the NCBI dump
+    my $partial = @{$params->{taxons}} ? 1 : 0;
+    my $ncbi_taxon_objs;
+    if ($partial) {
+        $ncbi_taxon_objs = [];
+        foreach my $taxon (@{$params->{taxons}}) {
+            my $obj = {%$taxon};
+            my $parent_ref = delete $obj->{'parent_taxon_ref'};
+            if (!defined($obj->{'parent_taxon_id'}) && defined($parent_ref) && $parent_ref =~ /(\d+)_taxon$/) {
+                $obj->{'parent_taxon_id'} = $1 + 0;
+            }
+            push(@$ncbi_taxon_objs, $obj);
+        }
+    }
+    elsif (defined($params->{taxa_file})) {
+        $ncbi_taxon_objs = $self->_readTaxaFile($params->{taxa_file});
+    }
+    else {
+        $ncbi_taxon_objs = $self->_extract_ncbi_taxa();
+    }
 
+    #only the taxa added or changed since the last load are saved, see _taxonFingerprint
+    my $fp_file = $self->{data}."/".$Taxon_WS.".taxa.fingerprint";
+    my $diff = $self->_diffTaxa($ncbi_taxon_objs, $self->_readTaxonFingerprints($fp_file), $partial);
+    my $fingerprints = $diff->{fingerprints};
+    #what is indexed in SOLR is tracked apart, in a second fingerprint file only updated for the taxa that were
+    #actually indexed or removed from the index; $solr_deleted is left with the fingerprints of the deleted taxa
+    my $solr_fp_file = $self->{data}."/".$Taxon_WS.".taxa.solr.fingerprint";
+    my ($solr_diff, $solr_deleted);
+    if ($params->{index_in_solr}) {
+        $solr_deleted = $self->_readTaxonFingerprints($solr_fp_file);
+        $solr_diff = $self->_diffTaxa($ncbi_taxon_objs, $solr_deleted, $partial);
+        print "Taxa to index in $tx_solr_core: ".@{$solr_diff->{changed}}.", to remove: ".@{$solr_diff->{deleted}}."\n";
+    }
+    $ncbi_taxon_objs = undef;
+    print "Taxa in the dump: ".scalar(keys %$fingerprints).", added: ".$diff->{added}.", changed: ".$diff->{updated}.", deleted: ".@{$diff->{deleted}}."\n";
+
+    #report how the changed taxa differ from their current version, 1000 at a time, fetching only the checked fields
+    #and looking up the ids of their current parents in one batch (see _parentTaxonIds)
+    my $updated = [map { $_->[0] } grep { defined($_->[1]) } @{$diff->{changed}}];
+    for (my $i = 0; $i < @$updated; $i += 1000) {
+        my $last = ($i + 1000 < @$updated) ? $i + 999 : $#$updated;
+        my $objs = [];
+        eval {
+            $objs = $self->_withRetry("workspace", "get_objects2 of ".($last - $i + 1)." current taxa", sub {
+                return $self->util_ws_client()->get_objects2({
+                    objects => [map { {"ref" => $Taxon_WS."/".$_->{'taxonomy_id'}."_taxon",
+                                       "included" => ["/taxonomy_id","/parent_taxon_ref","/rank","/domain","/scientific_name","/scientific_lineage"]} } @{$updated}[$i..$last]],
+                    ignoreErrors => 1
+                })->{data};
+            });
+        };
+        print "ERROR: cannot get the current taxa: ".$self->_errorMessage($@)."\n" if $@;
+        my $parent_ids = $self->_parentTaxonIds([map { $_->{data}{'parent_taxon_ref'} } grep { defined($_) && defined($_->{data}{'parent_taxon_ref'}) } @$objs]);
+        for (my $j = $i; $j <= $last; $j++) {
+            my $current = $objs->[$j - $i];
+            next unless defined($current);
+            print "$_\n" foreach (@{$self->_check_taxon($updated->[$j], $current->{data}, $parent_ids)});
+        }
+    }
+    print ucfirst($self->_parentTaxonCacheStats())."\n" if @$updated;
+
+    my $taxon_provenance = [{"script"=>$0, "script_ver"=>"0.1", "description"=>"Taxon generated from NCBI taxonomy names and nodes files downloaded on 10/20/2016."}];
+    my $loaded_taxa = [];
+    my $batcher = $self->_openSaveBatcher($Taxon_WS, {
+        max_count => $params->{save_batch_size},
+        max_bytes => $params->{save_batch_bytes},
+        retries => $params->{save_retries},
+        on_saved => sub {
+            my ($info, $change) = @_;
+            my $obj = $change->[0];
+            my $taxon_name = $obj->{"taxonomy_id"}."_taxon";
+            push(@$loaded_taxa, {taxon => $obj, ws_ref => $Taxon_WS."/".$taxon_name});
+            push(@$output, $self->_getTaxon($obj, $Taxon_WS."/".$taxon_name));
+        },
+        on_failed => sub {
+            my ($error, $change) = @_;
+            my ($obj, $old_fp) = @$change;
+            #keep the previous fingerprint so the taxon is saved again by the next load
+            print "ERROR: cannot save ".$obj->{"taxonomy_id"}."_taxon: ".$error."\n";
+            if (defined($old_fp)) {
+                $fingerprints->{$obj->{"taxonomy_id"}} = $old_fp;
+            }
+            else {
+                delete $fingerprints->{$obj->{"taxonomy_id"}};
+            }
+        }
+    });
+    foreach my $change (@{$diff->{changed}}){
+        my ($obj, $old_fp) = @$change;
+        my $parent_id = $obj->{'parent_taxon_id'};
         $obj->{'parent_taxon_ref'}=$Taxon_WS."/".$obj->{'parent_taxon_id'}."_taxon";
         delete $obj->{'parent_taxon_ref'} if $obj->{'taxonomy_id'}==1;
         delete $obj->{'parent_taxon_id'};
@@ -3241,12 +5253,79 @@ sub load_taxons
         my $taxon_name = $obj->{"taxonomy_id"}."_taxon";
         print "Loading $taxon_name\n";
         $obj->{"taxonomy_id"}+=0;
-        $self->{_wsclient}->save_objects({"workspace"=>$Taxon_WS,"objects"=>[ {"type"=>"KBaseGenomeAnnotations.Taxon",
-                                                                               "data"=>$obj,
-                                                                               "name"=>$taxon_name,
-                                                                               "provenance"=>$taxon_provenance}] });
-        push(@$output, $self->_getTaxon($obj, $Taxon_WS."/".$taxon_name));
+        $self->_saveBatcherAdd($batcher, {"type"=>"KBaseGenomeAnnotations.Taxon",
+                                          "data"=>$obj,
+                                          "name"=>$taxon_name,
+                                          "provenance"=>$taxon_provenance}, $change, $obj->{"taxonomy_id"}, $parent_id);
+    }
+    $self->_closeSaveBatcher($batcher);
+    print "Retries: ".$self->_retryStats()."\n";
+
+    $self->_writeTaxonFingerprints($fp_file, $fingerprints);
+
+    if ($params->{index_in_solr}) {
+        my $solr_fingerprints = $solr_diff->{fingerprints};
+        #the taxa whose indexed version is not the one of the dump are indexed if the workspace holds that version,
+        #i.e. unless saving it failed; until then they keep the fingerprint of the version in SOLR
+        my $to_index = [];
+        foreach my $change (@{$solr_diff->{changed}}) {
+            my ($obj, $old_fp) = @$change;
+            my $id = $obj->{"taxonomy_id"};
+            my $fp = $solr_fingerprints->{$id};
+            if (defined($old_fp)) {
+                $solr_fingerprints->{$id} = $old_fp;
+            }
+            else {
+                delete $solr_fingerprints->{$id};
+            }
+            next unless (defined($fingerprints->{$id}) && $fingerprints->{$id} eq $fp);
+            my $taxon = {%$obj};
+            if (exists($taxon->{'parent_taxon_id'})) {
+                $taxon->{'parent_taxon_ref'} = $Taxon_WS."/".$taxon->{'parent_taxon_id'}."_taxon" unless $id == 1;
+                delete $taxon->{'parent_taxon_id'};
+            }
+            push(@$to_index, [$self->_getTaxon($taxon, $Taxon_WS."/".$id."_taxon"), $fp]);
+        }
+        my $indexed = 0;
+        for (my $i = 0; $i < @$to_index; $i += 10000) {
+            my $last = ($i + 10000 < @$to_index) ? $i + 9999 : $#$to_index;
+            eval {
+                $self->_indexInSolr($tx_solr_core, [map { $_->[0] } @{$to_index}[$i..$last]]);
+            };
+            if ($@) {
+                print "ERROR: cannot index ".($last - $i + 1)." taxa in $tx_solr_core: ".$self->_errorMessage($@)."\n";
+                next;
+            }
+            $solr_fingerprints->{$_->[0]->{taxonomy_id}} = $_->[1] foreach (@{$to_index}[$i..$last]);
+            $indexed += $last - $i + 1;
+        }
+
+        #taxa that are no longer in the dump are removed from the index; their workspace objects are kept, as
+        #genomes may still refer to them. A taxon whose deletion failed keeps its fingerprint, so it is deleted by
+        #the next load.
+        my $deleted = $solr_diff->{deleted};
+        my $removed = [];
+        for (my $i = 0; $i < @$deleted; $i += 500) {
+            my $last = ($i + 500 < @$deleted) ? $i + 499 : $#$deleted;
+            my $resp = $self->_deleteRecords($tx_solr_core, {taxonomy_id => "(".join(" OR ", @{$deleted}[$i..$last]).")"});
+            if ($resp && $self->_parseResponse($resp, "json")) {
+                push(@$removed, @{$deleted}[$i..$last]);
+            }
+            else {
+                print "ERROR: cannot delete taxa from $tx_solr_core\n";
+                $solr_fingerprints->{$_} = $solr_deleted->{$_} foreach (@{$deleted}[$i..$last]);
+            }
+        }
+        #one commit for all the deletions
+        if (@$removed && !$self->_commit($tx_solr_core)) {
+            print "ERROR: cannot commit the deleted taxa in $tx_solr_core\n";
+            $solr_fingerprints->{$_} = $solr_deleted->{$_} foreach (@$removed);
+            $removed = [];
+        }
+        $self->_writeTaxonFingerprints($solr_fp_file, $solr_fingerprints);
+        print "Indexed $indexed of ".@{$solr_diff->{changed}}." taxa and removed ".@$removed." of ".@$deleted." taxa in $tx_solr_core\n";
     }
+    print "Loaded ".@$loaded_taxa." of ".@{$diff->{changed}}." added or changed taxa\n";
     #END load_taxons
     my @_bad_returns;
     (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
@@ -3438,7 +5517,7 @@ sub index_taxa_in_solr
             if($@) {
                 print "Failed to index the taxa!\n";
                 print "ERROR:". Dumper( $@ );
-                if(defined($@->{status_line})) {
+                if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
                     print $@->{status_line}."\n";
                 }
             }
@@ -3461,7 +5540,7 @@ sub index_taxa_in_solr
             if($@) {
                 print "Failed to index the taxa!\n";
                 print "ERROR:".$@;
-                if(defined($@->{status_line})) {
+                if(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})) {
                     print $@->{status_line}."\n";
                 }
             }
@@ -3510,6 +5589,7 @@ UpdateLoadedGenomesParams is a reference to a hash where the following keys are
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	resume_token has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -3536,6 +5616,7 @@ UpdateLoadedGenomesParams is a reference to a hash where the following keys are
 	phytozome has a value which is a ReferenceDataManager.bool
 	workspace_name has a value which is a string
 	create_report has a value which is a ReferenceDataManager.bool
+	resume_token has a value which is a string
 bool is an int
 KBaseReferenceGenomeData is a reference to a hash where the following keys are defined:
 	ref has a value which is a string
@@ -3587,7 +5668,8 @@ sub update_loaded_genomes
         ensembl => 0, 
         update_only => 0,
         create_report => 0,
-        workspace_name => undef
+        workspace_name => undef,
+        resume_token => undef
     });
 
     my $msg = "";
@@ -3605,45 +5687,189 @@ sub update_loaded_genomes
     }
     my $ref_genomes = $self->list_reference_genomes({source => $gn_source, update_only => $params->{update_only}});
 
-    #for (my $i=0; $i < @{ $ref_genomes }; $i++) {
-    for (my $i=11800; $i < @{ $ref_genomes }; $i++) {#11800
-        print "\n***************Ref genome #". $i. "****************\n";
-        my $gnm = $ref_genomes->[$i];
+    #skip the genomes an earlier run with the same resume_token already processed
+    my $checkpoint = $self->_openCheckpoint("update_loaded_genomes", $params->{resume_token});
+    print "\nCheckpoint resume_token: " . $checkpoint->{token} . "\n";
+    my $todo_genomes = [grep { !$self->_checkpointDone($checkpoint, $_->{accession}) } @{$ref_genomes}];
+    if (@{$todo_genomes} < @{$ref_genomes}) {
+        print "Resuming after " . $checkpoint->{last} . ", skipping " . (@{$ref_genomes} - @{$todo_genomes}) . " genomes already processed\n";
+    }
+
+    #check which genomes are already present in the database by querying SOLR, many genomes per query
+    my $gn_statuses = $self->_checkGenomeStatusBatch( $todo_genomes, $gn_solr_core );
 
-        #check if the genome is already present in the database by querying SOLR
-        my $gn_status = $self->_checkGenomeStatus( $gnm, $gn_solr_core );
+    for (my $i=0; $i < @{ $todo_genomes }; $i++) {
+        print "\n***************Ref genome #". $i. "****************\n";
+        my $gnm = $todo_genomes->[$i];
+        my $gn_status = $gn_statuses->[$i]->{status};
+        $gnm->{genome_id} = $gn_statuses->[$i]->{genome_id} if $gn_status ne "new";
+        my $outcome = $gn_status;
        
         if ($gn_status=~/(new|updated)/i) { 
                 #check if the taxon of the genome (named in KBase as $gnm->{tax_id} . "_taxon") is loaded in a KBase workspace
                 if( ($self->_checkTaxonStatus($gnm, $tx_solr_core))=~/inKBase/i ){
                     $count ++;
                     print "A '" . $gn_status . "' genome with taxon in KBase found, update_total=" . $count;
-                    $self->load_genomes( {genomes => [$gnm], index_in_solr => 1} ); 
-                    push(@{$output},$gnm);
-                    if ($count < 10) {
-                        $msg .= $gnm->{accession}.";".$gnm->{status}.";".$gnm->{name}.";".$gnm->{ftp_dir}.";".$gnm->{file}.";".$gnm->{id}.";".$gnm->{version}.";".$gnm->{source}.";".$gnm->{domain}."\n";
+                    my $loaded = $self->load_genomes( {genomes => [$gnm], index_in_solr => 1} ); 
+                    if (@{$loaded} > 0) {
+                        $outcome = "loaded";
+                        push(@{$output},$gnm);
+                        if ($count < 10) {
+                            $msg .= $gnm->{accession}.";".$gnm->{status}.";".$gnm->{name}.";".$gnm->{ftp_dir}.";".$gnm->{file}.";".$gnm->{id}.";".$gnm->{version}.";".$gnm->{source}.";".$gnm->{domain}."\n";
+                        }
+                    }
+                    else {
+                        $outcome = "failed";
                     }
                 }
+                else {
+                    $outcome = "taxon_missing";
+                }
         }else{
                 # Current version already in KBase, check for annotation update
         }
+        $self->_checkpointCommit($checkpoint, $gnm->{accession}, $outcome);
+    }
+    $self->_closeCheckpoint($checkpoint);
+
+    if ($params->{create_report}) {
+        $self->util_create_report({
+                message => "Updated ".@{$output}." genomes! (resume_token: ".$checkpoint->{token}.")",
+                workspace => $params->{workspace}
+            });
+        $output = [$params->{workspace}."/update_loaded_genomes"];
+    }
+
+    #END update_loaded_genomes
+    my @_bad_returns;
+    (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
+    if (@_bad_returns) {
+	my $msg = "Invalid returns passed to update_loaded_genomes:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'update_loaded_genomes');
+    }
+    return($output);
+}
+
+
+
+
+=head2 check_genome_status
+
+  $output = $obj->check_genome_status($params)
+
+=over 4
+
+=item Parameter and return types
+
+=begin html
+
+<pre>
+$params is a ReferenceDataManager.CheckGenomeStatusParams
+$output is a reference to a list where each element is a ReferenceDataManager.GenomeStatusData
+CheckGenomeStatusParams is a reference to a hash where the following keys are defined:
+	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+	solr_core has a value which is a string
+	batch_size has a value which is an int
+ReferenceGenomeData is a reference to a hash where the following keys are defined:
+	accession has a value which is a string
+	version_status has a value which is a string
+	asm_name has a value which is a string
+	ftp_dir has a value which is a string
+	file has a value which is a string
+	id has a value which is a string
+	version has a value which is a string
+	source has a value which is a string
+	domain has a value which is a string
+	refseq_category has a value which is a string
+	tax_id has a value which is a string
+GenomeStatusData is a reference to a hash where the following keys are defined:
+	genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+	status has a value which is a string
+	genome_id has a value which is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+$params is a ReferenceDataManager.CheckGenomeStatusParams
+$output is a reference to a list where each element is a ReferenceDataManager.GenomeStatusData
+CheckGenomeStatusParams is a reference to a hash where the following keys are defined:
+	genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+	solr_core has a value which is a string
+	batch_size has a value which is an int
+ReferenceGenomeData is a reference to a hash where the following keys are defined:
+	accession has a value which is a string
+	version_status has a value which is a string
+	asm_name has a value which is a string
+	ftp_dir has a value which is a string
+	file has a value which is a string
+	id has a value which is a string
+	version has a value which is a string
+	source has a value which is a string
+	domain has a value which is a string
+	refseq_category has a value which is a string
+	tax_id has a value which is a string
+GenomeStatusData is a reference to a hash where the following keys are defined:
+	genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+	status has a value which is a string
+	genome_id has a value which is a string
+
+
+=end text
+
+
+
+=item Description
+
+Checks the KBase status of the specified genomes against SOLR, many genomes per query
+
+=back
+
+=cut
+
+sub check_genome_status
+{
+    my $self = shift;
+    my($params) = @_;
+
+    my @_bad_arguments;
+    (ref($params) eq 'HASH') or push(@_bad_arguments, "Invalid type for argument \"params\" (value was \"$params\")");
+    if (@_bad_arguments) {
+	my $msg = "Invalid arguments passed to check_genome_status:\n" . join("", map { "\t$_\n" } @_bad_arguments);
+	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
+							       method_name => 'check_genome_status');
     }
 
-    if ($params->{create_report}) {
-        $self->util_create_report({
-                message => "Updated ".@{$output}." genomes!",
-                workspace => $params->{workspace}
-            });
-        $output = [$params->{workspace}."/update_loaded_genomes"];
+    my $ctx = $ReferenceDataManager::ReferenceDataManagerServer::CallContext;
+    my($output);
+    #BEGIN check_genome_status
+    $params = $self->util_initialize_call($params,$ctx);
+    $params = $self->util_args($params,[],{
+        genomes => [],
+        solr_core => "GenomeFeatures_prod",
+        batch_size => 1000
+    });
+
+    $output = [];
+    my $gn_statuses = $self->_checkGenomeStatusBatch($params->{genomes}, $params->{solr_core}, $params->{batch_size});
+    for (my $i = 0; $i < @{$params->{genomes}}; $i++) {
+        push(@{$output}, {
+            genome => $params->{genomes}->[$i],
+            status => $gn_statuses->[$i]->{status},
+            genome_id => $gn_statuses->[$i]->{genome_id}
+        });
     }
 
-    #END update_loaded_genomes
+    #END check_genome_status
     my @_bad_returns;
     (ref($output) eq 'ARRAY') or push(@_bad_returns, "Invalid type for return variable \"output\" (value was \"$output\")");
     if (@_bad_returns) {
-	my $msg = "Invalid returns passed to update_loaded_genomes:\n" . join("", map { "\t$_\n" } @_bad_returns);
+	my $msg = "Invalid returns passed to check_genome_status:\n" . join("", map { "\t$_\n" } @_bad_returns);
 	Bio::KBase::Exceptions::ArgumentValidationError->throw(error => $msg,
-							       method_name => 'update_loaded_genomes');
+							       method_name => 'check_genome_status');
     }
     return($output);
 }
@@ -3830,6 +6056,7 @@ tax_id has a value which is a string
 =item Description
 
 Arguments for the list_loaded_genomes function
+max_parallel - maximum number of pages of 1000 workspace object ids listed at the same time, {default => 4}
 
 
 =item Definition
@@ -3843,6 +6070,7 @@ refseq has a value which is a ReferenceDataManager.bool
 phytozome has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+max_parallel has a value which is an int
 
 </pre>
 
@@ -3856,6 +6084,7 @@ refseq has a value which is a ReferenceDataManager.bool
 phytozome has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+max_parallel has a value which is an int
 
 
 =end text
@@ -4046,7 +6275,12 @@ save_date has a value which is a string
 
 =item Description
 
-Arguments for the list_solr_genomes and list_solr_taxa functions
+Arguments for the list_solr_genomes, list_solr_taxa and list_solr_docs_page functions
+cursor - for list_solr_docs_page, "*" for the first page and the next_cursor of the previous page for the
+others; row_count is then the page size and row_start is not used
+fields - the fields returned for each document, passed to SOLR's fl; all the fields if empty
+join_genome_fields - for list_solr_genomes, fill in the genome fields of the feature documents indexed with
+the linked doc_layout from their genome documents, {default => 0}
 
 
 =item Definition
@@ -4059,6 +6293,9 @@ solr_core has a value which is a string
 row_start has a value which is an int
 row_count has a value which is an int
 create_report has a value which is a ReferenceDataManager.bool
+cursor has a value which is a string
+fields has a value which is a reference to a list where each element is a string
+join_genome_fields has a value which is a ReferenceDataManager.bool
 
 </pre>
 
@@ -4071,6 +6308,9 @@ solr_core has a value which is a string
 row_start has a value which is an int
 row_count has a value which is an int
 create_report has a value which is a ReferenceDataManager.bool
+cursor has a value which is a string
+fields has a value which is a reference to a list where each element is a string
+join_genome_fields has a value which is a ReferenceDataManager.bool
 
 
 =end text
@@ -4088,6 +6328,8 @@ create_report has a value which is a ReferenceDataManager.bool
 =item Description
 
 Arguments for the load_genomes function
+max_parallel - maximum number of genomes imported by GenomeFileUtil at the same time, {default => 4}
+batch_size - number of loaded genomes sent to SOLR per index_genomes_in_solr call, {default => 100}
 
 
 =item Definition
@@ -4101,6 +6343,8 @@ genomes has a value which is a reference to a list where each element is a Refer
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+max_parallel has a value which is an int
+batch_size has a value which is an int
 
 </pre>
 
@@ -4114,6 +6358,8 @@ genomes has a value which is a reference to a list where each element is a Refer
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+max_parallel has a value which is an int
+batch_size has a value which is an int
 
 
 =end text
@@ -4183,6 +6429,23 @@ domain has a value which is a string
 
 Arguments for the index_genomes_in_solr function
 
+commit_policy - how the feature documents are committed while they are indexed; one hard commit is always
+issued at the end. One of:
+soft - updates carry commitWithin so the documents become searchable through soft commits (default)
+end - nothing is committed before the final hard commit
+batch - a hard commit after every batch of 10000 documents
+return_mode - what is returned once the genomes are indexed. One of:
+full - every indexed SolrGenomeFeatureData, genome and feature documents (default)
+summary - one IndexedGenomeSummary per genome
+none - an empty list
+doc_layout - where the genome fields (scientific_name, taxonomy, assembly_ref, gc_content...) are indexed.
+One of:
+flat - in the genome document and in every feature document (default)
+linked - in the genome document only; the feature documents keep genome_id and ws_ref, which link them
+to it, and list_solr_genomes fills the genome fields back in with join_genome_fields
+evict_superseded - delete the documents that earlier indexings left for the genomes, other copies and, for
+versioned NCBI accessions (GCF_/GCA_), other versions, once their new documents are in, {default => 0}
+
 
 =item Definition
 
@@ -4193,6 +6456,10 @@ a reference to a hash where the following keys are defined:
 genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 solr_core has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+commit_policy has a value which is a string
+return_mode has a value which is a string
+doc_layout has a value which is a string
+evict_superseded has a value which is a ReferenceDataManager.bool
 
 </pre>
 
@@ -4204,6 +6471,59 @@ a reference to a hash where the following keys are defined:
 genomes has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceGenomeData
 solr_core has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+commit_policy has a value which is a string
+return_mode has a value which is a string
+doc_layout has a value which is a string
+evict_superseded has a value which is a ReferenceDataManager.bool
+
+
+=end text
+
+=back
+
+
+
+=head2 IndexedGenomeSummary
+
+=over 4
+
+
+
+=item Description
+
+Outcome of indexing a single genome, returned by index_genomes_in_solr with the summary return_mode
+num_features - the number of features of the genome
+num_docs - the number of documents sent to SOLR, the genome document and one per feature
+seconds - the time spent fetching the genome and building and queueing its documents
+error - the first error hit while fetching or indexing the genome, or while committing; absent on success
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+ref has a value which is a string
+genome_id has a value which is a string
+num_features has a value which is an int
+num_docs has a value which is an int
+seconds has a value which is a float
+error has a value which is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+ref has a value which is a string
+genome_id has a value which is a string
+num_features has a value which is an int
+num_docs has a value which is an int
+seconds has a value which is a float
+error has a value which is a string
 
 
 =end text
@@ -4426,6 +6746,182 @@ comments has a value which is a string
 
 
 
+=head2 SolrDocsPage
+
+=over 4
+
+
+
+=item Description
+
+A page of the documents of a SOLR core, as returned by list_solr_docs_page
+docs - the documents, SolrGenomeFeatureData or SolrTaxonData depending on the core
+next_cursor - the cursor of the next page; it is the cursor of the request once the whole core has been read
+num_found - the number of documents in the core
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+next_cursor has a value which is a string
+num_found has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+docs has a value which is a reference to a list where each element is an UnspecifiedObject, which can hold any non-null object
+next_cursor has a value which is a string
+num_found has a value which is an int
+
+
+=end text
+
+=back
+
+
+
+=head2 SummarizeSolrGenomesParams
+
+=over 4
+
+
+
+=item Description
+
+Arguments for the summarize_solr_genomes function
+facet_fields - the genome fields whose values are counted,
+{default => ["domain", "genome_source"]}
+stats_fields - the numeric genome fields that are totalled, {default => ["genome_dna_size", "num_cds"]}
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+solr_core has a value which is a string
+facet_fields has a value which is a reference to a list where each element is a string
+stats_fields has a value which is a reference to a list where each element is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+solr_core has a value which is a string
+facet_fields has a value which is a reference to a list where each element is a string
+stats_fields has a value which is a reference to a list where each element is a string
+
+
+=end text
+
+=back
+
+
+
+=head2 SolrFieldStats
+
+=over 4
+
+
+
+=item Description
+
+Statistics of a numeric field over the genome documents of a SOLR core, a genome indexed more than once counting
+once per document
+count - the number of genome documents with a value, missing - the number of genome documents without one
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+sum has a value which is a float
+min has a value which is a float
+max has a value which is a float
+mean has a value which is a float
+count has a value which is an int
+missing has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+sum has a value which is a float
+min has a value which is a float
+max has a value which is a float
+mean has a value which is a float
+count has a value which is an int
+missing has a value which is an int
+
+
+=end text
+
+=back
+
+
+
+=head2 SolrGenomesSummary
+
+=over 4
+
+
+
+=item Description
+
+Summary of the genomes of a SOLR core, as returned by summarize_solr_genomes
+num_genomes - the number of distinct genome_id values
+num_docs - the number of genome documents; above num_genomes when a genome is indexed more than once
+facet_counts - for each facet field, the number of genomes per value
+stats - for each stats field, its statistics over the genome documents
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+num_genomes has a value which is an int
+num_docs has a value which is an int
+facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+num_genomes has a value which is an int
+num_docs has a value which is an int
+facet_counts has a value which is a reference to a hash where the key is a string and the value is a reference to a hash where the key is a string and the value is an int
+stats has a value which is a reference to a hash where the key is a string and the value is a ReferenceDataManager.SolrFieldStats
+
+
+=end text
+
+=back
+
+
+
 =head2 LoadTaxonsParams
 
 =over 4
@@ -4435,6 +6931,12 @@ comments has a value which is a string
 =item Description
 
 Arguments for the load_taxons function
+taxons - taxa to load instead of the NCBI taxonomy dump; only they are saved and indexed and no taxon is removed
+taxa_file - file written by TaxonomyEngine, one JSON taxon per line, loaded instead of the NCBI taxonomy dump
+save_batch_size - maximum number of taxa saved per workspace save_objects call, {default => 1000}
+save_batch_bytes - maximum size in bytes of the taxa data saved per save_objects call, {default => 20000000}
+save_retries - number of times a failed save_objects call is retried before its batch is split in halves
+that are saved separately, {default => 2}
 
 
 =item Definition
@@ -4445,9 +6947,13 @@ Arguments for the load_taxons function
 a reference to a hash where the following keys are defined:
 data has a value which is a string
 taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+taxa_file has a value which is a string
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+save_batch_size has a value which is an int
+save_batch_bytes has a value which is an int
+save_retries has a value which is an int
 
 </pre>
 
@@ -4458,9 +6964,13 @@ create_report has a value which is a ReferenceDataManager.bool
 a reference to a hash where the following keys are defined:
 data has a value which is a string
 taxons has a value which is a reference to a list where each element is a ReferenceDataManager.KBaseReferenceTaxonData
+taxa_file has a value which is a string
 index_in_solr has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+save_batch_size has a value which is an int
+save_batch_bytes has a value which is an int
+save_retries has a value which is an int
 
 
 =end text
@@ -4517,6 +7027,8 @@ create_report has a value which is a ReferenceDataManager.bool
 =item Description
 
 Arguments for the update_loaded_genomes function
+resume_token - name of the checkpoint of the run; a run given the token of an interrupted run skips the genomes that run already processed.
+If no token is given a new one is generated and printed in the log.
 
 
 =item Definition
@@ -4530,6 +7042,7 @@ refseq has a value which is a ReferenceDataManager.bool
 phytozome has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+resume_token has a value which is a string
 
 </pre>
 
@@ -4543,6 +7056,87 @@ refseq has a value which is a ReferenceDataManager.bool
 phytozome has a value which is a ReferenceDataManager.bool
 workspace_name has a value which is a string
 create_report has a value which is a ReferenceDataManager.bool
+resume_token has a value which is a string
+
+
+=end text
+
+=back
+
+
+
+=head2 CheckGenomeStatusParams
+
+=over 4
+
+
+
+=item Description
+
+Arguments for the check_genome_status function
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+solr_core has a value which is a string
+batch_size has a value which is an int
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+genomes has a value which is a reference to a list where each element is a ReferenceDataManager.ReferenceGenomeData
+solr_core has a value which is a string
+batch_size has a value which is an int
+
+
+=end text
+
+=back
+
+
+
+=head2 GenomeStatusData
+
+=over 4
+
+
+
+=item Description
+
+Struct containing the KBase status of a single genome output by the check_genome_status function
+status - "new" if no version of the genome is in SOLR, "updated" if another version is, "present" if this version is
+genome_id - the SOLR genome_id matched by the genome accession, or the accession itself if the status is "new"
+
+
+=item Definition
+
+=begin html
+
+<pre>
+a reference to a hash where the following keys are defined:
+genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+status has a value which is a string
+genome_id has a value which is a string
+
+</pre>
+
+=end html
+
+=begin text
+
+a reference to a hash where the following keys are defined:
+genome has a value which is a ReferenceDataManager.ReferenceGenomeData
+status has a value which is a string
+genome_id has a value which is a string
 
 
 =end text
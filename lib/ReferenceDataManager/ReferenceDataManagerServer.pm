@@ -35,9 +35,12 @@ our %return_counts = (
         'index_genomes_in_solr' => 1,
         'list_loaded_taxa' => 1,
         'list_solr_taxa' => 1,
+        'list_solr_docs_page' => 1,
+        'summarize_solr_genomes' => 1,
         'load_taxons' => 1,
         'index_taxa_in_solr' => 1,
         'update_loaded_genomes' => 1,
+        'check_genome_status' => 1,
         'status' => 1,
 );
 
@@ -49,9 +52,12 @@ our %method_authentication = (
         'index_genomes_in_solr' => 'required',
         'list_loaded_taxa' => 'none',
         'list_solr_taxa' => 'required',
+        'list_solr_docs_page' => 'required',
+        'summarize_solr_genomes' => 'required',
         'load_taxons' => 'required',
         'index_taxa_in_solr' => 'required',
         'update_loaded_genomes' => 'required',
+        'check_genome_status' => 'required',
 );
 
 sub _build_valid_methods
@@ -65,9 +71,12 @@ sub _build_valid_methods
         'index_genomes_in_solr' => 1,
         'list_loaded_taxa' => 1,
         'list_solr_taxa' => 1,
+        'list_solr_docs_page' => 1,
+        'summarize_solr_genomes' => 1,
         'load_taxons' => 1,
         'index_taxa_in_solr' => 1,
         'update_loaded_genomes' => 1,
+        'check_genome_status' => 1,
         'status' => 1,
     };
     return $methods;
@@ -110,6 +110,32 @@ function ReferenceDataManager(url, auth, auth_cb, timeout, async_job_check_time_
             [params], 1, _callback, _errorCallback);
     };
  
+     this.list_solr_docs_page = function (params, _callback, _errorCallback) {
+        if (typeof params === 'function')
+            throw 'Argument params can not be a function';
+        if (_callback && typeof _callback !== 'function')
+            throw 'Argument _callback must be a function if defined';
+        if (_errorCallback && typeof _errorCallback !== 'function')
+            throw 'Argument _errorCallback must be a function if defined';
+        if (typeof arguments === 'function' && arguments.length > 1+2)
+            throw 'Too many arguments ('+arguments.length+' instead of '+(1+2)+')';
+        return json_call_ajax(_url, "ReferenceDataManager.list_solr_docs_page",
+            [params], 1, _callback, _errorCallback);
+    };
+ 
+     this.summarize_solr_genomes = function (params, _callback, _errorCallback) {
+        if (typeof params === 'function')
+            throw 'Argument params can not be a function';
+        if (_callback && typeof _callback !== 'function')
+            throw 'Argument _callback must be a function if defined';
+        if (_errorCallback && typeof _errorCallback !== 'function')
+            throw 'Argument _errorCallback must be a function if defined';
+        if (typeof arguments === 'function' && arguments.length > 1+2)
+            throw 'Too many arguments ('+arguments.length+' instead of '+(1+2)+')';
+        return json_call_ajax(_url, "ReferenceDataManager.summarize_solr_genomes",
+            [params], 1, _callback, _errorCallback);
+    };
+ 
      this.load_taxons = function (params, _callback, _errorCallback) {
         if (typeof params === 'function')
             throw 'Argument params can not be a function';
@@ -148,6 +174,19 @@ function ReferenceDataManager(url, auth, auth_cb, timeout, async_job_check_time_
         return json_call_ajax(_url, "ReferenceDataManager.update_loaded_genomes",
             [params], 1, _callback, _errorCallback);
     };
+ 
+     this.check_genome_status = function (params, _callback, _errorCallback) {
+        if (typeof params === 'function')
+            throw 'Argument params can not be a function';
+        if (_callback && typeof _callback !== 'function')
+            throw 'Argument _callback must be a function if defined';
+        if (_errorCallback && typeof _errorCallback !== 'function')
+            throw 'Argument _errorCallback must be a function if defined';
+        if (typeof arguments === 'function' && arguments.length > 1+2)
+            throw 'Too many arguments ('+arguments.length+' instead of '+(1+2)+')';
+        return json_call_ajax(_url, "ReferenceDataManager.check_genome_status",
+            [params], 1, _callback, _errorCallback);
+    };
   
     this.status = function (_callback, _errorCallback) {
         if (_callback && typeof _callback !== 'function')
@@ -0,0 +1,218 @@
+package us.kbase.referencedatamanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Streaming parser for NCBI assembly_summary.txt files.</p>
+ * <pre>
+ * Reads the file through an NIO channel and scans each line for tabs in the
+ * raw bytes. Only the columns used by list_reference_genomes (accession,
+ * refseq_category, taxid, version_status, asm_name, ftp_path) are turned
+ * into Strings; all other columns are skipped without allocation. The
+ * output matches _list_ncbi_refseq in ReferenceDataManagerImpl.pm.
+ * </pre>
+ */
+public class AssemblySummaryParser implements Iterator<ReferenceGenomeData>, Closeable {
+
+    public static final String NCBI_GENOMES_URL = "ftp://ftp.ncbi.nlm.nih.gov/genomes/";
+
+    private static final int COL_ACCESSION = 0;
+    private static final int COL_REFSEQ_CATEGORY = 4;
+    private static final int COL_TAX_ID = 5;
+    private static final int COL_VERSION_STATUS = 10;
+    private static final int COL_ASM_NAME = 15;
+    private static final int COL_FTP_DIR = 19;
+    private static final int MAX_COL = COL_FTP_DIR;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final String source;
+    private final String domain;
+    private ByteBuffer buf;
+    private boolean eof = false;
+    private ReferenceGenomeData next = null;
+    // start and end offsets in buf of the wanted columns of the current line
+    private final int[] colStart = new int[MAX_COL + 1];
+    private final int[] colEnd = new int[MAX_COL + 1];
+
+    /** Creates a parser over an open channel.
+     * @param channel the channel holding assembly_summary.txt content.
+     * @param source the source stored on every genome, e.g. "refseq".
+     * @param domain the domain stored on every genome, e.g. "bacteria".
+     */
+    public AssemblySummaryParser(ReadableByteChannel channel, String source, String domain) {
+        this(channel, source, domain, DEFAULT_BUFFER_SIZE);
+    }
+
+    AssemblySummaryParser(ReadableByteChannel channel, String source, String domain, int bufferSize) {
+        this.channel = channel;
+        this.source = source;
+        this.domain = domain;
+        this.buf = ByteBuffer.allocate(bufferSize);
+        this.buf.flip();
+    }
+
+    /** Opens a parser over a local file.
+     * @param file the assembly_summary.txt file.
+     * @param source the source stored on every genome.
+     * @param domain the domain stored on every genome.
+     * @return the parser.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static AssemblySummaryParser open(Path file, String source, String domain) throws IOException {
+        return new AssemblySummaryParser(FileChannel.open(file, StandardOpenOption.READ), source, domain);
+    }
+
+    /** Opens a parser over the NCBI assembly summary of a division.
+     * @param source "refseq" or "genbank".
+     * @param division the NCBI division, e.g. "bacteria".
+     * @return the parser.
+     * @throws IOException if the summary cannot be fetched.
+     */
+    public static AssemblySummaryParser fromNcbi(String source, String division) throws IOException {
+        URL url = new URL(NCBI_GENOMES_URL + source + "/" + division + "/assembly_summary.txt");
+        return new AssemblySummaryParser(Channels.newChannel(url.openStream()), source, division);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = parseNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public ReferenceGenomeData next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        ReferenceGenomeData ret = next;
+        next = null;
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ReferenceGenomeData parseNext() throws IOException {
+        while (true) {
+            int lineEnd = findLineEnd();
+            if (lineEnd < 0)
+                return null;
+            int lineStart = buf.position();
+            buf.position(lineEnd < buf.limit() ? lineEnd + 1 : lineEnd);
+            int end = lineEnd;
+            if (end > lineStart && buf.get(end - 1) == '\r')
+                end--;
+            if (end == lineStart || buf.get(lineStart) == '#')
+                continue;
+            return toGenome(lineStart, end);
+        }
+    }
+
+    /* Returns the offset of the '\n' ending the line at the current position,
+     * or the limit if the last line has no newline, or -1 at end of input.
+     * Refills (and if needed grows) the buffer so the whole line is in it.
+     */
+    private int findLineEnd() throws IOException {
+        int scanFrom = buf.position();
+        while (true) {
+            byte[] a = buf.array();
+            for (int i = scanFrom; i < buf.limit(); i++) {
+                if (a[i] == '\n')
+                    return i;
+            }
+            if (eof)
+                return buf.hasRemaining() ? buf.limit() : -1;
+            int consumed = buf.position();
+            scanFrom = buf.limit() - consumed;
+            if (consumed == 0 && buf.limit() == buf.capacity()) {
+                ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+                bigger.put(buf);
+                buf = bigger;
+            } else {
+                buf.compact();
+            }
+            if (channel.read(buf) < 0)
+                eof = true;
+            buf.flip();
+        }
+    }
+
+    private ReferenceGenomeData toGenome(int start, int end) {
+        byte[] a = buf.array();
+        for (int c = 0; c <= MAX_COL; c++) {
+            colStart[c] = -1;
+            colEnd[c] = -1;
+        }
+        int col = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end && col <= MAX_COL; i++) {
+            if (i == end || a[i] == '\t') {
+                colStart[col] = fieldStart;
+                colEnd[col] = i;
+                col++;
+                fieldStart = i + 1;
+            }
+        }
+        ReferenceGenomeData g = new ReferenceGenomeData()
+            .withSource(source)
+            .withDomain(domain)
+            .withAccession(column(COL_ACCESSION))
+            .withVersionStatus(column(COL_VERSION_STATUS))
+            .withAsmName(column(COL_ASM_NAME))
+            .withFtpDir(column(COL_FTP_DIR))
+            .withRefseqCategory(column(COL_REFSEQ_CATEGORY))
+            .withTaxId(column(COL_TAX_ID));
+        String ftpDir = g.getFtpDir();
+        if (ftpDir != null)
+            g.setFile(ftpDir.substring(ftpDir.lastIndexOf('/') + 1));
+        String acc = g.getAccession();
+        if (acc != null) {
+            int dot = acc.lastIndexOf('.');
+            if (dot > 0 && dot < acc.length() - 1 && allDigits(acc, dot + 1)) {
+                g.setId(acc.substring(0, dot));
+                g.setVersion(acc.substring(dot + 1));
+            }
+        }
+        return g;
+    }
+
+    private String column(int col) {
+        if (colStart[col] < 0)
+            return null;
+        return new String(buf.array(), colStart[col], colEnd[col] - colStart[col], StandardCharsets.UTF_8);
+    }
+
+    private static boolean allDigits(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
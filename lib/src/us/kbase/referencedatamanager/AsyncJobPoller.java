@@ -0,0 +1,184 @@
+package us.kbase.referencedatamanager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import com.fasterxml.jackson.core.type.TypeReference;
+import us.kbase.common.service.JsonClientCaller;
+import us.kbase.common.service.RpcContext;
+import us.kbase.common.service.ServerException;
+
+/**
+ * Polls asynchronous jobs with _check_job and completes a future for each
+ * one. A single daemon thread only keeps the time: when a job is due, it
+ * hands the check to a small pool of daemon threads, which calls _check_job
+ * and, if the job is still running, schedules the next check with a longer
+ * delay. Outstanding jobs cost no thread while they wait, and a slow check
+ * holds up one pool thread, not the checks of the other jobs. The pool
+ * threads stop when they are idle. The delay starts at the check time and
+ * grows by the scale percent after every check up to the max time, the same
+ * back-off as the SDK's blocking async clients; it is never below 1 ms. A
+ * check that fails with an IOException, e.g. a dropped connection, is
+ * retried with the same back-off, up to the check retries in a row.
+ */
+class AsyncJobPoller {
+
+    static final String CHECK_JOB_METHOD = "ReferenceDataManager._check_job";
+    static final int CHECK_THREADS = 4;
+
+    private final JsonClientCaller caller;
+    private volatile long checkTimeMs = 100;
+    private volatile long checkTimeScalePercent = 150;
+    private volatile long checkMaxTimeMs = 300000;
+    private volatile int checkRetries = 5;
+    private ScheduledExecutorService scheduler = null;
+    private ExecutorService checkExecutor = null;
+
+    AsyncJobPoller(JsonClientCaller caller) {
+        this.caller = caller;
+    }
+
+    void setCheckTimeMs(long milliseconds) {
+        this.checkTimeMs = milliseconds;
+    }
+
+    void setCheckTimeScalePercent(long percent) {
+        this.checkTimeScalePercent = percent;
+    }
+
+    void setCheckMaxTimeMs(long milliseconds) {
+        this.checkMaxTimeMs = milliseconds;
+    }
+
+    void setCheckRetries(int retries) {
+        this.checkRetries = retries;
+    }
+
+    /** Starts polling a submitted job.
+     * @param jobId the job id returned by the _submit method.
+     * @param retType the type of the _check_job result for this method.
+     * @param context the optional RPC context.
+     * @param serviceVersion the service version, or null.
+     * @return a future completed with the first return value of the method,
+     * or exceptionally with a ServerException if the job failed or with the
+     * exception that prevented checking it, for an IOException once the
+     * check retries are spent. Cancelling the future stops the polling but
+     * not the job.
+     */
+    <T> CompletableFuture<T> track(String jobId, TypeReference<List<JobState<List<T>>>> retType,
+            RpcContext[] context, String serviceVersion) {
+        CompletableFuture<T> future = new CompletableFuture<T>();
+        Check<T> check = new Check<T>(jobId, retType, context, serviceVersion, future);
+        schedule(check);
+        return future;
+    }
+
+    private void schedule(final Check<?> check) {
+        getScheduler().schedule(new Runnable() {
+            @Override
+            public void run() {
+                getCheckExecutor().execute(check);
+            }
+        }, check.delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    daemonThreads("ReferenceDataManager-job-poller"));
+        }
+        return scheduler;
+    }
+
+    private synchronized ExecutorService getCheckExecutor() {
+        if (checkExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(CHECK_THREADS, CHECK_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    daemonThreads("ReferenceDataManager-job-check"));
+            executor.allowCoreThreadTimeOut(true);
+            checkExecutor = executor;
+        }
+        return checkExecutor;
+    }
+
+    private static ThreadFactory daemonThreads(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    private class Check<T> implements Runnable {
+        private final String jobId;
+        private final TypeReference<List<JobState<List<T>>>> retType;
+        private final RpcContext[] context;
+        private final String serviceVersion;
+        private final CompletableFuture<T> future;
+        private long delayMs = Math.max(1, checkTimeMs);
+        private int failures = 0;
+
+        Check(String jobId, TypeReference<List<JobState<List<T>>>> retType, RpcContext[] context,
+                String serviceVersion, CompletableFuture<T> future) {
+            this.jobId = jobId;
+            this.retType = retType;
+            this.context = context;
+            this.serviceVersion = serviceVersion;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone())
+                return;
+            try {
+                List<Object> args = new ArrayList<Object>();
+                args.add(jobId);
+                List<JobState<List<T>>> res = caller.jsonrpcCall(CHECK_JOB_METHOD, args, retType, true, true,
+                        context, serviceVersion);
+                JobState<List<T>> state = res.get(0);
+                if (state.isFinished()) {
+                    if (state.getError() != null) {
+                        future.completeExceptionally(toServerException(state.getError()));
+                    } else {
+                        List<T> result = state.getResult();
+                        future.complete(result == null || result.isEmpty() ? null : result.get(0));
+                    }
+                    return;
+                }
+                failures = 0;
+            } catch (IOException e) {
+                if (++failures > checkRetries) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            //rounded up, so that a delay of 1 ms still grows
+            delayMs = Math.max(1, Math.min((delayMs * checkTimeScalePercent + 99) / 100, checkMaxTimeMs));
+            schedule(this);
+        }
+
+        private ServerException toServerException(Map<String, Object> error) {
+            Object code = error.get("code");
+            return new ServerException(String.valueOf(error.get("message")),
+                    code instanceof Number ? ((Number)code).intValue() : 0,
+                    String.valueOf(error.get("name")),
+                    error.get("error") == null ? null : String.valueOf(error.get("error")));
+        }
+    }
+}
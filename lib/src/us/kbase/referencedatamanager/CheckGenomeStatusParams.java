@@ -0,0 +1,99 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: CheckGenomeStatusParams</p>
+ * <pre>
+ * Arguments for the check_genome_status function
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "genomes",
+    "solr_core",
+    "batch_size"
+})
+public class CheckGenomeStatusParams {
+
+    @JsonProperty("genomes")
+    private List<ReferenceGenomeData> genomes;
+    @JsonProperty("solr_core")
+    private String solrCore;
+    @JsonProperty("batch_size")
+    private Long batchSize;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("genomes")
+    public List<ReferenceGenomeData> getGenomes() {
+        return genomes;
+    }
+
+    @JsonProperty("genomes")
+    public void setGenomes(List<ReferenceGenomeData> genomes) {
+        this.genomes = genomes;
+    }
+
+    public CheckGenomeStatusParams withGenomes(List<ReferenceGenomeData> genomes) {
+        this.genomes = genomes;
+        return this;
+    }
+
+    @JsonProperty("solr_core")
+    public String getSolrCore() {
+        return solrCore;
+    }
+
+    @JsonProperty("solr_core")
+    public void setSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+    }
+
+    public CheckGenomeStatusParams withSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+        return this;
+    }
+
+    @JsonProperty("batch_size")
+    public Long getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty("batch_size")
+    public void setBatchSize(Long batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public CheckGenomeStatusParams withBatchSize(Long batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((("CheckGenomeStatusParams"+" [genomes=")+ genomes)+", solrCore=")+ solrCore)+", batchSize=")+ batchSize)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
@@ -0,0 +1,100 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: GenomeStatusData</p>
+ * <pre>
+ * Struct containing the KBase status of a single genome output by the check_genome_status function
+ * status - "new" if no version of the genome is in SOLR, "updated" if another version is, "present" if this version is
+ * genome_id - the SOLR genome_id matched by the genome accession, or the accession itself if the status is "new"
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "genome",
+    "status",
+    "genome_id"
+})
+public class GenomeStatusData {
+
+    @JsonProperty("genome")
+    private ReferenceGenomeData genome;
+    @JsonProperty("status")
+    private String status;
+    @JsonProperty("genome_id")
+    private String genomeId;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("genome")
+    public ReferenceGenomeData getGenome() {
+        return genome;
+    }
+
+    @JsonProperty("genome")
+    public void setGenome(ReferenceGenomeData genome) {
+        this.genome = genome;
+    }
+
+    public GenomeStatusData withGenome(ReferenceGenomeData genome) {
+        this.genome = genome;
+        return this;
+    }
+
+    @JsonProperty("status")
+    public String getStatus() {
+        return status;
+    }
+
+    @JsonProperty("status")
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public GenomeStatusData withStatus(String status) {
+        this.status = status;
+        return this;
+    }
+
+    @JsonProperty("genome_id")
+    public String getGenomeId() {
+        return genomeId;
+    }
+
+    @JsonProperty("genome_id")
+    public void setGenomeId(String genomeId) {
+        this.genomeId = genomeId;
+    }
+
+    public GenomeStatusData withGenomeId(String genomeId) {
+        this.genomeId = genomeId;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((("GenomeStatusData"+" [genome=")+ genome)+", status=")+ status)+", genomeId=")+ genomeId)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
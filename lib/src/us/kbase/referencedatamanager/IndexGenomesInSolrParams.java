@@ -16,6 +16,23 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  * <p>Original spec-file type: IndexGenomesInSolrParams</p>
  * <pre>
  * Arguments for the index_genomes_in_solr function
+ * 
+ * commit_policy - how the feature documents are committed while they are indexed; one hard commit is always
+ * issued at the end. One of:
+ * soft - updates carry commitWithin so the documents become searchable through soft commits (default)
+ * end - nothing is committed before the final hard commit
+ * batch - a hard commit after every batch of 10000 documents
+ * return_mode - what is returned once the genomes are indexed. One of:
+ * full - every indexed SolrGenomeFeatureData, genome and feature documents (default)
+ * summary - one IndexedGenomeSummary per genome
+ * none - an empty list
+ * doc_layout - where the genome fields (scientific_name, taxonomy, assembly_ref, gc_content...) are indexed.
+ * One of:
+ * flat - in the genome document and in every feature document (default)
+ * linked - in the genome document only; the feature documents keep genome_id and ws_ref, which link them
+ * to it, and list_solr_genomes fills the genome fields back in with join_genome_fields
+ * evict_superseded - delete the documents that earlier indexings left for the genomes, other copies and, for
+ * versioned NCBI accessions (GCF_/GCA_), other versions, once their new documents are in, {default => 0}
  * </pre>
  * 
  */
@@ -23,17 +40,29 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @Generated("com.googlecode.jsonschema2pojo")
 @JsonPropertyOrder({
     "genomes",
-    "workspace_name",
-    "create_report"
+    "solr_core",
+    "create_report",
+    "commit_policy",
+    "return_mode",
+    "doc_layout",
+    "evict_superseded"
 })
 public class IndexGenomesInSolrParams {
 
     @JsonProperty("genomes")
     private List<KBaseReferenceGenomeData> genomes;
-    @JsonProperty("workspace_name")
-    private String workspaceName;
+    @JsonProperty("solr_core")
+    private String solrCore;
     @JsonProperty("create_report")
     private Long createReport;
+    @JsonProperty("commit_policy")
+    private String commitPolicy;
+    @JsonProperty("return_mode")
+    private String returnMode;
+    @JsonProperty("doc_layout")
+    private String docLayout;
+    @JsonProperty("evict_superseded")
+    private Long evictSuperseded;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("genomes")
@@ -51,18 +80,18 @@ public class IndexGenomesInSolrParams {
         return this;
     }
 
-    @JsonProperty("workspace_name")
-    public String getWorkspaceName() {
-        return workspaceName;
+    @JsonProperty("solr_core")
+    public String getSolrCore() {
+        return solrCore;
     }
 
-    @JsonProperty("workspace_name")
-    public void setWorkspaceName(String workspaceName) {
-        this.workspaceName = workspaceName;
+    @JsonProperty("solr_core")
+    public void setSolrCore(String solrCore) {
+        this.solrCore = solrCore;
     }
 
-    public IndexGenomesInSolrParams withWorkspaceName(String workspaceName) {
-        this.workspaceName = workspaceName;
+    public IndexGenomesInSolrParams withSolrCore(String solrCore) {
+        this.solrCore = solrCore;
         return this;
     }
 
@@ -81,6 +110,66 @@ public class IndexGenomesInSolrParams {
         return this;
     }
 
+    @JsonProperty("commit_policy")
+    public String getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    @JsonProperty("commit_policy")
+    public void setCommitPolicy(String commitPolicy) {
+        this.commitPolicy = commitPolicy;
+    }
+
+    public IndexGenomesInSolrParams withCommitPolicy(String commitPolicy) {
+        this.commitPolicy = commitPolicy;
+        return this;
+    }
+
+    @JsonProperty("return_mode")
+    public String getReturnMode() {
+        return returnMode;
+    }
+
+    @JsonProperty("return_mode")
+    public void setReturnMode(String returnMode) {
+        this.returnMode = returnMode;
+    }
+
+    public IndexGenomesInSolrParams withReturnMode(String returnMode) {
+        this.returnMode = returnMode;
+        return this;
+    }
+
+    @JsonProperty("doc_layout")
+    public String getDocLayout() {
+        return docLayout;
+    }
+
+    @JsonProperty("doc_layout")
+    public void setDocLayout(String docLayout) {
+        this.docLayout = docLayout;
+    }
+
+    public IndexGenomesInSolrParams withDocLayout(String docLayout) {
+        this.docLayout = docLayout;
+        return this;
+    }
+
+    @JsonProperty("evict_superseded")
+    public Long getEvictSuperseded() {
+        return evictSuperseded;
+    }
+
+    @JsonProperty("evict_superseded")
+    public void setEvictSuperseded(Long evictSuperseded) {
+        this.evictSuperseded = evictSuperseded;
+    }
+
+    public IndexGenomesInSolrParams withEvictSuperseded(Long evictSuperseded) {
+        this.evictSuperseded = evictSuperseded;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -93,7 +182,7 @@ public class IndexGenomesInSolrParams {
 
     @Override
     public String toString() {
-        return ((((((((("IndexGenomesInSolrParams"+" [genomes=")+ genomes)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((((("IndexGenomesInSolrParams"+" [genomes=")+ genomes)+", solrCore=")+ solrCore)+", createReport=")+ createReport)+", commitPolicy=")+ commitPolicy)+", returnMode=")+ returnMode)+", docLayout=")+ docLayout)+", evictSuperseded=")+ evictSuperseded)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
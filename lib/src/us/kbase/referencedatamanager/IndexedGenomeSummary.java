@@ -0,0 +1,156 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: IndexedGenomeSummary</p>
+ * <pre>
+ * Outcome of indexing a single genome, returned by index_genomes_in_solr with the summary return_mode
+ * num_features - the number of features of the genome
+ * num_docs - the number of documents sent to SOLR, the genome document and one per feature
+ * seconds - the time spent fetching the genome and building and queueing its documents
+ * error - the first error hit while fetching or indexing the genome, or while committing; absent on success
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "ref",
+    "genome_id",
+    "num_features",
+    "num_docs",
+    "seconds",
+    "error"
+})
+public class IndexedGenomeSummary {
+
+    @JsonProperty("ref")
+    private String ref;
+    @JsonProperty("genome_id")
+    private String genomeId;
+    @JsonProperty("num_features")
+    private Long numFeatures;
+    @JsonProperty("num_docs")
+    private Long numDocs;
+    @JsonProperty("seconds")
+    private Double seconds;
+    @JsonProperty("error")
+    private String error;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("ref")
+    public String getRef() {
+        return ref;
+    }
+
+    @JsonProperty("ref")
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public IndexedGenomeSummary withRef(String ref) {
+        this.ref = ref;
+        return this;
+    }
+
+    @JsonProperty("genome_id")
+    public String getGenomeId() {
+        return genomeId;
+    }
+
+    @JsonProperty("genome_id")
+    public void setGenomeId(String genomeId) {
+        this.genomeId = genomeId;
+    }
+
+    public IndexedGenomeSummary withGenomeId(String genomeId) {
+        this.genomeId = genomeId;
+        return this;
+    }
+
+    @JsonProperty("num_features")
+    public Long getNumFeatures() {
+        return numFeatures;
+    }
+
+    @JsonProperty("num_features")
+    public void setNumFeatures(Long numFeatures) {
+        this.numFeatures = numFeatures;
+    }
+
+    public IndexedGenomeSummary withNumFeatures(Long numFeatures) {
+        this.numFeatures = numFeatures;
+        return this;
+    }
+
+    @JsonProperty("num_docs")
+    public Long getNumDocs() {
+        return numDocs;
+    }
+
+    @JsonProperty("num_docs")
+    public void setNumDocs(Long numDocs) {
+        this.numDocs = numDocs;
+    }
+
+    public IndexedGenomeSummary withNumDocs(Long numDocs) {
+        this.numDocs = numDocs;
+        return this;
+    }
+
+    @JsonProperty("seconds")
+    public Double getSeconds() {
+        return seconds;
+    }
+
+    @JsonProperty("seconds")
+    public void setSeconds(Double seconds) {
+        this.seconds = seconds;
+    }
+
+    public IndexedGenomeSummary withSeconds(Double seconds) {
+        this.seconds = seconds;
+        return this;
+    }
+
+    @JsonProperty("error")
+    public String getError() {
+        return error;
+    }
+
+    @JsonProperty("error")
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public IndexedGenomeSummary withError(String error) {
+        this.error = error;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((((((((("IndexedGenomeSummary"+" [ref=")+ ref)+", genomeId=")+ genomeId)+", numFeatures=")+ numFeatures)+", numDocs=")+ numDocs)+", seconds=")+ seconds)+", error=")+ error)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
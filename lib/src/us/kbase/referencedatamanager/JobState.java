@@ -0,0 +1,87 @@
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * <p>State of an asynchronous job as returned by _check_job.</p>
+ * <pre>
+ * finished is 0 while the job is queued or running. Once it is 1, result
+ * holds the list of the method's return values, or error holds the JSON-RPC
+ * error (name, code, message, error) if the method failed. Other fields
+ * reported by the execution engine, such as job_id and status, are kept in
+ * the additional properties.
+ * </pre>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+    "finished",
+    "result",
+    "error"
+})
+public class JobState<T> {
+
+    @JsonProperty("finished")
+    private Long finished;
+    @JsonProperty("result")
+    private T result;
+    @JsonProperty("error")
+    private Map<String, Object> error;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("finished")
+    public Long getFinished() {
+        return finished;
+    }
+
+    @JsonProperty("finished")
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+
+    @JsonProperty("result")
+    public T getResult() {
+        return result;
+    }
+
+    @JsonProperty("result")
+    public void setResult(T result) {
+        this.result = result;
+    }
+
+    @JsonProperty("error")
+    public Map<String, Object> getError() {
+        return error;
+    }
+
+    @JsonProperty("error")
+    public void setError(Map<String, Object> error) {
+        this.error = error;
+    }
+
+    /** Returns true once the job has finished, successfully or not. */
+    public boolean isFinished() {
+        return finished != null && finished != 0L;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return "JobState [finished=" + finished + ", result=" + result + ", error=" + error +
+                ", additionalProperties=" + additionalProperties + "]";
+    }
+}
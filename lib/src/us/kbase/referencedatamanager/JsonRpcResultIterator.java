@@ -0,0 +1,135 @@
+package us.kbase.referencedatamanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Iterator over the elements of a list returned by a JSON-RPC method.</p>
+ * <pre>
+ * The elements are parsed one at a time from the HTTP response while it is
+ * still arriving, so only the current element is held in memory. The
+ * underlying connection stays open until the list is exhausted or the
+ * iterator is closed; callers that stop early must call close().
+ * </pre>
+ */
+public class JsonRpcResultIterator<T> implements Iterator<T>, Closeable {
+
+    /**
+     * Reads a single list element. The parser is positioned on the first
+     * token of the element and must be left on its last token.
+     */
+    public interface ElementReader<T> {
+        T read(JsonParser jp) throws IOException;
+    }
+
+    private final HttpURLConnection conn;
+    private final JsonParser jp;
+    private final ElementReader<T> reader;
+    private T next = null;
+    private boolean done;
+
+    JsonRpcResultIterator(HttpURLConnection conn, JsonParser jp, ElementReader<T> reader) {
+        this.conn = conn;
+        this.jp = jp;
+        this.reader = reader;
+        this.done = (jp == null);
+        if (done)
+            closeQuietly();
+    }
+
+    /** Creates a reader that binds every element to the given type.
+     * @param mapper the mapper used for binding.
+     * @param type the element type.
+     * @return the element reader.
+     */
+    public static <T> ElementReader<T> typedReader(final ObjectMapper mapper, final JavaType type) {
+        return new ElementReader<T>() {
+            @Override
+            public T read(JsonParser jp) throws IOException {
+                return mapper.readValue(jp, type);
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null)
+            return true;
+        if (done)
+            return false;
+        try {
+            JsonToken t = jp.nextToken();
+            if (t == null || t == JsonToken.END_ARRAY) {
+                done = true;
+                close();
+                return false;
+            }
+            next = reader.read(jp);
+            return true;
+        } catch (IOException e) {
+            done = true;
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T ret = next;
+        next = null;
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /** Returns a sequential stream over the remaining elements. Closing the
+     * stream closes this iterator.
+     * @return the stream.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        closeQuietly();
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        next = null;
+        try {
+            if (jp != null)
+                jp.close();
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // nothing to recover at this point
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package us.kbase.referencedatamanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import us.kbase.auth.AuthToken;
+import us.kbase.common.service.JsonClientCaller;
+import us.kbase.common.service.JsonClientException;
+import us.kbase.common.service.RpcContext;
+import us.kbase.common.service.ServerException;
+
+/**
+ * Issues JSON-RPC calls whose list result is consumed incrementally rather
+ * than bound in one piece. Connection settings (URL, token, http policy) are
+ * read from the wrapped {@link JsonClientCaller} on every call so that the
+ * two callers never disagree.
+ */
+class JsonRpcStreamingCaller {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonClientCaller caller;
+    private Integer connectionReadTimeOut = null;
+
+    JsonRpcStreamingCaller(JsonClientCaller caller) {
+        this.caller = caller;
+    }
+
+    void setConnectionReadTimeOut(Integer milliseconds) {
+        this.connectionReadTimeOut = milliseconds;
+    }
+
+    /** Calls a method that returns a single list and positions a parser on
+     * that list.
+     * @param method the fully qualified method name.
+     * @param args the method arguments.
+     * @param reader reads a single list element.
+     * @param authRequired true if the method requires authentication.
+     * @param context the optional RPC context.
+     * @param serviceVersion the service version, or null.
+     * @return an iterator over the elements of the returned list.
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    <T> JsonRpcResultIterator<T> listCall(String method, List<Object> args,
+            JsonRpcResultIterator.ElementReader<T> reader, boolean authRequired,
+            RpcContext[] context, String serviceVersion) throws IOException, JsonClientException {
+        URL url = caller.getURL();
+        AuthToken token = caller.getToken();
+        if (authRequired && token == null)
+            throw new JsonClientException("RPC method " + method +
+                    " requires authentication but credentials were not provided");
+        if (token != null && "http".equals(url.getProtocol()) && !caller.isInsecureHttpConnectionAllowed())
+            throw new JsonClientException("RPC method " + method +
+                    " requires authentication but the connection to " + url + " is insecure");
+        HttpURLConnection conn = (HttpURLConnection)url.openConnection();
+        conn.setDoOutput(true);
+        conn.setRequestMethod("POST");
+        conn.setRequestProperty("Content-Type", "application/json");
+        if (connectionReadTimeOut != null)
+            conn.setReadTimeout(connectionReadTimeOut);
+        if (token != null)
+            conn.setRequestProperty("Authorization", token.getToken());
+        Map<String, Object> req = new LinkedHashMap<String, Object>();
+        req.put("params", args);
+        req.put("method", method);
+        req.put("version", "1.1");
+        req.put("id", UUID.randomUUID().toString());
+        Map<String, Object> ctx = new LinkedHashMap<String, Object>();
+        if (context != null && context.length > 0 && context[0] != null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> c = MAPPER.convertValue(context[0], Map.class);
+            ctx.putAll(c);
+        }
+        if (serviceVersion != null)
+            ctx.put("service_ver", serviceVersion);
+        if (!ctx.isEmpty())
+            req.put("context", ctx);
+        OutputStream os = conn.getOutputStream();
+        try {
+            MAPPER.writeValue(os, req);
+        } finally {
+            os.close();
+        }
+        int code = conn.getResponseCode();
+        InputStream is = code < 400 ? conn.getInputStream() : conn.getErrorStream();
+        if (is == null) {
+            conn.disconnect();
+            throw new JsonClientException("Server returned HTTP " + code + " " +
+                    conn.getResponseMessage() + " for " + method);
+        }
+        JsonParser jp = MAPPER.getFactory().createParser(is);
+        try {
+            return new JsonRpcResultIterator<T>(conn, seekResultList(jp, method, code), reader);
+        } catch (IOException e) {
+            jp.close();
+            conn.disconnect();
+            throw e;
+        } catch (JsonClientException e) {
+            jp.close();
+            conn.disconnect();
+            throw e;
+        }
+    }
+
+    /* Walks the top level of the response until it reaches the first
+     * element of "result". Returns null if that element is null.
+     */
+    private static JsonParser seekResultList(JsonParser jp, String method, int code)
+            throws IOException, JsonClientException {
+        if (jp.nextToken() != JsonToken.START_OBJECT)
+            throw new JsonClientException("Malformed response to " + method + " (HTTP " + code + ")");
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            JsonToken t = jp.nextToken();
+            if ("result".equals(field) && t == JsonToken.START_ARRAY) {
+                t = jp.nextToken();
+                if (t == JsonToken.VALUE_NULL)
+                    return null;
+                if (t != JsonToken.START_ARRAY)
+                    throw new JsonClientException("Result of " + method + " is not a list");
+                return jp;
+            } else if ("error".equals(field) && t == JsonToken.START_OBJECT) {
+                JsonNode err = MAPPER.readTree(jp);
+                throw new ServerException(err.path("message").asText(), err.path("code").asInt(),
+                        err.path("name").asText(), err.has("error") ? err.get("error").asText() : null);
+            }
+            jp.skipChildren();
+        }
+        throw new JsonClientException("Response to " + method + " (HTTP " + code + ") has no result");
+    }
+}
@@ -15,6 +15,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  * <p>Original spec-file type: ListLoadedGenomesParams</p>
  * <pre>
  * Arguments for the list_loaded_genomes function
+ * max_parallel - maximum number of pages of 1000 workspace object ids listed at the same time, {default => 4}
  * </pre>
  * 
  */
@@ -25,7 +26,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
     "refseq",
     "phytozome",
     "workspace_name",
-    "create_report"
+    "create_report",
+    "max_parallel"
 })
 public class ListLoadedGenomesParams {
 
@@ -39,6 +41,8 @@ public class ListLoadedGenomesParams {
     private String workspaceName;
     @JsonProperty("create_report")
     private Long createReport;
+    @JsonProperty("max_parallel")
+    private Long maxParallel;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("ensembl")
@@ -116,6 +120,21 @@ public class ListLoadedGenomesParams {
         return this;
     }
 
+    @JsonProperty("max_parallel")
+    public Long getMaxParallel() {
+        return maxParallel;
+    }
+
+    @JsonProperty("max_parallel")
+    public void setMaxParallel(Long maxParallel) {
+        this.maxParallel = maxParallel;
+    }
+
+    public ListLoadedGenomesParams withMaxParallel(Long maxParallel) {
+        this.maxParallel = maxParallel;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -128,7 +147,7 @@ public class ListLoadedGenomesParams {
 
     @Override
     public String toString() {
-        return ((((((((((((("ListLoadedGenomesParams"+" [ensembl=")+ ensembl)+", refseq=")+ refseq)+", phytozome=")+ phytozome)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((("ListLoadedGenomesParams"+" [ensembl=")+ ensembl)+", refseq=")+ refseq)+", phytozome=")+ phytozome)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", maxParallel=")+ maxParallel)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
@@ -0,0 +1,176 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: ListSolrDocsParams</p>
+ * <pre>
+ * Arguments for the list_solr_genomes, list_solr_taxa and list_solr_docs_page functions
+ * cursor - for list_solr_docs_page, "*" for the first page and the next_cursor of the previous page for the
+ * others; row_count is then the page size and row_start is not used
+ * fields - the fields returned for each document, passed to SOLR's fl; all the fields if empty
+ * join_genome_fields - for list_solr_genomes, fill in the genome fields of the feature documents indexed with
+ * the linked doc_layout from their genome documents, {default => 0}
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "solr_core",
+    "row_start",
+    "row_count",
+    "create_report",
+    "cursor",
+    "fields",
+    "join_genome_fields"
+})
+public class ListSolrDocsParams {
+
+    @JsonProperty("solr_core")
+    private String solrCore;
+    @JsonProperty("row_start")
+    private Long rowStart;
+    @JsonProperty("row_count")
+    private Long rowCount;
+    @JsonProperty("create_report")
+    private Long createReport;
+    @JsonProperty("cursor")
+    private String cursor;
+    @JsonProperty("fields")
+    private List<String> fields;
+    @JsonProperty("join_genome_fields")
+    private Long joinGenomeFields;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("solr_core")
+    public String getSolrCore() {
+        return solrCore;
+    }
+
+    @JsonProperty("solr_core")
+    public void setSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+    }
+
+    public ListSolrDocsParams withSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+        return this;
+    }
+
+    @JsonProperty("row_start")
+    public Long getRowStart() {
+        return rowStart;
+    }
+
+    @JsonProperty("row_start")
+    public void setRowStart(Long rowStart) {
+        this.rowStart = rowStart;
+    }
+
+    public ListSolrDocsParams withRowStart(Long rowStart) {
+        this.rowStart = rowStart;
+        return this;
+    }
+
+    @JsonProperty("row_count")
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    @JsonProperty("row_count")
+    public void setRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public ListSolrDocsParams withRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+        return this;
+    }
+
+    @JsonProperty("create_report")
+    public Long getCreateReport() {
+        return createReport;
+    }
+
+    @JsonProperty("create_report")
+    public void setCreateReport(Long createReport) {
+        this.createReport = createReport;
+    }
+
+    public ListSolrDocsParams withCreateReport(Long createReport) {
+        this.createReport = createReport;
+        return this;
+    }
+
+    @JsonProperty("cursor")
+    public String getCursor() {
+        return cursor;
+    }
+
+    @JsonProperty("cursor")
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public ListSolrDocsParams withCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    @JsonProperty("fields")
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @JsonProperty("fields")
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public ListSolrDocsParams withFields(List<String> fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    @JsonProperty("join_genome_fields")
+    public Long getJoinGenomeFields() {
+        return joinGenomeFields;
+    }
+
+    @JsonProperty("join_genome_fields")
+    public void setJoinGenomeFields(Long joinGenomeFields) {
+        this.joinGenomeFields = joinGenomeFields;
+    }
+
+    public ListSolrDocsParams withJoinGenomeFields(Long joinGenomeFields) {
+        this.joinGenomeFields = joinGenomeFields;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((((((((((("ListSolrDocsParams"+" [solrCore=")+ solrCore)+", rowStart=")+ rowStart)+", rowCount=")+ rowCount)+", createReport=")+ createReport)+", cursor=")+ cursor)+", fields=")+ fields)+", joinGenomeFields=")+ joinGenomeFields)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
@@ -16,6 +16,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  * <p>Original spec-file type: LoadGenomesParams</p>
  * <pre>
  * Arguments for the load_genomes function
+ * max_parallel - maximum number of genomes imported by GenomeFileUtil at the same time, {default => 4}
+ * batch_size - number of loaded genomes sent to SOLR per index_genomes_in_solr call, {default => 100}
  * </pre>
  * 
  */
@@ -26,7 +28,9 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
     "genomes",
     "index_in_solr",
     "workspace_name",
-    "create_report"
+    "create_report",
+    "max_parallel",
+    "batch_size"
 })
 public class LoadGenomesParams {
 
@@ -40,6 +44,10 @@ public class LoadGenomesParams {
     private String workspaceName;
     @JsonProperty("create_report")
     private Long createReport;
+    @JsonProperty("max_parallel")
+    private Long maxParallel;
+    @JsonProperty("batch_size")
+    private Long batchSize;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("data")
@@ -117,6 +125,36 @@ public class LoadGenomesParams {
         return this;
     }
 
+    @JsonProperty("max_parallel")
+    public Long getMaxParallel() {
+        return maxParallel;
+    }
+
+    @JsonProperty("max_parallel")
+    public void setMaxParallel(Long maxParallel) {
+        this.maxParallel = maxParallel;
+    }
+
+    public LoadGenomesParams withMaxParallel(Long maxParallel) {
+        this.maxParallel = maxParallel;
+        return this;
+    }
+
+    @JsonProperty("batch_size")
+    public Long getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty("batch_size")
+    public void setBatchSize(Long batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public LoadGenomesParams withBatchSize(Long batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -129,7 +167,7 @@ public class LoadGenomesParams {
 
     @Override
     public String toString() {
-        return ((((((((((((("LoadGenomesParams"+" [data=")+ data)+", genomes=")+ genomes)+", indexInSolr=")+ indexInSolr)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((((("LoadGenomesParams"+" [data=")+ data)+", genomes=")+ genomes)+", indexInSolr=")+ indexInSolr)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", maxParallel=")+ maxParallel)+", batchSize=")+ batchSize)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
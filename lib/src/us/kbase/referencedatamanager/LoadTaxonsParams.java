@@ -16,6 +16,12 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  * <p>Original spec-file type: LoadTaxonsParams</p>
  * <pre>
  * Arguments for the load_taxons function
+ * taxons - taxa to load instead of the NCBI taxonomy dump; only they are saved and indexed and no taxon is removed
+ * taxa_file - file written by TaxonomyEngine, one JSON taxon per line, loaded instead of the NCBI taxonomy dump
+ * save_batch_size - maximum number of taxa saved per workspace save_objects call, {default => 1000}
+ * save_batch_bytes - maximum size in bytes of the taxa data saved per save_objects call, {default => 20000000}
+ * save_retries - number of times a failed save_objects call is retried before its batch is split in halves
+ * that are saved separately, {default => 2}
  * </pre>
  * 
  */
@@ -24,22 +30,34 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @JsonPropertyOrder({
     "data",
     "taxons",
+    "taxa_file",
     "index_in_solr",
     "workspace_name",
-    "create_report"
+    "create_report",
+    "save_batch_size",
+    "save_batch_bytes",
+    "save_retries"
 })
 public class LoadTaxonsParams {
 
     @JsonProperty("data")
     private String data;
     @JsonProperty("taxons")
-    private List<ReferenceTaxonData> taxons;
+    private List<KBaseReferenceTaxonData> taxons;
+    @JsonProperty("taxa_file")
+    private String taxaFile;
     @JsonProperty("index_in_solr")
     private Long indexInSolr;
     @JsonProperty("workspace_name")
     private String workspaceName;
     @JsonProperty("create_report")
     private Long createReport;
+    @JsonProperty("save_batch_size")
+    private Long saveBatchSize;
+    @JsonProperty("save_batch_bytes")
+    private Long saveBatchBytes;
+    @JsonProperty("save_retries")
+    private Long saveRetries;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("data")
@@ -58,20 +76,35 @@ public class LoadTaxonsParams {
     }
 
     @JsonProperty("taxons")
-    public List<ReferenceTaxonData> getTaxons() {
+    public List<KBaseReferenceTaxonData> getTaxons() {
         return taxons;
     }
 
     @JsonProperty("taxons")
-    public void setTaxons(List<ReferenceTaxonData> taxons) {
+    public void setTaxons(List<KBaseReferenceTaxonData> taxons) {
         this.taxons = taxons;
     }
 
-    public LoadTaxonsParams withTaxons(List<ReferenceTaxonData> taxons) {
+    public LoadTaxonsParams withTaxons(List<KBaseReferenceTaxonData> taxons) {
         this.taxons = taxons;
         return this;
     }
 
+    @JsonProperty("taxa_file")
+    public String getTaxaFile() {
+        return taxaFile;
+    }
+
+    @JsonProperty("taxa_file")
+    public void setTaxaFile(String taxaFile) {
+        this.taxaFile = taxaFile;
+    }
+
+    public LoadTaxonsParams withTaxaFile(String taxaFile) {
+        this.taxaFile = taxaFile;
+        return this;
+    }
+
     @JsonProperty("index_in_solr")
     public Long getIndexInSolr() {
         return indexInSolr;
@@ -117,6 +150,51 @@ public class LoadTaxonsParams {
         return this;
     }
 
+    @JsonProperty("save_batch_size")
+    public Long getSaveBatchSize() {
+        return saveBatchSize;
+    }
+
+    @JsonProperty("save_batch_size")
+    public void setSaveBatchSize(Long saveBatchSize) {
+        this.saveBatchSize = saveBatchSize;
+    }
+
+    public LoadTaxonsParams withSaveBatchSize(Long saveBatchSize) {
+        this.saveBatchSize = saveBatchSize;
+        return this;
+    }
+
+    @JsonProperty("save_batch_bytes")
+    public Long getSaveBatchBytes() {
+        return saveBatchBytes;
+    }
+
+    @JsonProperty("save_batch_bytes")
+    public void setSaveBatchBytes(Long saveBatchBytes) {
+        this.saveBatchBytes = saveBatchBytes;
+    }
+
+    public LoadTaxonsParams withSaveBatchBytes(Long saveBatchBytes) {
+        this.saveBatchBytes = saveBatchBytes;
+        return this;
+    }
+
+    @JsonProperty("save_retries")
+    public Long getSaveRetries() {
+        return saveRetries;
+    }
+
+    @JsonProperty("save_retries")
+    public void setSaveRetries(Long saveRetries) {
+        this.saveRetries = saveRetries;
+    }
+
+    public LoadTaxonsParams withSaveRetries(Long saveRetries) {
+        this.saveRetries = saveRetries;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -129,7 +207,7 @@ public class LoadTaxonsParams {
 
     @Override
     public String toString() {
-        return ((((((((((((("LoadTaxonsParams"+" [data=")+ data)+", taxons=")+ taxons)+", indexInSolr=")+ indexInSolr)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((((((((("LoadTaxonsParams"+" [data=")+ data)+", taxons=")+ taxons)+", taxaFile=")+ taxaFile)+", indexInSolr=")+ indexInSolr)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", saveBatchSize=")+ saveBatchSize)+", saveBatchBytes=")+ saveBatchBytes)+", saveRetries=")+ saveRetries)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
@@ -0,0 +1,454 @@
+package us.kbase.referencedatamanager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * <p>Local on-disk index of the genomes loaded into KBase.</p>
+ * <pre>
+ * Maps the unversioned NCBI accession of every loaded genome (e.g.
+ * GCF_000005845) to the highest NCBI version loaded and the workspace
+ * reference of that genome, so that the status of a reference genome can be
+ * decided without querying SOLR or the workspace.
+ *
+ * The file is memory-mapped and laid out as
+ *   magic    8 bytes "RDMLGI01"
+ *   count    int, number of entries
+ *   slots    int, size of the slot table, a power of two
+ *   table    slots x int, offset of an entry in the file or 0 if empty
+ *   entries  count x (short id length, id UTF-8, int version,
+ *                     short ref length, ref UTF-8)
+ * A lookup hashes the id into the open-addressed slot table and compares
+ * the entry bytes in place, so it does not depend on the number of entries
+ * and does not load the index into the heap. All integers are big-endian.
+ *
+ * apply() merges the load_genomes or update_loaded_genomes output and the
+ * genomes removed from KBase into the index, and rebuild() writes it from
+ * scratch from the list_loaded_genomes output; both atomically replace the
+ * file.
+ * </pre>
+ */
+public class LoadedGenomeIndex implements Closeable {
+
+    public static final String STATUS_NEW = "new";
+    public static final String STATUS_UPDATED = "updated";
+    public static final String STATUS_PRESENT = "present";
+
+    private static final byte[] MAGIC = "RDMLGI01".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_SIZE = MAGIC.length + 8;
+    private static final int MIN_SLOTS = 16;
+
+    /** A single loaded genome. */
+    public static class Entry {
+        private final String id;
+        private final int version;
+        private final String ref;
+
+        /** Creates an entry.
+         * @param id the unversioned accession, e.g. GCF_000005845.
+         * @param version the NCBI version, e.g. 2.
+         * @param ref the workspace reference of the loaded genome.
+         */
+        public Entry(String id, int version, String ref) {
+            this.id = id;
+            this.version = version;
+            this.ref = ref == null ? "" : ref;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getRef() {
+            return ref;
+        }
+
+        /** Returns the versioned accession, e.g. GCF_000005845.2. */
+        public String getAccession() {
+            return version > 0 ? id + "." + version : id;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry [id=" + id + ", version=" + version + ", ref=" + ref + "]";
+        }
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buf;
+    private final int count;
+    private final int slots;
+
+    private LoadedGenomeIndex(FileChannel channel, ByteBuffer buf) throws IOException {
+        this.channel = channel;
+        this.buf = buf;
+        if (buf.limit() == 0) {
+            count = 0;
+            slots = 0;
+            return;
+        }
+        if (buf.limit() < HEADER_SIZE)
+            throw new IOException("Not a loaded genome index: file is truncated");
+        byte[] magic = new byte[MAGIC.length];
+        for (int i = 0; i < magic.length; i++)
+            magic[i] = buf.get(i);
+        if (!Arrays.equals(magic, MAGIC))
+            throw new IOException("Not a loaded genome index: bad magic number");
+        count = buf.getInt(MAGIC.length);
+        slots = buf.getInt(MAGIC.length + 4);
+        if (Integer.bitCount(slots) != 1 || HEADER_SIZE + 4L * slots > buf.limit())
+            throw new IOException("Not a loaded genome index: bad slot table size " + slots);
+    }
+
+    /** Opens an index for lookups. A missing file is an empty index.
+     * @param file the index file.
+     * @return the index.
+     * @throws IOException if the file cannot be read or is not an index.
+     */
+    public static LoadedGenomeIndex open(Path file) throws IOException {
+        if (!Files.exists(file))
+            return new LoadedGenomeIndex(null, ByteBuffer.allocate(0));
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer mbb = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new LoadedGenomeIndex(ch, mbb);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Returns the number of genomes in the index. */
+    public int size() {
+        return count;
+    }
+
+    /** Looks up a genome.
+     * @param accession the accession, with or without the version suffix.
+     * @return the entry, or null if no version of the genome is loaded.
+     */
+    public Entry get(String accession) {
+        if (count == 0 || accession == null)
+            return null;
+        byte[] key = splitAccession(accession)[0].getBytes(StandardCharsets.UTF_8);
+        int mask = slots - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int off = buf.getInt(HEADER_SIZE + 4 * slot);
+            if (off == 0)
+                return null;
+            if (keyEquals(off, key))
+                return readEntry(off);
+        }
+    }
+
+    /** Decides the KBase status of a reference genome offline. The status
+     * values and genome_id match those returned by check_genome_status.
+     * @param genome the reference genome, e.g. from AssemblySummaryParser.
+     * @return the status.
+     */
+    public GenomeStatusData status(ReferenceGenomeData genome) {
+        GenomeStatusData ret = new GenomeStatusData().withGenome(genome)
+                .withStatus(STATUS_NEW).withGenomeId(genome.getAccession());
+        Entry e = get(genome.getAccession());
+        if (e != null) {
+            String version = splitAccession(genome.getAccession())[1];
+            boolean current = version != null && Integer.parseInt(version) == e.getVersion();
+            ret.withStatus(current ? STATUS_PRESENT : STATUS_UPDATED).withGenomeId(e.getAccession());
+        }
+        return ret;
+    }
+
+    /** Reads all entries, in file order.
+     * @return the entries.
+     */
+    public List<Entry> entries() {
+        List<Entry> ret = new ArrayList<Entry>(count);
+        int off = HEADER_SIZE + 4 * slots;
+        for (int i = 0; i < count; i++) {
+            ret.add(readEntry(off));
+            off = nextEntry(off);
+        }
+        return ret;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    /** Writes a new index file, replacing any existing one atomically.
+     * @param file the index file.
+     * @param entries the entries; ids must be unique.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, Collection<Entry> entries) throws IOException {
+        int slots = MIN_SLOTS;
+        while (slots < 2L * entries.size())
+            slots <<= 1;
+        int[] table = new int[slots];
+        int mask = slots - 1;
+        List<byte[][]> encoded = new ArrayList<byte[][]>(entries.size());
+        long off = HEADER_SIZE + 4L * slots;
+        for (Entry e : entries) {
+            byte[] id = e.getId().getBytes(StandardCharsets.UTF_8);
+            byte[] ref = e.getRef().getBytes(StandardCharsets.UTF_8);
+            if (id.length > Short.MAX_VALUE || ref.length > Short.MAX_VALUE)
+                throw new IOException("Entry too long: " + e);
+            int slot = hash(id) & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            if (off > Integer.MAX_VALUE)
+                throw new IOException("Index too large");
+            table[slot] = (int)off;
+            encoded.add(new byte[][] {id, ref});
+            off += 2 + id.length + 4 + 2 + ref.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate((int)off);
+        out.put(MAGIC).putInt(entries.size()).putInt(slots);
+        for (int t : table)
+            out.putInt(t);
+        int i = 0;
+        for (Entry e : entries) {
+            byte[][] enc = encoded.get(i++);
+            out.putShort((short)enc[0].length).put(enc[0]).putInt(e.getVersion())
+                .putShort((short)enc[1].length).put(enc[1]);
+        }
+        out.flip();
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE);
+            try {
+                while (out.hasRemaining())
+                    ch.write(out);
+                ch.force(true);
+            } finally {
+                ch.close();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Merges loaded genomes into the index and removes deleted ones. A
+     * genome replaces the indexed one when its NCBI version is the same or
+     * newer, so applying the same list twice is harmless. The file is
+     * rewritten only if something changed.
+     * @param file the index file; created if missing.
+     * @param loaded the loaded genomes, as returned by list_loaded_genomes,
+     * load_genomes or update_loaded_genomes. May be null.
+     * @param removed accessions, with or without version, of genomes no
+     * longer in KBase. May be null.
+     * @return the number of entries added, changed or removed.
+     * @throws IOException if the index cannot be read or written.
+     */
+    public static int apply(Path file, Iterable<KBaseReferenceGenomeData> loaded,
+            Collection<String> removed) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+        LoadedGenomeIndex idx = open(file);
+        try {
+            for (Entry e : idx.entries())
+                entries.put(e.getId(), e);
+        } finally {
+            idx.close();
+        }
+        int changed = 0;
+        if (removed != null) {
+            for (String acc : removed) {
+                if (entries.remove(splitAccession(acc)[0]) != null)
+                    changed++;
+            }
+        }
+        if (loaded != null) {
+            for (KBaseReferenceGenomeData g : loaded) {
+                Entry e = toEntry(g);
+                if (e == null)
+                    continue;
+                Entry old = entries.get(e.getId());
+                if (old == null || e.getVersion() > old.getVersion() ||
+                        (e.getVersion() == old.getVersion() && !e.getRef().equals(old.getRef()))) {
+                    entries.put(e.getId(), e);
+                    changed++;
+                }
+            }
+        }
+        if (changed > 0 || !Files.exists(file))
+            write(file, entries.values());
+        return changed;
+    }
+
+    /** Writes the index from scratch with exactly the loaded genomes, so that
+     * the genomes no longer in KBase are dropped. The new file atomically
+     * replaces the old one.
+     * @param file the index file; created if missing.
+     * @param loaded the loaded genomes, as returned by list_loaded_genomes.
+     * @return the number of entries of the new index.
+     * @throws IOException if the index cannot be written.
+     */
+    public static int rebuild(Path file, Iterable<KBaseReferenceGenomeData> loaded) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+        for (KBaseReferenceGenomeData g : loaded) {
+            Entry e = toEntry(g);
+            if (e == null)
+                continue;
+            Entry old = entries.get(e.getId());
+            if (old == null || e.getVersion() >= old.getVersion())
+                entries.put(e.getId(), e);
+        }
+        write(file, entries.values());
+        return entries.size();
+    }
+
+    /* The workspace object name of a loaded genome is its versioned
+     * accession, which list_loaded_genomes returns as "accession".
+     */
+    static Entry toEntry(KBaseReferenceGenomeData g) {
+        String acc = g.getAccession() != null ? g.getAccession() : g.getName();
+        if (acc == null || acc.isEmpty())
+            return null;
+        String[] parts = splitAccession(acc);
+        return new Entry(parts[0], parts[1] == null ? 0 : Integer.parseInt(parts[1]), g.getRef());
+    }
+
+    /* Splits GCF_000005845.2 into {GCF_000005845, 2}; the version is null
+     * if the accession has no numeric suffix.
+     */
+    static String[] splitAccession(String acc) {
+        int dot = acc.lastIndexOf('.');
+        if (dot > 0 && dot < acc.length() - 1) {
+            for (int i = dot + 1; i < acc.length(); i++) {
+                if (!Character.isDigit(acc.charAt(i)))
+                    return new String[] {acc, null};
+            }
+            if (acc.length() - dot - 1 < 10)
+                return new String[] {acc.substring(0, dot), acc.substring(dot + 1)};
+        }
+        return new String[] {acc, null};
+    }
+
+    private static int hash(byte[] key) {
+        int h = 0x811c9dc5;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private boolean keyEquals(int off, byte[] key) {
+        if (buf.getShort(off) != key.length)
+            return false;
+        for (int i = 0; i < key.length; i++) {
+            if (buf.get(off + 2 + i) != key[i])
+                return false;
+        }
+        return true;
+    }
+
+    private Entry readEntry(int off) {
+        int idLen = buf.getShort(off);
+        String id = readString(off + 2, idLen);
+        int version = buf.getInt(off + 2 + idLen);
+        int refLen = buf.getShort(off + 6 + idLen);
+        String ref = readString(off + 8 + idLen, refLen);
+        return new Entry(id, version, ref);
+    }
+
+    private int nextEntry(int off) {
+        int idLen = buf.getShort(off);
+        return off + 8 + idLen + buf.getShort(off + 6 + idLen);
+    }
+
+    private String readString(int off, int len) {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; i++)
+            b[i] = buf.get(off + i);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Command line entry point.
+     * <pre>
+     * rebuild [--insecure] &lt;index&gt; &lt;service url&gt; [refseq|phytozome|ensembl]
+     *     lists the loaded genomes with list_loaded_genomes and writes the
+     *     index with exactly those genomes; --insecure allows a plain http
+     *     service url, which sends the auth token unencrypted
+     * apply &lt;index&gt; &lt;json file&gt; [removed file]
+     *     merges a saved list of loaded genomes, e.g. load_genomes output,
+     *     and removes the genomes of the removed file, one accession per line
+     * diff &lt;index&gt; &lt;assembly_summary.txt&gt; &lt;source&gt; &lt;domain&gt;
+     *     prints the accession and status of every new or updated genome
+     * </pre>
+     * @param args the command and its arguments.
+     * @throws Exception if the command fails.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> argList = new ArrayList<String>(Arrays.asList(args));
+        boolean insecure = argList.remove("--insecure");
+        args = argList.toArray(new String[argList.size()]);
+        if (args.length >= 3 && args.length <= 4 && args[0].equals("rebuild")) {
+            ReferenceDataManagerClient client = new ReferenceDataManagerClient(new URL(args[2]));
+            client.setIsInsecureHttpConnectionAllowed(insecure);
+            String source = args.length > 3 ? args[3] : "refseq";
+            ListLoadedGenomesParams params = new ListLoadedGenomesParams()
+                .withRefseq(source.equals("refseq") ? 1L : 0L)
+                .withPhytozome(source.equals("phytozome") ? 1L : 0L)
+                .withEnsembl(source.equals("ensembl") ? 1L : 0L);
+            int count = rebuild(Paths.get(args[1]), client.listLoadedGenomes(params));
+            System.out.println(count + " entries written");
+        } else if (args.length >= 3 && args.length <= 4 && args[0].equals("apply") && !insecure) {
+            List<KBaseReferenceGenomeData> loaded = JsonRpcStreamingCaller.MAPPER.readValue(
+                    new File(args[2]), new TypeReference<List<KBaseReferenceGenomeData>>() {});
+            List<String> removed = new ArrayList<String>();
+            if (args.length > 3) {
+                for (String line : Files.readAllLines(Paths.get(args[3]), StandardCharsets.UTF_8)) {
+                    if (!line.trim().isEmpty())
+                        removed.add(line.trim());
+                }
+            }
+            int changed = apply(Paths.get(args[1]), loaded, removed);
+            System.out.println(changed + " entries added, changed or removed");
+        } else if (args.length == 5 && args[0].equals("diff") && !insecure) {
+            LoadedGenomeIndex idx = open(Paths.get(args[1]));
+            AssemblySummaryParser parser = AssemblySummaryParser.open(Paths.get(args[2]), args[3], args[4]);
+            try {
+                while (parser.hasNext()) {
+                    GenomeStatusData st = idx.status(parser.next());
+                    if (!STATUS_PRESENT.equals(st.getStatus()))
+                        System.out.println(st.getGenome().getAccession() + "\t" + st.getStatus());
+                }
+            } finally {
+                parser.close();
+                idx.close();
+            }
+        } else {
+            System.err.println("Usage: LoadedGenomeIndex rebuild [--insecure] <index> <service url> [refseq|phytozome|ensembl]");
+            System.err.println("       LoadedGenomeIndex apply <index> <json file> [removed file]");
+            System.err.println("       LoadedGenomeIndex diff <index> <assembly_summary.txt> <source> <domain>");
+            System.exit(1);
+        }
+    }
+}
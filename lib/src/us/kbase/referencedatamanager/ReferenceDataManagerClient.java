@@ -7,6 +7,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import us.kbase.auth.AuthToken;
 import us.kbase.common.service.JsonClientCaller;
 import us.kbase.common.service.JsonClientException;
@@ -21,6 +22,8 @@ import us.kbase.common.service.UnauthorizedException;
  */
 public class ReferenceDataManagerClient {
     private JsonClientCaller caller;
+    private JsonRpcStreamingCaller streamingCaller;
+    private AsyncJobPoller asyncPoller;
     private String serviceVersion = null;
 
 
@@ -29,6 +32,8 @@ public class ReferenceDataManagerClient {
      */
     public ReferenceDataManagerClient(URL url) {
         caller = new JsonClientCaller(url);
+        streamingCaller = new JsonRpcStreamingCaller(caller);
+        asyncPoller = new AsyncJobPoller(caller);
     }
     /** Constructs a client with a custom URL.
      * @param url the URL of the service.
@@ -39,6 +44,8 @@ public class ReferenceDataManagerClient {
      */
     public ReferenceDataManagerClient(URL url, AuthToken token) throws UnauthorizedException, IOException {
         caller = new JsonClientCaller(url, token);
+        streamingCaller = new JsonRpcStreamingCaller(caller);
+        asyncPoller = new AsyncJobPoller(caller);
     }
 
     /** Constructs a client with a custom URL.
@@ -51,6 +58,8 @@ public class ReferenceDataManagerClient {
      */
     public ReferenceDataManagerClient(URL url, String user, String password) throws UnauthorizedException, IOException {
         caller = new JsonClientCaller(url, user, password);
+        streamingCaller = new JsonRpcStreamingCaller(caller);
+        asyncPoller = new AsyncJobPoller(caller);
     }
 
     /** Constructs a client with a custom URL
@@ -65,6 +74,8 @@ public class ReferenceDataManagerClient {
      */
     public ReferenceDataManagerClient(URL url, String user, String password, URL auth) throws UnauthorizedException, IOException {
         caller = new JsonClientCaller(url, user, password, auth);
+        streamingCaller = new JsonRpcStreamingCaller(caller);
+        asyncPoller = new AsyncJobPoller(caller);
     }
 
     /** Get the token this client uses to communicate with the server.
@@ -88,6 +99,7 @@ public class ReferenceDataManagerClient {
      */
     public void setConnectionReadTimeOut(Integer milliseconds) {
         this.caller.setConnectionReadTimeOut(milliseconds);
+        this.streamingCaller.setConnectionReadTimeOut(milliseconds);
     }
 
     /** Check if this client allows insecure http (vs https) connections.
@@ -162,6 +174,38 @@ public class ReferenceDataManagerClient {
         this.serviceVersion = newValue;
     }
 
+    /** Set the time to wait before the first check of an asynchronous job.
+     * @param milliseconds the initial check time. Default 100.
+     */
+    public void setAsyncJobCheckTimeMs(long milliseconds) {
+        asyncPoller.setCheckTimeMs(milliseconds);
+    }
+
+    /** Set how much the time between two checks of an asynchronous job
+     * grows after every check.
+     * @param percent the new time as a percentage of the previous one.
+     * Default 150.
+     */
+    public void setAsyncJobCheckTimeScalePercent(long percent) {
+        asyncPoller.setCheckTimeScalePercent(percent);
+    }
+
+    /** Set the maximum time between two checks of an asynchronous job.
+     * @param milliseconds the maximum check time. Default 300000.
+     */
+    public void setAsyncJobCheckMaxTimeMs(long milliseconds) {
+        asyncPoller.setCheckMaxTimeMs(milliseconds);
+    }
+
+    /** Set how many checks of an asynchronous job in a row may fail with an
+     * IOException, each retried after the next check time, before the job's
+     * future fails.
+     * @param retries the number of retried checks. Default 5.
+     */
+    public void setAsyncJobCheckRetries(int retries) {
+        asyncPoller.setCheckRetries(retries);
+    }
+
     /**
      * <p>Original spec-file function name: list_reference_genomes</p>
      * <pre>
@@ -180,6 +224,27 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Original spec-file function name: list_reference_genomes</p>
+     * <pre>
+     * Lists genomes present in selected reference databases (ensembl, phytozome, refseq)
+     * </pre>
+     * <p>Streaming variant of {@link #listReferenceGenomes}: genomes are parsed one
+     * at a time as the response arrives instead of being bound into a list.
+     * The returned iterator must be closed if it is not read to the end.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListReferenceGenomesParams ListReferenceGenomesParams}
+     * @return   iterator over parameter "output" of type {@link us.kbase.referencedatamanager.ReferenceGenomeData ReferenceGenomeData}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public JsonRpcResultIterator<ReferenceGenomeData> listReferenceGenomesStream(ListReferenceGenomesParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        JsonRpcResultIterator.ElementReader<ReferenceGenomeData> reader = JsonRpcResultIterator.typedReader(JsonRpcStreamingCaller.MAPPER,
+                JsonRpcStreamingCaller.MAPPER.getTypeFactory().constructType(ReferenceGenomeData.class));
+        return streamingCaller.listCall("ReferenceDataManager.list_reference_genomes", args, reader, false, jsonRpcContext, this.serviceVersion);
+    }
+
     /**
      * <p>Original spec-file function name: list_loaded_genomes</p>
      * <pre>
@@ -198,6 +263,29 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Original spec-file function name: list_loaded_genomes</p>
+     * <pre>
+     * Lists genomes loaded into KBase from selected reference sources (ensembl, phytozome, refseq)
+     * </pre>
+     * <p>Streaming variant of {@link #listLoadedGenomes}: genomes are parsed one
+     * at a time as the response is read instead of being bound into a list. The
+     * server still builds the whole list before it replies, so this bounds the
+     * client memory, not the time to the first genome. The returned iterator
+     * must be closed if it is not read to the end.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListLoadedGenomesParams ListLoadedGenomesParams}
+     * @return   iterator over parameter "output" of type {@link us.kbase.referencedatamanager.KBaseReferenceGenomeData KBaseReferenceGenomeData}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public JsonRpcResultIterator<KBaseReferenceGenomeData> listLoadedGenomesStream(ListLoadedGenomesParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        JsonRpcResultIterator.ElementReader<KBaseReferenceGenomeData> reader = JsonRpcResultIterator.typedReader(JsonRpcStreamingCaller.MAPPER,
+                JsonRpcStreamingCaller.MAPPER.getTypeFactory().constructType(KBaseReferenceGenomeData.class));
+        return streamingCaller.listCall("ReferenceDataManager.list_loaded_genomes", args, reader, false, jsonRpcContext, this.serviceVersion);
+    }
+
     /**
      * <p>Original spec-file function name: list_solr_genomes</p>
      * <pre>
@@ -216,6 +304,26 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Original spec-file function name: list_solr_genomes</p>
+     * <pre>
+     * Lists genomes indexed in SOLR
+     * </pre>
+     * <p>Projected variant of {@link #listSolrGenomes}: each document is read into a
+     * {@link SolrDocRow} holding only the fields listed in params.fields, one
+     * at a time as the response arrives. The returned iterator must be closed
+     * if it is not read to the end.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListSolrDocsParams ListSolrDocsParams}
+     * @return   iterator over the projected documents
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public JsonRpcResultIterator<SolrDocRow> listSolrGenomesRows(ListSolrDocsParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        return streamingCaller.listCall("ReferenceDataManager.list_solr_genomes", args, SolrDocRow.READER, true, jsonRpcContext, this.serviceVersion);
+    }
+
     /**
      * <p>Original spec-file function name: list_loaded_taxa</p>
      * <pre>
@@ -252,6 +360,76 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Original spec-file function name: list_solr_taxa</p>
+     * <pre>
+     * Lists taxa indexed in SOLR
+     * </pre>
+     * <p>Projected variant of {@link #listSolrTaxa}: each document is read into a
+     * {@link SolrDocRow} holding only the fields listed in params.fields, one
+     * at a time as the response arrives. The returned iterator must be closed
+     * if it is not read to the end.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListSolrDocsParams ListSolrDocsParams}
+     * @return   iterator over the projected documents
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public JsonRpcResultIterator<SolrDocRow> listSolrTaxaRows(ListSolrDocsParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        return streamingCaller.listCall("ReferenceDataManager.list_solr_taxa", args, SolrDocRow.READER, true, jsonRpcContext, this.serviceVersion);
+    }
+
+    /**
+     * <p>Original spec-file function name: list_solr_docs_page</p>
+     * <pre>
+     * Lists the documents of a SOLR core one page at a time with a SOLR cursor, so that a page deep into the core
+     * costs as much as the first one
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListSolrDocsParams ListSolrDocsParams}
+     * @return   parameter "output" of type {@link us.kbase.referencedatamanager.SolrDocsPage SolrDocsPage}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public SolrDocsPage listSolrDocsPage(ListSolrDocsParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<SolrDocsPage>> retType = new TypeReference<List<SolrDocsPage>>() {};
+        List<SolrDocsPage> res = caller.jsonrpcCall("ReferenceDataManager.list_solr_docs_page", args, retType, true, true, jsonRpcContext, this.serviceVersion);
+        return res.get(0);
+    }
+
+    /**
+     * <p>Original spec-file function name: summarize_solr_genomes</p>
+     * <pre>
+     * Counts the genomes indexed in SOLR per domain and source and totals their DNA sizes and
+     * CDS counts with facet and stats queries, in one request and without listing the genomes
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.SummarizeSolrGenomesParams SummarizeSolrGenomesParams}
+     * @return   parameter "output" of type {@link us.kbase.referencedatamanager.SolrGenomesSummary SolrGenomesSummary}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public SolrGenomesSummary summarizeSolrGenomes(SummarizeSolrGenomesParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<SolrGenomesSummary>> retType = new TypeReference<List<SolrGenomesSummary>>() {};
+        List<SolrGenomesSummary> res = caller.jsonrpcCall("ReferenceDataManager.summarize_solr_genomes", args, retType, true, true, jsonRpcContext, this.serviceVersion);
+        return res.get(0);
+    }
+
+    /**
+     * <p>Iterates over all the documents of a SOLR core with {@link #listSolrDocsPage},
+     * one page of params.row_count documents at a time. The cursor of params
+     * is advanced as the pages are read.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.ListSolrDocsParams ListSolrDocsParams}
+     * @param   type   the class each document is bound to, e.g. Map.class
+     * @return   iterator over the documents of the core
+     */
+    public <T> SolrDocsCursor<T> listSolrDocs(ListSolrDocsParams params, Class<T> type, RpcContext... jsonRpcContext) {
+        return new SolrDocsCursor<T>(this, params, type, jsonRpcContext);
+    }
+
     /**
      * <p>Original spec-file function name: load_genomes</p>
      * <pre>
@@ -270,6 +448,28 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Asynchronous variant of spec-file function {@code load_genomes}.</p>
+     * <pre>
+     * Submits load_genomes as a job and returns as soon as it is accepted, so no
+     * connection is held open while the job runs. The job is polled in the
+     * background with growing intervals, see setAsyncJobCheckTimeMs.
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.LoadGenomesParams LoadGenomesParams}
+     * @return   a future completed with parameter "output" of list of type {@link us.kbase.referencedatamanager.KBaseReferenceGenomeData KBaseReferenceGenomeData},
+     * or exceptionally with a {@link us.kbase.common.service.ServerException ServerException} if the job fails
+     * @throws IOException if an IO exception occurs while submitting the job
+     * @throws JsonClientException if a JSON RPC exception occurs while submitting the job
+     */
+    public CompletableFuture<List<KBaseReferenceGenomeData>> loadGenomesAsync(LoadGenomesParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<String>> submitType = new TypeReference<List<String>>() {};
+        List<String> jobId = caller.jsonrpcCall("ReferenceDataManager._load_genomes_submit", args, submitType, true, true, jsonRpcContext, this.serviceVersion);
+        TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>> retType = new TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>>() {};
+        return asyncPoller.track(jobId.get(0), retType, jsonRpcContext, this.serviceVersion);
+    }
+
     /**
      * <p>Original spec-file function name: index_genomes_in_solr</p>
      * <pre>
@@ -288,6 +488,64 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Original spec-file function name: index_genomes_in_solr</p>
+     * <pre>
+     * Index specified genomes in SOLR from KBase workspace
+     * </pre>
+     * <p>Summary variant of {@link #indexGenomesInSolr}: sends a copy of params
+     * with the return_mode summary, so the service keeps and sends back one small
+     * summary per genome instead of every indexed document. params is left as is.</p>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.IndexGenomesInSolrParams IndexGenomesInSolrParams}
+     * @return   parameter "output" of list of type {@link us.kbase.referencedatamanager.IndexedGenomeSummary IndexedGenomeSummary}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public List<IndexedGenomeSummary> indexGenomesInSolrSummary(IndexGenomesInSolrParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(copyWithReturnMode(params, "summary"));
+        TypeReference<List<List<IndexedGenomeSummary>>> retType = new TypeReference<List<List<IndexedGenomeSummary>>>() {};
+        List<List<IndexedGenomeSummary>> res = caller.jsonrpcCall("ReferenceDataManager.index_genomes_in_solr", args, retType, true, true, jsonRpcContext, this.serviceVersion);
+        return res.get(0);
+    }
+
+    private static IndexGenomesInSolrParams copyWithReturnMode(IndexGenomesInSolrParams params, String returnMode) {
+        IndexGenomesInSolrParams copy = new IndexGenomesInSolrParams()
+            .withGenomes(params.getGenomes())
+            .withSolrCore(params.getSolrCore())
+            .withCreateReport(params.getCreateReport())
+            .withCommitPolicy(params.getCommitPolicy())
+            .withDocLayout(params.getDocLayout())
+            .withEvictSuperseded(params.getEvictSuperseded())
+            .withReturnMode(returnMode);
+        for (Map.Entry<String, Object> entry : params.getAdditionalProperties().entrySet()) {
+            copy.setAdditionalProperties(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * <p>Asynchronous variant of spec-file function {@code index_genomes_in_solr}.</p>
+     * <pre>
+     * Submits index_genomes_in_solr as a job and returns as soon as it is accepted, so no
+     * connection is held open while the job runs. The job is polled in the
+     * background with growing intervals, see setAsyncJobCheckTimeMs.
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.IndexGenomesInSolrParams IndexGenomesInSolrParams}
+     * @return   a future completed with parameter "output" of list of type {@link us.kbase.referencedatamanager.KBaseReferenceGenomeData KBaseReferenceGenomeData},
+     * or exceptionally with a {@link us.kbase.common.service.ServerException ServerException} if the job fails
+     * @throws IOException if an IO exception occurs while submitting the job
+     * @throws JsonClientException if a JSON RPC exception occurs while submitting the job
+     */
+    public CompletableFuture<List<KBaseReferenceGenomeData>> indexGenomesInSolrAsync(IndexGenomesInSolrParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<String>> submitType = new TypeReference<List<String>>() {};
+        List<String> jobId = caller.jsonrpcCall("ReferenceDataManager._index_genomes_in_solr_submit", args, submitType, true, true, jsonRpcContext, this.serviceVersion);
+        TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>> retType = new TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>>() {};
+        return asyncPoller.track(jobId.get(0), retType, jsonRpcContext, this.serviceVersion);
+    }
+
     /**
      * <p>Original spec-file function name: index_taxa_in_solr</p>
      * <pre>
@@ -324,6 +582,46 @@ public class ReferenceDataManagerClient {
         return res.get(0);
     }
 
+    /**
+     * <p>Asynchronous variant of spec-file function {@code update_loaded_genomes}.</p>
+     * <pre>
+     * Submits update_loaded_genomes as a job and returns as soon as it is accepted, so no
+     * connection is held open while the job runs. The job is polled in the
+     * background with growing intervals, see setAsyncJobCheckTimeMs.
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.UpdateLoadedGenomesParams UpdateLoadedGenomesParams}
+     * @return   a future completed with parameter "output" of list of type {@link us.kbase.referencedatamanager.KBaseReferenceGenomeData KBaseReferenceGenomeData},
+     * or exceptionally with a {@link us.kbase.common.service.ServerException ServerException} if the job fails
+     * @throws IOException if an IO exception occurs while submitting the job
+     * @throws JsonClientException if a JSON RPC exception occurs while submitting the job
+     */
+    public CompletableFuture<List<KBaseReferenceGenomeData>> updateLoadedGenomesAsync(UpdateLoadedGenomesParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<String>> submitType = new TypeReference<List<String>>() {};
+        List<String> jobId = caller.jsonrpcCall("ReferenceDataManager._update_loaded_genomes_submit", args, submitType, true, true, jsonRpcContext, this.serviceVersion);
+        TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>> retType = new TypeReference<List<JobState<List<List<KBaseReferenceGenomeData>>>>>() {};
+        return asyncPoller.track(jobId.get(0), retType, jsonRpcContext, this.serviceVersion);
+    }
+
+    /**
+     * <p>Original spec-file function name: check_genome_status</p>
+     * <pre>
+     * Checks the KBase status of the specified genomes against SOLR, many genomes per query
+     * </pre>
+     * @param   params   instance of type {@link us.kbase.referencedatamanager.CheckGenomeStatusParams CheckGenomeStatusParams}
+     * @return   parameter "output" of list of type {@link us.kbase.referencedatamanager.GenomeStatusData GenomeStatusData}
+     * @throws IOException if an IO exception occurs
+     * @throws JsonClientException if a JSON RPC exception occurs
+     */
+    public List<GenomeStatusData> checkGenomeStatus(CheckGenomeStatusParams params, RpcContext... jsonRpcContext) throws IOException, JsonClientException {
+        List<Object> args = new ArrayList<Object>();
+        args.add(params);
+        TypeReference<List<List<GenomeStatusData>>> retType = new TypeReference<List<List<GenomeStatusData>>>() {};
+        List<List<GenomeStatusData>> res = caller.jsonrpcCall("ReferenceDataManager.check_genome_status", args, retType, true, true, jsonRpcContext, this.serviceVersion);
+        return res.get(0);
+    }
+
     public Map<String, Object> status(RpcContext... jsonRpcContext) throws IOException, JsonClientException {
         List<Object> args = new ArrayList<Object>();
         TypeReference<List<Map<String, Object>>> retType = new TypeReference<List<Map<String, Object>>>() {};
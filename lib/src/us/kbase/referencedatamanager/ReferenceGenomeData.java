@@ -6,6 +6,7 @@ import java.util.Map;
 import javax.annotation.Generated;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -22,23 +23,25 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @Generated("com.googlecode.jsonschema2pojo")
 @JsonPropertyOrder({
     "accession",
-    "status",
-    "name",
+    "version_status",
+    "asm_name",
     "ftp_dir",
     "file",
     "id",
     "version",
     "source",
-    "domain"
+    "domain",
+    "refseq_category",
+    "tax_id"
 })
 public class ReferenceGenomeData {
 
     @JsonProperty("accession")
     private String accession;
-    @JsonProperty("status")
-    private String status;
-    @JsonProperty("name")
-    private String name;
+    @JsonProperty("version_status")
+    private String versionStatus;
+    @JsonProperty("asm_name")
+    private String asmName;
     @JsonProperty("ftp_dir")
     private String ftpDir;
     @JsonProperty("file")
@@ -51,6 +54,10 @@ public class ReferenceGenomeData {
     private String source;
     @JsonProperty("domain")
     private String domain;
+    @JsonProperty("refseq_category")
+    private String refseqCategory;
+    @JsonProperty("tax_id")
+    private String taxId;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("accession")
@@ -68,34 +75,86 @@ public class ReferenceGenomeData {
         return this;
     }
 
-    @JsonProperty("status")
+    @JsonProperty("version_status")
+    public String getVersionStatus() {
+        return versionStatus;
+    }
+
+    @JsonProperty("version_status")
+    public void setVersionStatus(String versionStatus) {
+        this.versionStatus = versionStatus;
+    }
+
+    public ReferenceGenomeData withVersionStatus(String versionStatus) {
+        this.versionStatus = versionStatus;
+        return this;
+    }
+
+    @JsonProperty("asm_name")
+    public String getAsmName() {
+        return asmName;
+    }
+
+    @JsonProperty("asm_name")
+    public void setAsmName(String asmName) {
+        this.asmName = asmName;
+    }
+
+    public ReferenceGenomeData withAsmName(String asmName) {
+        this.asmName = asmName;
+        return this;
+    }
+
+    /**
+     * @deprecated the status field is now version_status, use {@link #getVersionStatus()}.
+     */
+    @Deprecated
+    @JsonIgnore
     public String getStatus() {
-        return status;
+        return getVersionStatus();
     }
 
-    @JsonProperty("status")
+    /**
+     * @deprecated the status field is now version_status, use {@link #setVersionStatus(String)}.
+     */
+    @Deprecated
+    @JsonIgnore
     public void setStatus(String status) {
-        this.status = status;
+        setVersionStatus(status);
     }
 
+    /**
+     * @deprecated the status field is now version_status, use {@link #withVersionStatus(String)}.
+     */
+    @Deprecated
     public ReferenceGenomeData withStatus(String status) {
-        this.status = status;
-        return this;
+        return withVersionStatus(status);
     }
 
-    @JsonProperty("name")
+    /**
+     * @deprecated the name field is now asm_name, use {@link #getAsmName()}.
+     */
+    @Deprecated
+    @JsonIgnore
     public String getName() {
-        return name;
+        return getAsmName();
     }
 
-    @JsonProperty("name")
+    /**
+     * @deprecated the name field is now asm_name, use {@link #setAsmName(String)}.
+     */
+    @Deprecated
+    @JsonIgnore
     public void setName(String name) {
-        this.name = name;
+        setAsmName(name);
     }
 
+    /**
+     * @deprecated the name field is now asm_name, use {@link #withAsmName(String)}.
+     */
+    @Deprecated
     public ReferenceGenomeData withName(String name) {
-        this.name = name;
-        return this;
+        return withAsmName(name);
     }
 
     @JsonProperty("ftp_dir")
@@ -188,6 +247,36 @@ public class ReferenceGenomeData {
         return this;
     }
 
+    @JsonProperty("refseq_category")
+    public String getRefseqCategory() {
+        return refseqCategory;
+    }
+
+    @JsonProperty("refseq_category")
+    public void setRefseqCategory(String refseqCategory) {
+        this.refseqCategory = refseqCategory;
+    }
+
+    public ReferenceGenomeData withRefseqCategory(String refseqCategory) {
+        this.refseqCategory = refseqCategory;
+        return this;
+    }
+
+    @JsonProperty("tax_id")
+    public String getTaxId() {
+        return taxId;
+    }
+
+    @JsonProperty("tax_id")
+    public void setTaxId(String taxId) {
+        this.taxId = taxId;
+    }
+
+    public ReferenceGenomeData withTaxId(String taxId) {
+        this.taxId = taxId;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -200,7 +289,7 @@ public class ReferenceGenomeData {
 
     @Override
     public String toString() {
-        return ((((((((((((((((((((("ReferenceGenomeData"+" [accession=")+ accession)+", status=")+ status)+", name=")+ name)+", ftpDir=")+ ftpDir)+", file=")+ file)+", id=")+ id)+", version=")+ version)+", source=")+ source)+", domain=")+ domain)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((((((((((((("ReferenceGenomeData"+" [accession=")+ accession)+", versionStatus=")+ versionStatus)+", asmName=")+ asmName)+", ftpDir=")+ ftpDir)+", file=")+ file)+", id=")+ id)+", version=")+ version)+", source=")+ source)+", domain=")+ domain)+", refseqCategory=")+ refseqCategory)+", taxId=")+ taxId)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
@@ -0,0 +1,121 @@
+package us.kbase.referencedatamanager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * <p>A SOLR document holding only the fields asked for with the fields of
+ * ListSolrDocsParams, e.g. genome_id and ws_ref for reconciliation.</p>
+ * <pre>
+ * The fields are kept in two parallel arrays in the order SOLR returned them
+ * and looked up by a linear scan, which for the handful of fields of a
+ * projection is cheaper than a map and allocates far less than binding the
+ * full SolrGenomeFeatureData. Scalar values are read straight from the
+ * parser as String, Long, Double or Boolean; multi-valued fields come back
+ * as a List of those.
+ * </pre>
+ */
+public final class SolrDocRow {
+
+    /** Reads a row from the parser positioned on the start of a document,
+     * for {@link JsonRpcResultIterator}. */
+    public static final JsonRpcResultIterator.ElementReader<SolrDocRow> READER =
+            new JsonRpcResultIterator.ElementReader<SolrDocRow>() {
+        @Override
+        public SolrDocRow read(JsonParser jp) throws IOException {
+            return SolrDocRow.read(jp);
+        }
+    };
+
+    private final String[] names;
+    private final Object[] values;
+
+    SolrDocRow(String[] names, Object[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    /** Returns the value of a field, or null if the document has no such
+     * field. */
+    public Object get(String field) {
+        for (int i = 0; i < names.length; i++)
+            if (names[i].equals(field))
+                return values[i];
+        return null;
+    }
+
+    public String getString(String field) {
+        Object value = get(field);
+        return value == null ? null : value.toString();
+    }
+
+    public Long getLong(String field) {
+        Object value = get(field);
+        if (value == null || value instanceof Long)
+            return (Long)value;
+        if (value instanceof Number)
+            return ((Number)value).longValue();
+        return Long.valueOf(value.toString());
+    }
+
+    /** Returns the names of the fields of this document. */
+    public List<String> getFieldNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    static SolrDocRow read(JsonParser jp) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT)
+            throw new JsonParseException(jp, "Expected a SOLR document but got " + jp.getCurrentToken());
+        List<String> names = new ArrayList<String>(4);
+        List<Object> values = new ArrayList<Object>(4);
+        for (JsonToken t = jp.nextToken(); t != JsonToken.END_OBJECT; t = jp.nextToken()) {
+            names.add(jp.getCurrentName());
+            jp.nextToken();
+            values.add(readValue(jp));
+        }
+        return new SolrDocRow(names.toArray(new String[names.size()]), values.toArray());
+    }
+
+    private static Object readValue(JsonParser jp) throws IOException {
+        switch (jp.getCurrentToken()) {
+        case VALUE_STRING:
+            return jp.getText();
+        case VALUE_NUMBER_INT:
+            return jp.getLongValue();
+        case VALUE_NUMBER_FLOAT:
+            return jp.getDoubleValue();
+        case VALUE_TRUE:
+            return Boolean.TRUE;
+        case VALUE_FALSE:
+            return Boolean.FALSE;
+        case VALUE_NULL:
+            return null;
+        case START_ARRAY:
+            List<Object> list = new ArrayList<Object>();
+            while (jp.nextToken() != JsonToken.END_ARRAY)
+                list.add(readValue(jp));
+            return list;
+        default:
+            // Nested objects do not occur in SOLR documents; bind them generically
+            return jp.readValueAs(Object.class);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SolrDocRow [");
+        for (int i = 0; i < names.length; i++)
+            sb.append(i == 0 ? "" : ", ").append(names[i]).append('=').append(values[i]);
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,84 @@
+package us.kbase.referencedatamanager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import us.kbase.common.service.JsonClientException;
+import us.kbase.common.service.RpcContext;
+import us.kbase.common.service.UObject;
+
+/**
+ * <p>Iterator over all the documents of a SOLR core.</p>
+ * <pre>
+ * The documents are fetched a page at a time with list_solr_docs_page,
+ * starting from the "*" cursor and passing on the next_cursor of every page,
+ * until SOLR hands the same cursor back. Only the current page is held in
+ * memory, and a page deep into the core costs as much as the first one. Each
+ * document is bound to the given type, e.g. a Map for any core. A failed
+ * call surfaces as an UncheckedIOException from hasNext().
+ * </pre>
+ */
+public class SolrDocsCursor<T> implements Iterator<T> {
+
+    private final ReferenceDataManagerClient client;
+    private final ListSolrDocsParams params;
+    private final Class<T> type;
+    private final RpcContext[] context;
+    private List<UObject> page = null;
+    private int pos = 0;
+    private String cursor;
+    private Long numFound = null;
+    private boolean done = false;
+
+    SolrDocsCursor(ReferenceDataManagerClient client, ListSolrDocsParams params, Class<T> type,
+            RpcContext[] context) {
+        this.client = client;
+        this.params = params;
+        this.type = type;
+        this.context = context;
+        this.cursor = params.getCursor() == null ? "*" : params.getCursor();
+    }
+
+    /** Returns the number of documents in the core as of the first page, or
+     * null before the first page has been fetched. */
+    public Long getNumFound() {
+        return numFound;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!done && (page == null || pos >= page.size())) {
+            SolrDocsPage res;
+            try {
+                res = client.listSolrDocsPage(params.withCursor(cursor), context);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (JsonClientException e) {
+                throw new UncheckedIOException(new IOException(e.getMessage(), e));
+            }
+            if (numFound == null)
+                numFound = res.getNumFound();
+            page = res.getDocs();
+            pos = 0;
+            done = res.getNextCursor() == null || res.getNextCursor().equals(cursor);
+            cursor = res.getNextCursor();
+            if (page == null || page.isEmpty())
+                done = true;
+        }
+        return page != null && pos < page.size();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return page.get(pos++).asClassInstance(type);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+}
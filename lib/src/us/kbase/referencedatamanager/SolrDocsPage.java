@@ -0,0 +1,103 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import us.kbase.common.service.UObject;
+
+
+/**
+ * <p>Original spec-file type: SolrDocsPage</p>
+ * <pre>
+ * A page of the documents of a SOLR core, as returned by list_solr_docs_page
+ * docs - the documents, SolrGenomeFeatureData or SolrTaxonData depending on the core
+ * next_cursor - the cursor of the next page; it is the cursor of the request once the whole core has been read
+ * num_found - the number of documents in the core
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "docs",
+    "next_cursor",
+    "num_found"
+})
+public class SolrDocsPage {
+
+    @JsonProperty("docs")
+    private List<UObject> docs;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+    @JsonProperty("num_found")
+    private Long numFound;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("docs")
+    public List<UObject> getDocs() {
+        return docs;
+    }
+
+    @JsonProperty("docs")
+    public void setDocs(List<UObject> docs) {
+        this.docs = docs;
+    }
+
+    public SolrDocsPage withDocs(List<UObject> docs) {
+        this.docs = docs;
+        return this;
+    }
+
+    @JsonProperty("next_cursor")
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @JsonProperty("next_cursor")
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public SolrDocsPage withNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        return this;
+    }
+
+    @JsonProperty("num_found")
+    public Long getNumFound() {
+        return numFound;
+    }
+
+    @JsonProperty("num_found")
+    public void setNumFound(Long numFound) {
+        this.numFound = numFound;
+    }
+
+    public SolrDocsPage withNumFound(Long numFound) {
+        this.numFound = numFound;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((("SolrDocsPage"+" [docs=")+ docs)+", nextCursor=")+ nextCursor)+", numFound=")+ numFound)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
@@ -0,0 +1,154 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: SolrFieldStats</p>
+ * <pre>
+ * Statistics of a numeric field over the genome documents of a SOLR core, a genome indexed more than once counting
+ * once per document
+ * count - the number of genome documents with a value, missing - the number of genome documents without one
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "sum",
+    "min",
+    "max",
+    "mean",
+    "count",
+    "missing"
+})
+public class SolrFieldStats {
+
+    @JsonProperty("sum")
+    private Double sum;
+    @JsonProperty("min")
+    private Double min;
+    @JsonProperty("max")
+    private Double max;
+    @JsonProperty("mean")
+    private Double mean;
+    @JsonProperty("count")
+    private Long count;
+    @JsonProperty("missing")
+    private Long missing;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("sum")
+    public Double getSum() {
+        return sum;
+    }
+
+    @JsonProperty("sum")
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+
+    public SolrFieldStats withSum(Double sum) {
+        this.sum = sum;
+        return this;
+    }
+
+    @JsonProperty("min")
+    public Double getMin() {
+        return min;
+    }
+
+    @JsonProperty("min")
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public SolrFieldStats withMin(Double min) {
+        this.min = min;
+        return this;
+    }
+
+    @JsonProperty("max")
+    public Double getMax() {
+        return max;
+    }
+
+    @JsonProperty("max")
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public SolrFieldStats withMax(Double max) {
+        this.max = max;
+        return this;
+    }
+
+    @JsonProperty("mean")
+    public Double getMean() {
+        return mean;
+    }
+
+    @JsonProperty("mean")
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public SolrFieldStats withMean(Double mean) {
+        this.mean = mean;
+        return this;
+    }
+
+    @JsonProperty("count")
+    public Long getCount() {
+        return count;
+    }
+
+    @JsonProperty("count")
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public SolrFieldStats withCount(Long count) {
+        this.count = count;
+        return this;
+    }
+
+    @JsonProperty("missing")
+    public Long getMissing() {
+        return missing;
+    }
+
+    @JsonProperty("missing")
+    public void setMissing(Long missing) {
+        this.missing = missing;
+    }
+
+    public SolrFieldStats withMissing(Long missing) {
+        this.missing = missing;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((((((((("SolrFieldStats"+" [sum=")+ sum)+", min=")+ min)+", max=")+ max)+", mean=")+ mean)+", count=")+ count)+", missing=")+ missing)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
@@ -0,0 +1,256 @@
+package us.kbase.referencedatamanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Sends requests to the cores of a SOLR server over kept-alive connections,
+ * the Java counterpart of the service's SOLR transport. HttpURLConnection
+ * hands a connection back to the JDK's keep-alive cache once its response
+ * has been read to the end and closed, so every response is drained here,
+ * including error responses. At most maxConnectionsPerCore requests to a
+ * core are in flight at a time; the JDK keeps up to http.maxConnections
+ * (5 by default) idle connections per host, which should not be below the
+ * limit. Queries given together to {@link #selectAll} are sent concurrently
+ * over these connections by a pool of maxConnectionsPerCore threads, which
+ * stands in for HTTP pipelining that HttpURLConnection does not do.
+ * Connecting times out after 30 seconds unless set otherwise, so a SOLR host
+ * that does not answer does not hold a connection slot indefinitely.
+ */
+public class SolrGateway implements Closeable {
+
+    private final String baseUrl;
+    private final int maxConnectionsPerCore;
+    private final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<String, Semaphore>();
+    private volatile Integer readTimeOut = null;
+    private volatile Integer connectTimeOut = 30000;
+    private ExecutorService executor = null;
+
+    /** Creates a gateway with at most 4 connections per core.
+     * @param solrUrl the URL of the SOLR server, to which the core names are
+     * appended, e.g. https://kbase.us/internal/solr-ci/search.
+     */
+    public SolrGateway(URL solrUrl) {
+        this(solrUrl, 4);
+    }
+
+    /** Creates a gateway.
+     * @param solrUrl the URL of the SOLR server, to which the core names are
+     * appended.
+     * @param maxConnectionsPerCore the maximum number of requests to a core
+     * in flight at the same time.
+     */
+    public SolrGateway(URL solrUrl, int maxConnectionsPerCore) {
+        if (maxConnectionsPerCore < 1)
+            throw new IllegalArgumentException("maxConnectionsPerCore must be at least 1");
+        String url = solrUrl.toString();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.maxConnectionsPerCore = maxConnectionsPerCore;
+    }
+
+    public int getMaxConnectionsPerCore() {
+        return maxConnectionsPerCore;
+    }
+
+    public void setReadTimeOut(Integer milliseconds) {
+        this.readTimeOut = milliseconds;
+    }
+
+    /** Sets the time to wait for a connection to SOLR; null or 0 waits as
+     * long as the JDK does. */
+    public void setConnectTimeOut(Integer milliseconds) {
+        this.connectTimeOut = milliseconds;
+    }
+
+    /** Runs a query on a core.
+     * @param core the core name, e.g. GenomeFeatures_prod.
+     * @param params the query parameters, e.g. q, fq, fl, rows; wt is set
+     * to json.
+     * @return the JSON response of SOLR.
+     * @throws IOException if the request fails or SOLR returns an error.
+     */
+    public JsonNode select(String core, Map<String, String> params) throws IOException {
+        return send(core, "select", params, null);
+    }
+
+    /** Runs several queries on a core concurrently, at most
+     * maxConnectionsPerCore at a time; the others wait in the queue of the
+     * thread pool rather than in threads of their own.
+     * @param core the core name.
+     * @param queries the parameters of each query.
+     * @return the JSON responses, in the order of the queries.
+     * @throws IOException if a request fails; the other requests are still
+     * completed.
+     */
+    public List<JsonNode> selectAll(final String core, List<Map<String, String>> queries) throws IOException {
+        List<Future<JsonNode>> futures = new ArrayList<Future<JsonNode>>();
+        for (final Map<String, String> params : queries) {
+            futures.add(getExecutor().submit(new Callable<JsonNode>() {
+                @Override
+                public JsonNode call() throws IOException {
+                    return select(core, params);
+                }
+            }));
+        }
+        List<JsonNode> ret = new ArrayList<JsonNode>();
+        IOException error = null;
+        for (Future<JsonNode> future : futures) {
+            try {
+                ret.add(future.get());
+            } catch (ExecutionException e) {
+                if (error == null)
+                    error = e.getCause() instanceof IOException ? (IOException)e.getCause() :
+                        new IOException(e.getCause());
+                ret.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for SOLR", e);
+            }
+        }
+        if (error != null)
+            throw error;
+        return ret;
+    }
+
+    /** Tells whether a core holds a document whose field has the given value,
+     * the same check as the service's _exists.
+     * @param core the core name.
+     * @param field the field name.
+     * @param value the field value, quoted for the query by this method.
+     * @return true if at least one document matches.
+     * @throws IOException if the request fails or SOLR returns an error.
+     */
+    public boolean exists(String core, String field, String value) throws IOException {
+        Map<String, String> params = new LinkedHashMap<String, String>();
+        params.put("q", field + ":\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+        params.put("rows", "0");
+        return select(core, params).path("response").path("numFound").asLong() > 0;
+    }
+
+    /** Posts JSON documents or commands to the update handler of a core.
+     * @param core the core name.
+     * @param body the JSON update body.
+     * @param params the update parameters, e.g. commitWithin; wt is set to
+     * json.
+     * @return the JSON response of SOLR.
+     * @throws IOException if the request fails or SOLR returns an error.
+     */
+    public JsonNode update(String core, byte[] body, Map<String, String> params) throws IOException {
+        return send(core, "update", params, body);
+    }
+
+    private JsonNode send(String core, String handler, Map<String, String> params, byte[] body)
+            throws IOException {
+        URL url = new URL(baseUrl + "/" + core + "/" + handler + "?" + queryString(params));
+        Semaphore permit = permits.get(core);
+        if (permit == null) {
+            permits.putIfAbsent(core, new Semaphore(maxConnectionsPerCore, true));
+            permit = permits.get(core);
+        }
+        try {
+            permit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection to " + core, e);
+        }
+        try {
+            HttpURLConnection conn = (HttpURLConnection)url.openConnection();
+            if (connectTimeOut != null)
+                conn.setConnectTimeout(connectTimeOut);
+            if (readTimeOut != null)
+                conn.setReadTimeout(readTimeOut);
+            if (body != null) {
+                conn.setDoOutput(true);
+                conn.setRequestMethod("POST");
+                conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+                conn.setFixedLengthStreamingMode(body.length);
+                try (OutputStream os = conn.getOutputStream()) {
+                    os.write(body);
+                }
+            }
+            int code = conn.getResponseCode();
+            if (code >= 400) {
+                InputStream es = conn.getErrorStream();
+                String message = es == null ? "" : new String(drain(es), "UTF-8");
+                throw new IOException("SOLR returned " + code + " for " + url + ": " + message);
+            }
+            try (InputStream is = conn.getInputStream()) {
+                return JsonRpcStreamingCaller.MAPPER.readTree(drain(is));
+            }
+        } finally {
+            permit.release();
+        }
+    }
+
+    /** Reads a response to its end and closes it, which lets the JDK reuse
+     * the connection. */
+    private static byte[] drain(InputStream is) throws IOException {
+        try {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            for (int n = is.read(chunk); n >= 0; n = is.read(chunk))
+                buf.write(chunk, 0, n);
+            return buf.toByteArray();
+        } finally {
+            is.close();
+        }
+    }
+
+    private static String queryString(Map<String, String> params) throws UnsupportedEncodingException {
+        StringBuilder sb = new StringBuilder("wt=json");
+        if (params != null) {
+            for (Map.Entry<String, String> e : params.entrySet()) {
+                if ("wt".equals(e.getKey()))
+                    continue;
+                sb.append('&').append(URLEncoder.encode(e.getKey(), "UTF-8"))
+                    .append('=').append(URLEncoder.encode(e.getValue(), "UTF-8"));
+            }
+        }
+        return sb.toString();
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(maxConnectionsPerCore, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "ReferenceDataManager-solr");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return executor;
+    }
+
+    /** Stops the threads of {@link #selectAll}; the kept-alive connections
+     * are left to the JDK. */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: SolrGenomesSummary</p>
+ * <pre>
+ * Summary of the genomes of a SOLR core, as returned by summarize_solr_genomes
+ * num_genomes - the number of distinct genome_id values
+ * num_docs - the number of genome documents; above num_genomes when a genome is indexed more than once
+ * facet_counts - for each facet field, the number of genomes per value
+ * stats - for each stats field, its statistics over the genome documents
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "num_genomes",
+    "num_docs",
+    "facet_counts",
+    "stats"
+})
+public class SolrGenomesSummary {
+
+    @JsonProperty("num_genomes")
+    private Long numGenomes;
+    @JsonProperty("num_docs")
+    private Long numDocs;
+    @JsonProperty("facet_counts")
+    private Map<String, Map<String, Long>> facetCounts;
+    @JsonProperty("stats")
+    private Map<String, SolrFieldStats> stats;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("num_genomes")
+    public Long getNumGenomes() {
+        return numGenomes;
+    }
+
+    @JsonProperty("num_genomes")
+    public void setNumGenomes(Long numGenomes) {
+        this.numGenomes = numGenomes;
+    }
+
+    public SolrGenomesSummary withNumGenomes(Long numGenomes) {
+        this.numGenomes = numGenomes;
+        return this;
+    }
+
+    @JsonProperty("num_docs")
+    public Long getNumDocs() {
+        return numDocs;
+    }
+
+    @JsonProperty("num_docs")
+    public void setNumDocs(Long numDocs) {
+        this.numDocs = numDocs;
+    }
+
+    public SolrGenomesSummary withNumDocs(Long numDocs) {
+        this.numDocs = numDocs;
+        return this;
+    }
+
+    @JsonProperty("facet_counts")
+    public Map<String, Map<String, Long>> getFacetCounts() {
+        return facetCounts;
+    }
+
+    @JsonProperty("facet_counts")
+    public void setFacetCounts(Map<String, Map<String, Long>> facetCounts) {
+        this.facetCounts = facetCounts;
+    }
+
+    public SolrGenomesSummary withFacetCounts(Map<String, Map<String, Long>> facetCounts) {
+        this.facetCounts = facetCounts;
+        return this;
+    }
+
+    @JsonProperty("stats")
+    public Map<String, SolrFieldStats> getStats() {
+        return stats;
+    }
+
+    @JsonProperty("stats")
+    public void setStats(Map<String, SolrFieldStats> stats) {
+        this.stats = stats;
+    }
+
+    public SolrGenomesSummary withStats(Map<String, SolrFieldStats> stats) {
+        this.stats = stats;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((((("SolrGenomesSummary"+" [numGenomes=")+ numGenomes)+", numDocs=")+ numDocs)+", facetCounts=")+ facetCounts)+", stats=")+ stats)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
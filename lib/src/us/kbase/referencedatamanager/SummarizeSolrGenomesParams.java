@@ -0,0 +1,102 @@
+
+package us.kbase.referencedatamanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Generated;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+
+/**
+ * <p>Original spec-file type: SummarizeSolrGenomesParams</p>
+ * <pre>
+ * Arguments for the summarize_solr_genomes function
+ * facet_fields - the genome fields whose values are counted,
+ * {default => ["domain", "genome_source"]}
+ * stats_fields - the numeric genome fields that are totalled, {default => ["genome_dna_size", "num_cds"]}
+ * </pre>
+ * 
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Generated("com.googlecode.jsonschema2pojo")
+@JsonPropertyOrder({
+    "solr_core",
+    "facet_fields",
+    "stats_fields"
+})
+public class SummarizeSolrGenomesParams {
+
+    @JsonProperty("solr_core")
+    private String solrCore;
+    @JsonProperty("facet_fields")
+    private List<String> facetFields;
+    @JsonProperty("stats_fields")
+    private List<String> statsFields;
+    private Map<String, Object> additionalProperties = new HashMap<String, Object>();
+
+    @JsonProperty("solr_core")
+    public String getSolrCore() {
+        return solrCore;
+    }
+
+    @JsonProperty("solr_core")
+    public void setSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+    }
+
+    public SummarizeSolrGenomesParams withSolrCore(String solrCore) {
+        this.solrCore = solrCore;
+        return this;
+    }
+
+    @JsonProperty("facet_fields")
+    public List<String> getFacetFields() {
+        return facetFields;
+    }
+
+    @JsonProperty("facet_fields")
+    public void setFacetFields(List<String> facetFields) {
+        this.facetFields = facetFields;
+    }
+
+    public SummarizeSolrGenomesParams withFacetFields(List<String> facetFields) {
+        this.facetFields = facetFields;
+        return this;
+    }
+
+    @JsonProperty("stats_fields")
+    public List<String> getStatsFields() {
+        return statsFields;
+    }
+
+    @JsonProperty("stats_fields")
+    public void setStatsFields(List<String> statsFields) {
+        this.statsFields = statsFields;
+    }
+
+    public SummarizeSolrGenomesParams withStatsFields(List<String> statsFields) {
+        this.statsFields = statsFields;
+        return this;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperties(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return ((((((((("SummarizeSolrGenomesParams"+" [solrCore=")+ solrCore)+", facetFields=")+ facetFields)+", statsFields=")+ statsFields)+", additionalProperties=")+ additionalProperties)+"]");
+    }
+
+}
@@ -0,0 +1,506 @@
+package us.kbase.referencedatamanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>NCBI taxonomy loaded from a taxdump (nodes.dmp and names.dmp).</p>
+ * <pre>
+ * Produces the same taxa in the same order as _extract_ncbi_taxa in
+ * ReferenceDataManagerImpl.pm, for load_taxons. The tree is held in
+ * primitive arrays indexed by node number: taxonomy id, parent node, rank
+ * and EMBL code (as indexes into small string tables), division, genetic
+ * codes and flags. Names are interned while the dump is read, so a 2.5M
+ * taxa dump does not cost a hash of strings per taxon.
+ * A single top-down pass over the tree computes lineages, levels and
+ * domains. Every node passes its lineage plus its own name on to its
+ * children. Only nodes with children keep that string, so no taxon walks to
+ * the root. The taxa are then streamed ordered by level, i.e. the number of
+ * names in the lineage, and by taxonomy id, the order in which load_taxons
+ * has to save them so that parents come first.
+ * </pre>
+ */
+public class TaxonomyEngine {
+
+    /** The domains recognized in lineages, in order of precedence. */
+    public static final String[] DOMAINS = {"Eukaryota", "Bacteria", "Viruses", "Archaea"};
+    /** The kingdoms recognized in the lineages of Eukaryota, in order of precedence. */
+    public static final String[] KINGDOMS = {"Fungi", "Viridiplantae", "Metazoa"};
+    public static final String UNKNOWN_DOMAIN = "Unknown";
+
+    private static final int ROOT_ID = 1;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private int size = 0;
+    // by taxonomy id: node number, or -1
+    private int[] nodeOf = new int[INITIAL_CAPACITY];
+    // by node number
+    private int[] taxId = new int[INITIAL_CAPACITY];
+    private int[] parentId = new int[INITIAL_CAPACITY];
+    private int[] parent;
+    private int[] rank = new int[INITIAL_CAPACITY];
+    private int[] emblCode = new int[INITIAL_CAPACITY];
+    private int[] divisionId = new int[INITIAL_CAPACITY];
+    private int[] inheritedDivFlag = new int[INITIAL_CAPACITY];
+    private int[] geneticCode = new int[INITIAL_CAPACITY];
+    private int[] inheritedGCFlag = new int[INITIAL_CAPACITY];
+    private int[] mitochondrialGeneticCode = new int[INITIAL_CAPACITY];
+    private int[] inheritedMGCFlag = new int[INITIAL_CAPACITY];
+    private int[] genBankHiddenFlag = new int[INITIAL_CAPACITY];
+    private int[] hiddenSubtreeRootFlag = new int[INITIAL_CAPACITY];
+    private int[] comments = new int[INITIAL_CAPACITY];
+    private String[] scientificName = new String[INITIAL_CAPACITY];
+    private String[] uniqueVariant = new String[INITIAL_CAPACITY];
+    private String[][] aliases = new String[INITIAL_CAPACITY][];
+    // computed by the top-down pass
+    private int[] level;
+    private byte[] lineageMask;
+    private String[] childLineage;
+    // scientific names shared by several taxa, replaced by their unique variant
+    private Set<String> duplicateNames = new HashSet<String>();
+    // the values of the low cardinality columns
+    private final List<String> table = new ArrayList<String>();
+    private final Map<String, Integer> tableIndex = new HashMap<String, Integer>();
+
+    private TaxonomyEngine() {
+        Arrays.fill(nodeOf, -1);
+    }
+
+    /** Loads the taxonomy from an unpacked taxdump.
+     * @param taxdumpDir the directory holding nodes.dmp and names.dmp.
+     * @return the taxonomy.
+     * @throws IOException if a file cannot be read.
+     */
+    public static TaxonomyEngine load(Path taxdumpDir) throws IOException {
+        return load(taxdumpDir.resolve("nodes.dmp"), taxdumpDir.resolve("names.dmp"));
+    }
+
+    /** Loads the taxonomy from the nodes and names files of a taxdump.
+     * @param nodesDmp the nodes.dmp file.
+     * @param namesDmp the names.dmp file.
+     * @return the taxonomy.
+     * @throws IOException if a file cannot be read.
+     */
+    public static TaxonomyEngine load(Path nodesDmp, Path namesDmp) throws IOException {
+        TaxonomyEngine ret = new TaxonomyEngine();
+        ret.readNodes(nodesDmp);
+        ret.readNames(namesDmp);
+        ret.computeLineages();
+        return ret;
+    }
+
+    /** Returns the number of taxa. */
+    public int size() {
+        return size;
+    }
+
+    /** Returns true if the taxonomy holds the taxon. */
+    public boolean contains(long taxonomyId) {
+        return node(taxonomyId) >= 0;
+    }
+
+    /** Returns the scientific lineage of a taxon: the names of its ancestors
+     * below the root, separated by "; ", or null for an unknown taxon.
+     */
+    public String getLineage(long taxonomyId) {
+        int n = node(taxonomyId);
+        return n < 0 ? null : lineage(n);
+    }
+
+    /** Returns the level of a taxon, the number of names in its lineage, or
+     * -1 for an unknown taxon.
+     */
+    public int getLevel(long taxonomyId) {
+        int n = node(taxonomyId);
+        return n < 0 ? -1 : level[n];
+    }
+
+    /** Returns the taxon with the given id, or null if it is unknown. */
+    public KBaseReferenceTaxonData getTaxon(long taxonomyId) {
+        int n = node(taxonomyId);
+        return n < 0 ? null : toTaxon(n);
+    }
+
+    /** Streams the taxa ordered by level and taxonomy id. The records are
+     * built as they are iterated and hold the fields of the objects
+     * _extract_ncbi_taxa returns: those of KBaseReferenceTaxonData, plus
+     * parent_taxon_id (except for the root) and hidden_substree_root_flag
+     * in the additional properties.
+     * @return an iterator over all taxa.
+     */
+    public Iterator<KBaseReferenceTaxonData> levelOrderedTaxa() {
+        final long[] order = new long[size];
+        for (int n = 0; n < size; n++)
+            order[n] = ((long) level[n] << 32) | (taxId[n] & 0xffffffffL);
+        Arrays.sort(order);
+        return new Iterator<KBaseReferenceTaxonData>() {
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pos < order.length;
+            }
+
+            @Override
+            public KBaseReferenceTaxonData next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return toTaxon(nodeOf[(int) order[pos++]]);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+
+    private int node(long taxonomyId) {
+        return taxonomyId < 0 || taxonomyId >= nodeOf.length ? -1 : nodeOf[(int) taxonomyId];
+    }
+
+    private String lineage(int n) {
+        if (taxId[n] == ROOT_ID || parent[n] < 0 || parentId[n] <= ROOT_ID)
+            return "";
+        String ret = childLineage[parent[n]];
+        return ret == null ? "" : ret;
+    }
+
+    private KBaseReferenceTaxonData toTaxon(int n) {
+        String name = scientificName[n];
+        if (duplicateNames.contains(name) && uniqueVariant[n] != null && !uniqueVariant[n].trim().isEmpty())
+            name = uniqueVariant[n];
+        int mask = lineageMask[n];
+        String domain = UNKNOWN_DOMAIN;
+        String kingdom = null;
+        for (int d = 0; d < DOMAINS.length; d++) {
+            if ((mask & (1 << d)) != 0) {
+                domain = DOMAINS[d];
+                break;
+            }
+        }
+        if (domain.equals(DOMAINS[0])) {
+            for (int k = 0; k < KINGDOMS.length; k++) {
+                if ((mask & (1 << (DOMAINS.length + k))) != 0) {
+                    kingdom = KINGDOMS[k];
+                    break;
+                }
+            }
+        }
+        List<String> al = aliases[n] == null ? new ArrayList<String>() :
+            new ArrayList<String>(Arrays.asList(aliases[n]));
+        KBaseReferenceTaxonData ret = new KBaseReferenceTaxonData()
+            .withTaxonomyId((long) taxId[n])
+            .withScientificName(name)
+            .withScientificLineage(lineage(n))
+            .withRank(table.get(rank[n]))
+            .withKingdom(kingdom)
+            .withDomain(domain)
+            .withAliases(al)
+            .withGeneticCode((long) geneticCode[n])
+            .withEmblCode(table.get(emblCode[n]))
+            .withInheritedDivFlag((long) inheritedDivFlag[n])
+            .withInheritedGCFlag((long) inheritedGCFlag[n])
+            .withMitochondrialGeneticCode((long) mitochondrialGeneticCode[n])
+            .withInheritedMGCFlag((long) inheritedMGCFlag[n])
+            .withGenBankHiddenFlag((long) genBankHiddenFlag[n])
+            .withDivisionId((long) divisionId[n])
+            .withComments(table.get(comments[n]));
+        if (taxId[n] != ROOT_ID)
+            ret.setAdditionalProperties("parent_taxon_id", (long) parentId[n]);
+        ret.setAdditionalProperties("hidden_substree_root_flag", table.get(hiddenSubtreeRootFlag[n]));
+        return ret;
+    }
+
+    private void readNodes(Path nodesDmp) throws IOException {
+        String[] f = new String[16];
+        BufferedReader br = Files.newBufferedReader(nodesDmp, StandardCharsets.UTF_8);
+        try {
+            for (String line = br.readLine(); line != null; line = br.readLine()) {
+                int cols = splitDmp(line, f);
+                int id = toInt(f[0]);
+                if (id < 0)
+                    continue;
+                if (id >= nodeOf.length) {
+                    int old = nodeOf.length;
+                    nodeOf = Arrays.copyOf(nodeOf, Math.max(old * 2, id + 1));
+                    Arrays.fill(nodeOf, old, nodeOf.length, -1);
+                }
+                int n = nodeOf[id];
+                if (n < 0) {
+                    if (size == taxId.length)
+                        grow(size * 2);
+                    n = size++;
+                    nodeOf[id] = n;
+                }
+                taxId[n] = id;
+                parentId[n] = toInt(col(f, cols, 1));
+                rank[n] = tableIndex(col(f, cols, 2));
+                emblCode[n] = tableIndex(col(f, cols, 3));
+                divisionId[n] = toInt(col(f, cols, 4));
+                inheritedDivFlag[n] = toInt(col(f, cols, 5));
+                geneticCode[n] = toInt(col(f, cols, 6));
+                inheritedGCFlag[n] = toInt(col(f, cols, 7));
+                mitochondrialGeneticCode[n] = toInt(col(f, cols, 8));
+                inheritedMGCFlag[n] = toInt(col(f, cols, 9));
+                genBankHiddenFlag[n] = toInt(col(f, cols, 10));
+                hiddenSubtreeRootFlag[n] = tableIndex(col(f, cols, 11));
+                comments[n] = tableIndex(col(f, cols, 12));
+                scientificName[n] = "";
+            }
+        } finally {
+            br.close();
+        }
+        grow(size);
+    }
+
+    private void readNames(Path namesDmp) throws IOException {
+        String[] f = new String[8];
+        Map<String, String> interned = new HashMap<String, String>();
+        Map<String, Integer> firstTaxon = new HashMap<String, Integer>();
+        BufferedReader br = Files.newBufferedReader(namesDmp, StandardCharsets.UTF_8);
+        try {
+            for (String line = br.readLine(); line != null; line = br.readLine()) {
+                int cols = splitDmp(line, f);
+                int id = toInt(f[0]);
+                int n = node(id);
+                if (n < 0)
+                    continue;
+                String name = intern(interned, col(f, cols, 1));
+                if ("scientific name".equals(col(f, cols, 3))) {
+                    scientificName[n] = name;
+                    uniqueVariant[n] = col(f, cols, 2);
+                    Integer first = firstTaxon.put(name, id);
+                    if (first != null && first != id)
+                        duplicateNames.add(name);
+                } else {
+                    String[] al = aliases[n];
+                    if (al == null) {
+                        al = new String[] {name};
+                    } else {
+                        al = Arrays.copyOf(al, al.length + 1);
+                        al[al.length - 1] = name;
+                    }
+                    aliases[n] = al;
+                }
+            }
+        } finally {
+            br.close();
+        }
+    }
+
+    private void computeLineages() {
+        parent = new int[size];
+        int[] childCount = new int[size + 1];
+        for (int n = 0; n < size; n++) {
+            parent[n] = node(parentId[n]);
+            if (parent[n] >= 0 && parent[n] != n)
+                childCount[parent[n]]++;
+        }
+        // children of every node, as ranges of one array
+        int[] childStart = new int[size + 1];
+        for (int n = 0; n < size; n++)
+            childStart[n + 1] = childStart[n] + childCount[n];
+        int[] children = new int[childStart[size]];
+        int[] fill = Arrays.copyOf(childStart, size);
+        for (int n = 0; n < size; n++) {
+            if (parent[n] >= 0 && parent[n] != n)
+                children[fill[parent[n]]++] = n;
+        }
+        level = new int[size];
+        lineageMask = new byte[size];
+        childLineage = new String[size];
+        // breadth first from the nodes whose parent is not below them
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int n = 0; n < size; n++) {
+            if (parent[n] < 0 || parent[n] == n)
+                queue[tail++] = n;
+        }
+        while (head < tail) {
+            int n = queue[head++];
+            if (childCount[n] == 0)
+                continue;
+            String name = scientificName[n];
+            int childLevel = 0;
+            int childMask = 0;
+            String lin = "";
+            if (taxId[n] > ROOT_ID) {
+                lin = lineage(n);
+                childLevel = level[n];
+                childMask = lineageMask[n];
+                if (!name.isEmpty()) {
+                    lin = lin.isEmpty() ? name : lin + "; " + name;
+                    childLevel += lineagePieces(name);
+                    childMask |= nameMask(name);
+                }
+            }
+            childLineage[n] = lin;
+            for (int c = childStart[n]; c < childStart[n + 1]; c++) {
+                int child = children[c];
+                if (parentId[child] > ROOT_ID) {
+                    level[child] = childLevel;
+                    lineageMask[child] = (byte) childMask;
+                }
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    // the number of fields split(/;\s/) finds in a name
+    private static int lineagePieces(String name) {
+        int ret = 1;
+        for (int i = 0; i + 1 < name.length(); i++) {
+            if (name.charAt(i) == ';' && isPerlSpace(name.charAt(i + 1)))
+                ret++;
+        }
+        return ret;
+    }
+
+    private static int nameMask(String name) {
+        int ret = 0;
+        for (int d = 0; d < DOMAINS.length; d++) {
+            if (name.contains(DOMAINS[d]))
+                ret |= 1 << d;
+        }
+        for (int k = 0; k < KINGDOMS.length; k++) {
+            if (name.contains(KINGDOMS[k]))
+                ret |= 1 << (DOMAINS.length + k);
+        }
+        return ret;
+    }
+
+    private void grow(int capacity) {
+        taxId = Arrays.copyOf(taxId, capacity);
+        parentId = Arrays.copyOf(parentId, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        emblCode = Arrays.copyOf(emblCode, capacity);
+        divisionId = Arrays.copyOf(divisionId, capacity);
+        inheritedDivFlag = Arrays.copyOf(inheritedDivFlag, capacity);
+        geneticCode = Arrays.copyOf(geneticCode, capacity);
+        inheritedGCFlag = Arrays.copyOf(inheritedGCFlag, capacity);
+        mitochondrialGeneticCode = Arrays.copyOf(mitochondrialGeneticCode, capacity);
+        inheritedMGCFlag = Arrays.copyOf(inheritedMGCFlag, capacity);
+        genBankHiddenFlag = Arrays.copyOf(genBankHiddenFlag, capacity);
+        hiddenSubtreeRootFlag = Arrays.copyOf(hiddenSubtreeRootFlag, capacity);
+        comments = Arrays.copyOf(comments, capacity);
+        scientificName = Arrays.copyOf(scientificName, capacity);
+        uniqueVariant = Arrays.copyOf(uniqueVariant, capacity);
+        aliases = Arrays.copyOf(aliases, capacity);
+    }
+
+    private int tableIndex(String value) {
+        Integer ret = tableIndex.get(value);
+        if (ret == null) {
+            ret = table.size();
+            table.add(value);
+            tableIndex.put(value, ret);
+        }
+        return ret;
+    }
+
+    private static String intern(Map<String, String> interned, String value) {
+        String ret = interned.get(value);
+        if (ret == null) {
+            interned.put(value, value);
+            ret = value;
+        }
+        return ret;
+    }
+
+    private static String col(String[] f, int cols, int i) {
+        return i < cols ? f[i] : "";
+    }
+
+    /** Splits a .dmp line the way _extract_ncbi_taxa does: the fields are
+     * separated by '|', lose the white space next to it and trailing empty
+     * fields are kept. Returns the number of fields, at most f.length.
+     */
+    static int splitDmp(String line, String[] f) {
+        int cols = 0;
+        int start = 0;
+        int len = line.length();
+        while (cols < f.length) {
+            int bar = line.indexOf('|', start);
+            int end = bar < 0 ? len : bar;
+            int e = end;
+            if (bar >= 0) {
+                while (e > start && isPerlSpace(line.charAt(e - 1)))
+                    e--;
+            }
+            f[cols++] = line.substring(start, e);
+            if (bar < 0)
+                break;
+            start = bar + 1;
+            while (start < len && isPerlSpace(line.charAt(start)))
+                start++;
+        }
+        return cols;
+    }
+
+    private static boolean isPerlSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0b;
+    }
+
+    // the leading integer of a string, as $value+0 in Perl, 0 if there is none
+    private static int toInt(String value) {
+        int i = 0;
+        int len = value.length();
+        while (i < len && isPerlSpace(value.charAt(i)))
+            i++;
+        boolean neg = false;
+        if (i < len && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+            neg = value.charAt(i++) == '-';
+        long ret = 0;
+        while (i < len && Character.isDigit(value.charAt(i)) && ret <= Integer.MAX_VALUE)
+            ret = ret * 10 + (value.charAt(i++) - '0');
+        ret = Math.min(ret, Integer.MAX_VALUE);
+        return (int) (neg ? -ret : ret);
+    }
+
+    /** Command line entry point.
+     * <pre>
+     * TaxonomyEngine &lt;taxdump dir&gt; [output file]
+     *     writes the taxa ordered by level and taxonomy id, one JSON object
+     *     per line, to the output file or to the standard output
+     * </pre>
+     * @param args the taxdump directory and the optional output file.
+     * @throws Exception if the taxdump cannot be read or the output written.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: TaxonomyEngine <taxdump dir> [output file]");
+            System.exit(1);
+        }
+        TaxonomyEngine taxonomy = load(Paths.get(args[0]));
+        Writer w = new BufferedWriter(args.length > 1 ?
+                Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8) :
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            for (Iterator<KBaseReferenceTaxonData> it = taxonomy.levelOrderedTaxa(); it.hasNext(); ) {
+                w.write(JsonRpcStreamingCaller.MAPPER.writeValueAsString(it.next()));
+                w.write('\n');
+            }
+        } finally {
+            w.close();
+        }
+        System.err.println(taxonomy.size() + " taxa written");
+    }
+}
@@ -15,6 +15,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  * <p>Original spec-file type: UpdateLoadedGenomesParams</p>
  * <pre>
  * Arguments for the update_loaded_genomes function
+ * resume_token - name of the checkpoint of the run; a run given the token of an interrupted run skips the genomes that run already processed.
+ * If no token is given a new one is generated and printed in the log.
  * </pre>
  * 
  */
@@ -25,7 +27,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
     "refseq",
     "phytozome",
     "workspace_name",
-    "create_report"
+    "create_report",
+    "resume_token"
 })
 public class UpdateLoadedGenomesParams {
 
@@ -39,6 +42,8 @@ public class UpdateLoadedGenomesParams {
     private String workspaceName;
     @JsonProperty("create_report")
     private Long createReport;
+    @JsonProperty("resume_token")
+    private String resumeToken;
     private Map<String, Object> additionalProperties = new HashMap<String, Object>();
 
     @JsonProperty("ensembl")
@@ -116,6 +121,21 @@ public class UpdateLoadedGenomesParams {
         return this;
     }
 
+    @JsonProperty("resume_token")
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    @JsonProperty("resume_token")
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    public UpdateLoadedGenomesParams withResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+        return this;
+    }
+
     @JsonAnyGetter
     public Map<String, Object> getAdditionalProperties() {
         return this.additionalProperties;
@@ -128,7 +148,7 @@ public class UpdateLoadedGenomesParams {
 
     @Override
     public String toString() {
-        return ((((((((((((("UpdateLoadedGenomesParams"+" [ensembl=")+ ensembl)+", refseq=")+ refseq)+", phytozome=")+ phytozome)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", additionalProperties=")+ additionalProperties)+"]");
+        return ((((((((((((((("UpdateLoadedGenomesParams"+" [ensembl=")+ ensembl)+", refseq=")+ refseq)+", phytozome=")+ phytozome)+", workspaceName=")+ workspaceName)+", createReport=")+ createReport)+", resumeToken=")+ resumeToken)+", additionalProperties=")+ additionalProperties)+"]");
     }
 
 }
@@ -0,0 +1,32 @@
+use strict;
+use Test::More;
+use File::Find;
+use File::Temp qw(tempdir);
+use FindBin qw($Bin);
+
+#Compiles the Java client in lib/src with the JUnit tests in test/src and runs them. run_tests.sh only runs the
+#.pl files of this directory, hence this script. The jars (JUnit, Jackson, the KBase java_common) are those of the
+#SDK image, or of the directory in $ENV{JARS_DIR}.
+
+local $| = 1;
+my $jars_dir = $ENV{JARS_DIR} ? $ENV{JARS_DIR} : "/kb/deployment/lib/jars";
+my $src_dir = "$Bin/../lib/src";
+my $test_dir = "$Bin/src";
+
+plan skip_all => "javac is not available" unless system("javac -version >/dev/null 2>&1") == 0;
+plan skip_all => "no jars in $jars_dir" unless -d $jars_dir;
+
+my (@jars, @sources, @tests);
+find(sub { push(@jars, $File::Find::name) if /\.jar$/ }, $jars_dir);
+plan skip_all => "no JUnit jar in $jars_dir" unless grep { m{/junit[^/]*\.jar$} } @jars;
+find(sub { push(@sources, $File::Find::name) if /\.java$/ }, $src_dir, $test_dir);
+find(sub { push(@tests, $File::Find::name) if /Test\.java$/ }, $test_dir);
+
+my $out_dir = tempdir(CLEANUP => 1);
+my $classpath = join(":", @jars);
+ok(system("javac", "-nowarn", "-d", $out_dir, "-cp", $classpath, @sources) == 0, "the Java client and its tests compile");
+my @classes = map { my $c = substr($_, length($test_dir) + 1); $c =~ s/\.java$//; $c =~ s{/}{.}g; $c } sort @tests;
+ok(system("java", "-cp", "$out_dir:$classpath", "org.junit.runner.JUnitCore", @classes) == 0,
+   "the Java unit tests pass: ".join(", ", @classes));
+
+done_testing();
@@ -87,6 +87,68 @@ eval {
     ok(defined($sgret->[0]),"list_solr_genomes command returned at least one genome");
 =cut
 
+=begin testing summarize_solr_genomes
+    #Testing summarize_solr_genomes function against the genome groups of list_solr_genomes
+    my $summary;
+    my $groups;
+    eval {
+        $summary = $impl->summarize_solr_genomes({
+            solr_core => "GenomeFeatures_prod"
+        });
+        $groups = $impl->list_solr_genomes({
+            solr_core => "GenomeFeatures_prod",
+            fields => ["genome_id"],
+            group_option => "genome_id",
+            row_count => 1000000
+        });
+    };
+    ok(!$@, "summarize_solr_genomes command successful");
+    if ($@) {
+         print "ERROR:".$@;
+     } else {
+         print "Number of genomes:".$summary->{num_genomes}.", of genome documents:".$summary->{num_docs}."\n";
+         print Data::Dumper->Dump([$summary->{facet_counts}, $summary->{stats}])."\n";
+     }
+     ok($summary->{num_genomes} == @{$groups}, "summarize_solr_genomes counted one genome per genome_id group");
+     ok($summary->{num_docs} >= $summary->{num_genomes}, "summarize_solr_genomes counted at least one document per genome");
+=cut
+
+=begin testing list_solr_docs_page
+    #Testing list_solr_docs_page function, walking a core in about three pages until the cursor stops moving
+    my $pages = [];
+    my $num_docs = 0;
+    eval {
+        my $first = $impl->list_solr_docs_page({
+            solr_core => "genomes",
+            row_count => 1
+        });
+        my $page_size = int($first->{num_found} / 3) + 1;
+        my $cursor = "*";
+        while (@{$pages} < 100) {
+            my $page = $impl->list_solr_docs_page({
+                solr_core => "genomes",
+                row_count => $page_size,
+                cursor => $cursor
+            });
+            push(@{$pages}, $page);
+            $num_docs += @{$page->{docs}};
+            last if $page->{next_cursor} eq $cursor;
+            $cursor = $page->{next_cursor};
+        }
+    };
+    ok(!$@, "list_solr_docs_page command successful");
+    if ($@) {
+         print "ERROR:".$@;
+     } else {
+         print "Number of pages:".@{$pages}.", of documents:".$num_docs."\n";
+         print "First record:\n";
+         print Data::Dumper->Dump([$pages->[0]->{docs}->[0]])."\n";
+     }
+     ok(@{$pages} > 2, "list_solr_docs_page walked at least two pages of documents");
+     ok(@{$pages->[-1]->{docs}} == 0, "list_solr_docs_page ended the walk with an unchanged next_cursor on an empty page");
+     ok($num_docs == $pages->[0]->{num_found}, "list_solr_docs_page listed every document once");
+=cut
+
 =begin 
     #Testing list_solr_taxa function
     my $stret;
@@ -145,6 +207,27 @@ eval {
      }
      ok(defined($gnstatusret), "_checkGenomeStatus command returneds a value");
 =cut
+
+=begin testing check_genome_status
+    #Testing check_genome_status function
+    my $gnstatuses;
+    eval {
+        $gnstatuses = $impl->check_genome_status({
+            genomes => $refret,
+            solr_core => "GenomeFeatures_prod",
+            batch_size => 1000
+        });
+    };
+    ok(!$@, "check_genome_status command successful");
+    if ($@) {
+         print "ERROR:".$@;
+     } else {
+         print "Number of records:".@{$gnstatuses}."\n";
+         print "First record:\n";
+         print Data::Dumper->Dump([$gnstatuses->[0]])."\n";
+     }
+     ok(@{$gnstatuses} == @{$refret}, "check_genome_status command returned one status per genome");
+=cut
 =begin testing _checkTaxonStatus    
     #Testing _checkTaxonStatus function
     my $txstatusret;
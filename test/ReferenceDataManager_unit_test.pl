@@ -0,0 +1,141 @@
+use strict;
+use Test::More;
+use ReferenceDataManager::ReferenceDataManagerImpl;
+
+#Unit tests of internal subs that need neither a token nor the workspace or SOLR services: the Impl is blessed
+#without its constructor and the subs reaching a service are replaced where a test needs them.
+
+local $| = 1;
+my $class = "ReferenceDataManager::ReferenceDataManagerImpl";
+
+sub new_impl {
+    my (%retry) = @_;
+    return bless {
+        _RETRY => {
+            attempts => 3,
+            base_delay => 0,
+            max_delay => 0,
+            failure_threshold => 100,
+            cooldown => 0,
+            budget_ratio => 0.2,
+            budget_min => 10,
+            %retry
+        },
+        _UNSENT_ERRORS => qr/Can't connect|Connection refused|\b503\b/
+    }, $class;
+}
+
+#Runs $code with the named subs of the Impl replaced
+sub with_mocks {
+    my ($mocks, $code) = @_;
+    no strict "refs";
+    no warnings "redefine";
+    my %saved = map { $_ => \&{"${class}::$_"} } keys %$mocks;
+    *{"${class}::$_"} = $mocks->{$_} foreach (keys %$mocks);
+    my @ret = eval { $code->() };
+    my $error = $@;
+    *{"${class}::$_"} = $saved{$_} foreach (keys %saved);
+    die $error if $error;
+    return @ret;
+}
+
+#Testing _indexSessionEvict term building
+{
+    my $impl = new_impl();
+    my $session = $impl->_openIndexSession("GenomeFeatures_ci", "end");
+    $impl->_indexSessionEvict($session, "GCF_000005845.2", "19217/1/2");
+    $impl->_indexSessionEvict($session, "GCA_000001405.28", "19217/2/1");
+    $impl->_indexSessionEvict($session, "kb|g.1234", "19217/3/1");
+    $impl->_indexSessionEvict($session, "83333.1", "19217/4/1");
+    $impl->_indexSessionEvict($session, "GCF_000005845.2b", "19217/5/1");
+    $impl->_indexSessionEvict($session, "GCF_000005845.2", "19217/6/1");
+    $impl->_indexSessionEvict($session, "", "19217/7/1");
+    $impl->_indexSessionEvict($session, "GCF_1.1", undef);
+    is_deeply([map { $_->{term} } @{$session->{evictions}}],
+              ['GCF_000005845.*', 'GCA_000001405.*', 'kb\|g.1234', '83333.1', 'GCF_000005845.2b', 'GCF_000005845.*'],
+              "_indexSessionEvict strips the version of GCF_/GCA_ accessions only and escapes the other ids");
+    is_deeply($session->{indexed_refs}->{"GCF_000005845"}, ["19217/1/2", "19217/6/1"],
+              "_indexSessionEvict groups the refs of the versions of an accession");
+    is_deeply($session->{indexed_refs}->{"83333.1"}, ["19217/4/1"], "_indexSessionEvict keeps a non-NCBI id whole");
+
+    my @queries;
+    with_mocks({
+        _deleteRecords => sub { my ($self, $core, $criteria) = @_; push(@queries, $criteria->{genome_id}); return {response => "{}"}; },
+        _parseResponse => sub { return 1; }
+    }, sub {
+        $impl->_sendIndexEvictions($session, [@{$session->{evictions}}[0, 3]]);
+    });
+    is_deeply(\@queries, ['(GCF_000005845.* OR 83333.1) AND -ws_ref:("19217/1/2" OR "19217/4/1" OR "19217/6/1")'],
+              "_sendIndexEvictions keeps the documents of the genomes indexed in the session");
+    is($session->{evicted}, 2, "_sendIndexEvictions counts the evicted genomes");
+
+    with_mocks({
+        _deleteRecords => sub { return undef; }
+    }, sub {
+        $impl->{errmsg} = "SOLR is down";
+        $impl->_sendIndexEvictions($session, [$session->{evictions}->[2]]);
+    });
+    like($session->{index_errors}->{"19217/3/1"}, qr/SOLR is down/, "_sendIndexEvictions reports a failed deletion on its genomes");
+}
+
+#Testing _withRetry failure shapes
+{
+    my $impl = new_impl();
+    my $calls = 0;
+    my $result = $impl->_withRetry("workspace", "flaky call", sub { die "Connection reset\n" if ++$calls < 3; return "ok"; });
+    is($result, "ok", "_withRetry returns the result of a call that succeeds after failing");
+    is($calls, 3, "_withRetry tries a failing call again");
+
+    $calls = 0;
+    eval { $impl->_withRetry("workspace", "string error", sub { $calls++; die "500 Internal Server Error\n"; }); };
+    is($@, "500 Internal Server Error\n", "_withRetry throws a string error again as it is");
+    is($calls, 3, "_withRetry stops after the attempts");
+    ok(!(UNIVERSAL::isa($@, "HASH") && defined($@->{status_line})), "a string error has no status_line to read");
+
+    my $hash_error = {message => "Object #2 is invalid", status_line => "500 Internal Server Error"};
+    $calls = 0;
+    eval { $impl->_withRetry("workspace", "permanent error", sub { $calls++; die $hash_error; }, {permanent => qr/Object #\d+/}); };
+    is($@, $hash_error, "_withRetry throws a hash error again as it is");
+    is($@->{status_line}, "500 Internal Server Error", "the status_line of a hash error is kept");
+    is($calls, 1, "_withRetry does not retry a permanent error");
+
+    $calls = 0;
+    eval { $impl->_withRetry("workspace", "read timeout", sub { $calls++; die "read timeout\n"; }, {transient => $impl->{_UNSENT_ERRORS}}); };
+    is($calls, 1, "_withRetry does not retry an error that is not transient");
+    $calls = 0;
+    eval { $impl->_withRetry("workspace", "no connection", sub { $calls++; die "Can't connect to kbase.us:443\n"; }, {transient => $impl->{_UNSENT_ERRORS}}); };
+    is($calls, 3, "_withRetry retries a transient error");
+
+    $calls = 0;
+    $result = eval { $impl->_withRetry("solr", "bad result", sub { $calls++; return {code => 503}; },
+                                       {retry_on => sub { return $_[0]->{code} == 503 ? "503 Service Unavailable" : undef; }}); };
+    ok(!$@, "_withRetry does not die on a bad result");
+    is($result->{code}, 503, "_withRetry returns the last bad result");
+    is($calls, 3, "_withRetry retries a bad result");
+}
+
+#Testing the circuit breaker of _withRetry
+{
+    my $impl = new_impl(attempts => 1, failure_threshold => 1, cooldown => 60, budget_ratio => 0, budget_min => 0);
+    eval { $impl->_withRetry("solr", "first call", sub { die "Connection refused\n"; }); };
+    my $calls = 0;
+    eval { $impl->_withRetry("solr", "second call", sub { $calls++; return 1; }); };
+    like($@, qr/second call not attempted: the circuit for solr is open/, "_withRetry fails right away while the circuit is open");
+    is($calls, 0, "_withRetry does not make a call while the circuit is open");
+    my $other = eval { $impl->_withRetry("workspace", "other endpoint", sub { return "ok"; }); };
+    is($other, "ok", "the circuit of an endpoint does not hold up the other endpoints");
+}
+
+#Testing _taxonFingerprint
+{
+    my $impl = new_impl();
+    my $taxon = {taxonomy_id => 562, parent_taxon_id => 561, rank => "species", scientific_name => "Escherichia coli",
+                 aliases => ["Bacillus coli"], genetic_code => 11};
+    my $fp = $impl->_taxonFingerprint($taxon);
+    is($impl->_taxonFingerprint({%$taxon}), $fp, "_taxonFingerprint is stable");
+    isnt($impl->_taxonFingerprint({%$taxon, aliases => ["Bacillus coli", "E. coli"]}), $fp, "_taxonFingerprint covers the aliases");
+    isnt($impl->_taxonFingerprint({%$taxon, genetic_code => 4}), $fp, "_taxonFingerprint covers the genetic code");
+    isnt($impl->_taxonFingerprint({%$taxon, parent_taxon_id => 1}), $fp, "_taxonFingerprint covers the parent");
+}
+
+done_testing();
@@ -0,0 +1,120 @@
+package us.kbase.referencedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class AssemblySummaryParserTest {
+
+    private static final String HEADER =
+        "#   See ftp://ftp.ncbi.nlm.nih.gov/genomes/README_assembly_summary.txt for a description of the columns\n" +
+        "# assembly_accession\tbioproject\tbiosample\twgs_master\trefseq_category\ttaxid\tspecies_taxid\t" +
+        "organism_name\tinfraspecific_name\tisolate\tversion_status\tassembly_level\trelease_type\tgenome_rep\t" +
+        "seq_rel_date\tasm_name\tsubmitter\tgbrs_paired_asm\tpaired_asm_comp\tftp_path\texcluded_from_refseq\n";
+
+    private static String line(String accession, String category, String taxId, String status, String asmName,
+            String ftpPath) {
+        return accession + "\tPRJNA57779\tSAMN02604091\t\t" + category + "\t" + taxId + "\t562\tEscherichia coli\t" +
+            "strain=K-12\t\t" + status + "\tComplete Genome\tMajor\tFull\t2013/09/26\t" + asmName + "\tNCBI\t" +
+            "GCA_000005845.2\tidentical\t" + ftpPath + "\t";
+    }
+
+    private static List<ReferenceGenomeData> parse(String content, int bufferSize) throws Exception {
+        List<ReferenceGenomeData> ret = new ArrayList<ReferenceGenomeData>();
+        try (AssemblySummaryParser parser = new AssemblySummaryParser(Channels.newChannel(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))), "refseq", "bacteria", bufferSize)) {
+            while (parser.hasNext())
+                ret.add(parser.next());
+        }
+        return ret;
+    }
+
+    @Test
+    public void parsesTheUsedColumns() throws Exception {
+        String ftp = "ftp://ftp.ncbi.nlm.nih.gov/genomes/all/GCF/000/005/845/GCF_000005845.2_ASM584v2";
+        List<ReferenceGenomeData> genomes = parse(HEADER +
+            line("GCF_000005845.2", "reference genome", "511145", "latest", "ASM584v2", ftp) + "\n", 1 << 20);
+        assertEquals(1, genomes.size());
+        ReferenceGenomeData g = genomes.get(0);
+        assertEquals("GCF_000005845.2", g.getAccession());
+        assertEquals("GCF_000005845", g.getId());
+        assertEquals("2", g.getVersion());
+        assertEquals("reference genome", g.getRefseqCategory());
+        assertEquals("511145", g.getTaxId());
+        assertEquals("latest", g.getVersionStatus());
+        assertEquals("ASM584v2", g.getAsmName());
+        assertEquals(ftp, g.getFtpDir());
+        assertEquals("GCF_000005845.2_ASM584v2", g.getFile());
+        assertEquals("refseq", g.getSource());
+        assertEquals("bacteria", g.getDomain());
+    }
+
+    @Test
+    public void skipsCommentsAndBlankLinesAndHandlesCrLf() throws Exception {
+        List<ReferenceGenomeData> genomes = parse(HEADER + "\n" +
+            line("GCF_000001.1", "na", "1", "latest", "A1", "ftp://x/GCF_000001.1_A1") + "\r\n" +
+            "\r\n" +
+            line("GCF_000002.3", "na", "2", "replaced", "A2", "ftp://x/GCF_000002.3_A2") + "\r\n", 1 << 20);
+        assertEquals(2, genomes.size());
+        assertEquals("GCF_000001.1_A1", genomes.get(0).getFile());
+        assertEquals("replaced", genomes.get(1).getVersionStatus());
+        assertEquals("GCF_000002.3_A2", genomes.get(1).getFile());
+    }
+
+    @Test
+    public void readsLinesLongerThanTheBufferAndALastLineWithoutNewline() throws Exception {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 1; i <= 50; i++) {
+            if (i > 1)
+                content.append('\n');
+            content.append(line("GCF_" + i + ".1", "na", String.valueOf(i), "latest", "ASM" + i, "ftp://x/GCF_" + i + ".1_ASM" + i));
+        }
+        List<ReferenceGenomeData> genomes = parse(content.toString(), 16);
+        assertEquals(50, genomes.size());
+        for (int i = 1; i <= 50; i++) {
+            ReferenceGenomeData g = genomes.get(i - 1);
+            assertEquals("GCF_" + i, g.getId());
+            assertEquals(String.valueOf(i), g.getTaxId());
+            assertEquals("GCF_" + i + ".1_ASM" + i, g.getFile());
+        }
+    }
+
+    @Test
+    public void leavesIdAndVersionUnsetWithoutANumericVersion() throws Exception {
+        List<ReferenceGenomeData> genomes = parse(
+            line("GCF_000001", "na", "1", "latest", "A1", "ftp://x/GCF_000001") + "\n" +
+            line("GCF_000002.x", "na", "2", "latest", "A2", "ftp://x/GCF_000002.x") + "\n", 64);
+        assertEquals(2, genomes.size());
+        assertNull(genomes.get(0).getId());
+        assertNull(genomes.get(0).getVersion());
+        assertNull(genomes.get(1).getId());
+    }
+
+    @Test
+    public void leavesMissingColumnsUnset() throws Exception {
+        List<ReferenceGenomeData> genomes = parse("GCF_000001.1\tPRJNA1\tSAMN1\t\tna\t7\n", 1 << 20);
+        assertEquals(1, genomes.size());
+        ReferenceGenomeData g = genomes.get(0);
+        assertEquals("7", g.getTaxId());
+        assertNull(g.getVersionStatus());
+        assertNull(g.getFtpDir());
+        assertNull(g.getFile());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void nextFailsAtTheEnd() throws Exception {
+        AssemblySummaryParser parser = new AssemblySummaryParser(Channels.newChannel(
+            new ByteArrayInputStream(HEADER.getBytes(StandardCharsets.UTF_8))), "refseq", "bacteria");
+        assertFalse(parser.hasNext());
+        parser.next();
+    }
+}
@@ -0,0 +1,155 @@
+package us.kbase.referencedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import us.kbase.common.service.JsonClientCaller;
+import us.kbase.common.service.RpcContext;
+import us.kbase.common.service.ServerException;
+
+public class AsyncJobPollerTest {
+
+    private static final TypeReference<List<JobState<List<String>>>> RET_TYPE =
+        new TypeReference<List<JobState<List<String>>>>() {};
+
+    /** Answers _check_job calls with the job states returned by check, by job id. */
+    private static abstract class FakeCaller extends JsonClientCaller {
+
+        FakeCaller() throws Exception {
+            super(new URL("http://localhost/services/ReferenceDataManager"));
+        }
+
+        abstract JobState<List<String>> check(String jobId) throws IOException;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ARG, RET> RET jsonrpcCall(String method, ARG arg, TypeReference<RET> cls, boolean ret,
+                boolean authRequired, RpcContext[] context, String serviceVersion) throws IOException {
+            assertEquals(AsyncJobPoller.CHECK_JOB_METHOD, method);
+            return (RET) Collections.singletonList(check((String)((List<?>)arg).get(0)));
+        }
+    }
+
+    private static JobState<List<String>> running() {
+        JobState<List<String>> state = new JobState<List<String>>();
+        state.setFinished(0L);
+        return state;
+    }
+
+    private static JobState<List<String>> done(String result) {
+        JobState<List<String>> state = new JobState<List<String>>();
+        state.setFinished(1L);
+        state.setResult(Arrays.asList(result));
+        return state;
+    }
+
+    @Test
+    public void completesWithTheResultOnceTheJobIsFinished() throws Exception {
+        final AtomicInteger checks = new AtomicInteger();
+        AsyncJobPoller poller = new AsyncJobPoller(new FakeCaller() {
+            @Override
+            JobState<List<String>> check(String jobId) {
+                return checks.incrementAndGet() < 4 ? running() : done("indexed " + jobId);
+            }
+        });
+        poller.setCheckTimeMs(1);
+        assertEquals("indexed job1", poller.track("job1", RET_TYPE, null, null).get(10, TimeUnit.SECONDS));
+        assertEquals(4, checks.get());
+    }
+
+    @Test
+    public void failsWithAServerExceptionWhenTheJobFails() throws Exception {
+        AsyncJobPoller poller = new AsyncJobPoller(new FakeCaller() {
+            @Override
+            JobState<List<String>> check(String jobId) {
+                Map<String, Object> error = new HashMap<String, Object>();
+                error.put("name", "JSONRPCError");
+                error.put("code", -32500);
+                error.put("message", "Cannot index genomes");
+                JobState<List<String>> state = new JobState<List<String>>();
+                state.setFinished(1L);
+                state.setError(error);
+                return state;
+            }
+        });
+        poller.setCheckTimeMs(1);
+        try {
+            poller.track("job1", RET_TYPE, null, null).get(10, TimeUnit.SECONDS);
+            fail("the job failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ServerException);
+            assertEquals("Cannot index genomes", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void retriesFailedChecksUpToTheCheckRetries() throws Exception {
+        final AtomicInteger checks = new AtomicInteger();
+        AsyncJobPoller poller = new AsyncJobPoller(new FakeCaller() {
+            @Override
+            JobState<List<String>> check(String jobId) throws IOException {
+                if (checks.incrementAndGet() <= 2)
+                    throw new IOException("Connection reset");
+                return done("ok");
+            }
+        });
+        poller.setCheckTimeMs(1);
+        poller.setCheckRetries(2);
+        assertEquals("ok", poller.track("job1", RET_TYPE, null, null).get(10, TimeUnit.SECONDS));
+
+        checks.set(-100);
+        try {
+            poller.track("job2", RET_TYPE, null, null).get(10, TimeUnit.SECONDS);
+            fail("the checks failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals(-97, checks.get());
+        }
+    }
+
+    @Test
+    public void aSlowCheckDoesNotHoldUpTheOtherJobs() throws Exception {
+        final CountDownLatch slowCheckStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        AsyncJobPoller poller = new AsyncJobPoller(new FakeCaller() {
+            @Override
+            JobState<List<String>> check(String jobId) throws IOException {
+                if (jobId.equals("slow")) {
+                    slowCheckStarted.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                return done(jobId);
+            }
+        });
+        poller.setCheckTimeMs(1);
+        CompletableFuture<String> slow = poller.track("slow", RET_TYPE, null, null);
+        assertTrue(slowCheckStarted.await(10, TimeUnit.SECONDS));
+        assertEquals("fast", poller.track("fast", RET_TYPE, null, null).get(10, TimeUnit.SECONDS));
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+    }
+}